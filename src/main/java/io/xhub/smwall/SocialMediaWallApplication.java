@@ -1,8 +1,18 @@
 package io.xhub.smwall;
 
 import io.xhub.smwall.config.EhcacheProperties;
+import io.xhub.smwall.config.FetchCursorProperties;
+import io.xhub.smwall.config.IngestionQueueProperties;
 import io.xhub.smwall.config.JwtProperties;
+import io.xhub.smwall.config.LocalTextFilterProperties;
+import io.xhub.smwall.config.MediaCleanupProperties;
+import io.xhub.smwall.config.BlobStoreProperties;
+import io.xhub.smwall.config.MediaFeedProperties;
+import io.xhub.smwall.config.WallFeedProperties;
+import io.xhub.smwall.config.WebSocketProperties;
 import io.xhub.smwall.config.MetaProperties;
+import io.xhub.smwall.config.ModerationProperties;
+import io.xhub.smwall.config.SeenMediaIndexProperties;
 import io.xhub.smwall.config.YoutubeProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -15,7 +25,17 @@ import org.springframework.scheduling.annotation.EnableScheduling;
         MetaProperties.class,
         YoutubeProperties.class,
         EhcacheProperties.class,
-        JwtProperties.class
+        JwtProperties.class,
+        ModerationProperties.class,
+        LocalTextFilterProperties.class,
+        MediaCleanupProperties.class,
+        MediaFeedProperties.class,
+        WallFeedProperties.class,
+        BlobStoreProperties.class,
+        WebSocketProperties.class,
+        IngestionQueueProperties.class,
+        FetchCursorProperties.class,
+        SeenMediaIndexProperties.class
 })
 @EnableFeignClients
 @EnableScheduling
@@ -2,11 +2,19 @@ package io.xhub.smwall.api;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
+import com.querydsl.core.BooleanBuilder;
 import io.xhub.smwall.constants.ApiPaths;
+import io.xhub.smwall.constants.Authorities;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.domains.QMedia;
+import io.xhub.smwall.dto.CursorPageDTO;
 import io.xhub.smwall.dto.MediaDTO;
 import io.xhub.smwall.mappers.MediaMapper;
+import io.xhub.smwall.service.MediaSearchService;
 import io.xhub.smwall.service.MediaService;
+import io.xhub.smwall.service.feed.MediaFeedService;
 import io.xhub.smwall.service.query.MediaQuery;
+import io.xhub.smwall.utlis.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
@@ -22,13 +30,32 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class MediaController {
     private final MediaService mediaService;
+    private final MediaSearchService mediaSearchService;
+    private final MediaFeedService mediaFeedService;
     private final MediaMapper mediaMapper;
 
     @ApiOperation(value = "List of media")
     @GetMapping
     public ResponseEntity<Page<MediaDTO>> getAllMedia(MediaQuery mediaQuery, @ParameterObject Pageable pageable) {
+        Page<Media> media = mediaQuery.getQ() != null && !mediaQuery.getQ().isBlank()
+                ? mediaSearchService.searchMedia(mediaQuery.getQ(), mediaQuery.buildPredicate(), pageable)
+                : mediaService.getAllMedia(mediaQuery.buildPredicate(), pageable);
+        return ResponseEntity.ok(media.map(mediaMapper::toDTO));
+    }
+
+    @ApiOperation(value = "Media feed paged by cursor")
+    @PreAuthorize("permitAll()")
+    @GetMapping(ApiPaths.FEED)
+    public ResponseEntity<CursorPageDTO<MediaDTO>> getMediaFeed(MediaQuery mediaQuery,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer size,
+                                                                @RequestParam(defaultValue = "false") boolean withCount) {
+        BooleanBuilder predicate = new BooleanBuilder(mediaQuery.buildPredicate());
+        if (!SecurityUtils.hasAnyAuthority(Authorities.ADMIN, Authorities.MODERATOR)) {
+            predicate.and(QMedia.media.hidden.isFalse());
+        }
         return ResponseEntity.ok(
-                mediaService.getAllMedia(mediaQuery.buildPredicate(), pageable)
+                mediaFeedService.getMediaFeed(mediaQuery.getQ(), predicate.getValue(), cursor, size, withCount)
                         .map(mediaMapper::toDTO));
     }
 
@@ -5,16 +5,29 @@ import io.swagger.annotations.ApiOperation;
 import io.xhub.smwall.commands.WallSettingAddCommand;
 import io.xhub.smwall.commands.WallSettingUpdateCommand;
 import io.xhub.smwall.constants.ApiPaths;
+import io.xhub.smwall.dto.MediaChangesDTO;
+import io.xhub.smwall.dto.WallBootstrapDTO;
 import io.xhub.smwall.dto.WallSettingDTO;
 import io.xhub.smwall.mappers.WallSettingMapper;
 import io.xhub.smwall.service.WallService;
+import io.xhub.smwall.service.blob.ImageContent;
+import io.xhub.smwall.service.broadcast.MediaDeltaBroadcaster;
+import io.xhub.smwall.service.wall.WallBootstrapService;
+import io.xhub.smwall.service.wall.WallFeedService;
+import io.xhub.smwall.service.wall.WallFeedSnapshot;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+
 @Api(tags = "Wall Management Resource")
 @RestController
 @RequestMapping(ApiPaths.V1 + ApiPaths.WALL)
@@ -22,6 +35,9 @@ import org.springframework.web.bind.annotation.*;
 public class WallController {
     private final WallService wallService;
     private final WallSettingMapper wallSettingMapper;
+    private final WallFeedService wallFeedService;
+    private final WallBootstrapService wallBootstrapService;
+    private final MediaDeltaBroadcaster mediaDeltaBroadcaster;
 
     @ApiOperation(value = "Get latest wall setting")
     @GetMapping(ApiPaths.SETTINGS + ApiPaths.LATEST)
@@ -30,6 +46,61 @@ public class WallController {
                 .body(wallSettingMapper.toDTO(wallService.getLatestWallSetting()));
     }
 
+    @ApiOperation(value = "Get media deltas broadcast after the given sequence, or a resync flag when they are no longer retained")
+    @GetMapping(ApiPaths.FEED + ApiPaths.CHANGES)
+    public ResponseEntity<MediaChangesDTO> getWallFeedChanges(@RequestParam long lastSeq) {
+        return ResponseEntity.ok()
+                .body(mediaDeltaBroadcaster.getChangesSince(lastSeq));
+    }
+
+    @ApiOperation(value = "Get header, footer, settings, closest announcement and pinned media in one call")
+    @GetMapping(ApiPaths.BOOTSTRAP)
+    public ResponseEntity<WallBootstrapDTO> getWallBootstrap() {
+        return ResponseEntity.ok()
+                .body(wallBootstrapService.getWallBootstrap());
+    }
+
+    @ApiOperation(value = "Get wall setting logo by content hash")
+    @GetMapping(ApiPaths.SETTINGS + ApiPaths.LOGO + "/{hash}")
+    public ResponseEntity<Resource> getWallSettingLogo(
+            @PathVariable String hash,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        String etag = "\"" + (size == null ? hash : hash + "-" + size) + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .eTag(etag)
+                    .build();
+        }
+
+        ImageContent logo = wallService.getWallSettingLogo(hash, size);
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(etag)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(logo.getContentType() == null ? MediaType.APPLICATION_OCTET_STREAM : MediaType.parseMediaType(logo.getContentType()))
+                .body(logo.getResource());
+    }
+
+    @ApiOperation(value = "Get current wall feed")
+    @GetMapping(ApiPaths.FEED)
+    public ResponseEntity<byte[]> getWallFeed(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        WallFeedSnapshot snapshot = wallFeedService.getSnapshot();
+        if (snapshot.getEtag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getEtag())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(snapshot.getEtag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.getJson());
+    }
+
     @ApiOperation(value = "Add a wall setting")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     @PostMapping(ApiPaths.SETTINGS)
@@ -27,23 +27,26 @@ public class WebhooksController {
 
     @ApiOperation(value = "Handle Meta notification")
     @PostMapping(ApiPaths.META)
-    public void handleMetaNotification(@RequestBody String payload) {
-        webhooksService.handleMetaNotification(payload);
+    public void handleMetaNotification(@RequestHeader(name = "X-Hub-Signature-256", required = false) String signature,
+                                       @RequestBody byte[] payload) {
+        webhooksService.handleMetaNotification(payload, signature);
     }
 
     @ApiOperation(value = "Handle YouTube Subscription")
     @GetMapping(ApiPaths.YOUTUBE)
     public ResponseEntity<String> handleYouTubeSubscription(@RequestParam(name = "hub.mode") String mode,
                                                             @RequestParam(name = "hub.verify_token") String verifyToken,
-                                                            @RequestParam(name = "hub.challenge") String challenge) {
-        webhooksService.verifyYouTubeSubscription(mode, verifyToken);
+                                                            @RequestParam(name = "hub.challenge") String challenge,
+                                                            @RequestParam(name = "hub.lease_seconds", required = false) Long leaseSeconds) {
+        webhooksService.verifyYouTubeSubscription(mode, verifyToken, leaseSeconds);
         return ResponseEntity.ok().body(challenge);
     }
 
     @ApiOperation(value = "Handle YouTube notification")
     @PostMapping(ApiPaths.YOUTUBE)
-    public void handleYouTubeUpdate(@RequestBody String payload) {
-        webhooksService.handleYouTubeNotification(payload);
+    public void handleYouTubeUpdate(@RequestHeader(name = "X-Hub-Signature", required = false) String signature,
+                                    @RequestBody byte[] payload) {
+        webhooksService.handleYouTubeNotification(payload, signature);
     }
 
 }
@@ -1,6 +1,7 @@
 package io.xhub.smwall.client;
 
 import io.xhub.smwall.client.response.InstagramMediaResponse;
+import io.xhub.smwall.client.response.InstagramMentionedMediaResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,17 +12,25 @@ public interface MetaClient {
     @GetMapping("/{hashtagId}/recent_media")
     InstagramMediaResponse getIGHashtagRecentMedia(@PathVariable String hashtagId,
                                                    @RequestParam("user_id") String userId,
-                                                   @RequestParam String fields);
+                                                   @RequestParam String fields,
+                                                   @RequestParam(required = false) String after);
 
     @GetMapping("/{userId}/stories")
     InstagramMediaResponse getIGUserStories(@PathVariable String userId,
-                                            @RequestParam String fields);
+                                            @RequestParam String fields,
+                                            @RequestParam(required = false) String after);
 
     @GetMapping("/{userId}/tags")
     InstagramMediaResponse getIGUserTags(@PathVariable String userId,
-                                         @RequestParam String fields);
+                                         @RequestParam String fields,
+                                         @RequestParam(required = false) String after);
 
     @GetMapping("/{userId}/media")
     InstagramMediaResponse getIGUserMedia(@PathVariable String userId,
-                                          @RequestParam String fields);
+                                          @RequestParam String fields,
+                                          @RequestParam(required = false) String after);
+
+    @GetMapping("/{userId}")
+    InstagramMentionedMediaResponse getIGMentionedMedia(@PathVariable String userId,
+                                                        @RequestParam String fields);
 }
@@ -1,6 +1,7 @@
 package io.xhub.smwall.client;
 
 import io.xhub.smwall.client.response.YoutubeMediaResponse;
+import io.xhub.smwall.client.response.YoutubeVideoListResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -32,4 +33,10 @@ public interface YoutubeClient {
             @RequestParam(value = "key") String apiKey,
             @RequestParam(value = "safeSearch") String safeSearch);
 
+    @GetMapping(value = "/videos")
+    YoutubeVideoListResponse getVideosByIds(
+            @RequestParam(value = "part") String part,
+            @RequestParam(value = "id") String ids,
+            @RequestParam(value = "key") String apiKey);
+
 }
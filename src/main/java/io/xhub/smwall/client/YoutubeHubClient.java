@@ -0,0 +1,15 @@
+package io.xhub.smwall.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+
+import java.util.Map;
+
+@FeignClient(name = "youtube-hub", url = "${application.webhooks.youtube.hub.url}")
+public interface YoutubeHubClient {
+
+    @PostMapping(value = "/subscribe", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    void subscribe(Map<String, ?> form);
+
+}
@@ -1,6 +1,7 @@
 package io.xhub.smwall.client.response;
 
 import io.xhub.smwall.dto.meta.InstagramMediaDTO;
+import io.xhub.smwall.dto.meta.InstagramPagingDTO;
 import lombok.Getter;
 
 import java.util.List;
@@ -8,4 +9,12 @@ import java.util.List;
 @Getter
 public class InstagramMediaResponse {
     private List<InstagramMediaDTO> data;
+    private InstagramPagingDTO paging;
+
+    public String getNextPageCursor() {
+        if (paging == null || paging.getNext() == null || paging.getCursors() == null) {
+            return null;
+        }
+        return paging.getCursors().getAfter();
+    }
 }
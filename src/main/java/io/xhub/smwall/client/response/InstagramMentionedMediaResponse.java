@@ -0,0 +1,13 @@
+package io.xhub.smwall.client.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.xhub.smwall.dto.meta.InstagramMediaDTO;
+import lombok.Getter;
+
+@Getter
+public class InstagramMentionedMediaResponse {
+    private String id;
+
+    @JsonProperty("mentioned_media")
+    private InstagramMediaDTO mentionedMedia;
+}
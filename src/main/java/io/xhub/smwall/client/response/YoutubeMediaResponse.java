@@ -10,4 +10,6 @@ public class YoutubeMediaResponse {
 
     private List<YoutubeMediaDTO> items;
 
+    private String nextPageToken;
+
 }
@@ -0,0 +1,13 @@
+package io.xhub.smwall.client.response;
+
+import io.xhub.smwall.dto.youtube.YoutubeVideoDTO;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class YoutubeVideoListResponse {
+
+    private List<YoutubeVideoDTO> items;
+
+}
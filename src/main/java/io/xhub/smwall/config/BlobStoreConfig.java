@@ -0,0 +1,25 @@
+package io.xhub.smwall.config;
+
+import io.xhub.smwall.service.blob.BlobStore;
+import io.xhub.smwall.service.blob.FileSystemBlobStore;
+import io.xhub.smwall.service.blob.GridFsBlobStore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class BlobStoreConfig {
+
+    @Bean
+    public BlobStore blobStore(BlobStoreProperties blobStoreProperties, MongoDatabaseFactory mongoDatabaseFactory, MongoConverter mongoConverter) throws IOException {
+        return switch (blobStoreProperties.getType()) {
+            case GRIDFS -> new GridFsBlobStore(new GridFsTemplate(mongoDatabaseFactory, mongoConverter, blobStoreProperties.getBucket()));
+            case FILESYSTEM -> new FileSystemBlobStore(Path.of(blobStoreProperties.getDirectory()));
+        };
+    }
+}
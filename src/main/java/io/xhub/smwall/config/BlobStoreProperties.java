@@ -0,0 +1,19 @@
+package io.xhub.smwall.config;
+
+import io.xhub.smwall.enumeration.BlobStoreType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.blob-store")
+public class BlobStoreProperties {
+    private BlobStoreType type = BlobStoreType.GRIDFS;
+    private String bucket = "blobs";
+    private String directory = "./data/blobs";
+    private List<Integer> thumbnailSizes = List.of(64, 256);
+    private long maxImagePixels = 40_000_000;
+}
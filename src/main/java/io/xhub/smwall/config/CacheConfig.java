@@ -16,12 +16,26 @@ import java.time.Duration;
 @EnableCaching
 public class CacheConfig {
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final javax.cache.configuration.Configuration<Object, Object> verdictCacheConfiguration;
+    private final javax.cache.configuration.Configuration<Object, Object> feedCountCacheConfiguration;
 
-    public CacheConfig(EhcacheProperties ehcacheProperties) {
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
+    public CacheConfig(EhcacheProperties ehcacheProperties, ModerationProperties moderationProperties, MediaFeedProperties mediaFeedProperties) {
+        jcacheConfiguration = buildConfiguration(ehcacheProperties.getMaxEntries(), ehcacheProperties.getTimeToLive());
+        verdictCacheConfiguration = buildConfiguration(
+                moderationProperties.getVerdictCache().getMaxEntries(),
+                moderationProperties.getVerdictCache().getTimeToLive()
+        );
+        feedCountCacheConfiguration = buildConfiguration(
+                mediaFeedProperties.getCountCacheMaxEntries(),
+                mediaFeedProperties.getCountCacheTimeToLive()
+        );
+    }
+
+    private static javax.cache.configuration.Configuration<Object, Object> buildConfiguration(long maxEntries, long timeToLive) {
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
                 CacheConfigurationBuilder
-                        .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(ehcacheProperties.getMaxEntries()))
-                        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcacheProperties.getTimeToLive())))
+                        .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(timeToLive)))
                         .build()
         );
     }
@@ -29,17 +43,24 @@ public class CacheConfig {
     @Bean
     public JCacheManagerCustomizer cacheManagerCustomizer() {
         return cm -> {
-            createCache(cm, CacheNames.PROCESSED_IG_MEDIA);
-            createCache(cm, CacheNames.PROCESSED_YOUTUBE_MEDIA);
+            createCache(cm, CacheNames.MODERATION_VERDICTS, verdictCacheConfiguration);
+            createCache(cm, CacheNames.MEDIA_FEED_COUNTS, feedCountCacheConfiguration);
+            createCache(cm, CacheNames.WALL_HEADER);
+            createCache(cm, CacheNames.WALL_FOOTER);
+            createCache(cm, CacheNames.WALL_SETTINGS);
         };
     }
 
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, jcacheConfiguration);
+    }
+
+    private void createCache(javax.cache.CacheManager cm, String cacheName, javax.cache.configuration.Configuration<Object, Object> configuration) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration);
         }
     }
 }
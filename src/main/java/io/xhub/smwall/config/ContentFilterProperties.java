@@ -12,5 +12,28 @@ import org.springframework.context.annotation.Configuration;
 public class ContentFilterProperties {
     private String urlScriptImage;
     private String urlScriptVideo;
+    private Worker worker = new Worker();
+    private Download download = new Download();
 
+    @Getter
+    @Setter
+    public static class Worker {
+        private boolean enabled = false;
+        private String command = "python";
+        private String script;
+        private int poolSize = 2;
+        private long requestTimeout = 60;
+        private long startupTimeout = 180;
+        private long healthCheckInterval = 30;
+        private int imageBatchSize = 50;
+    }
+
+    @Getter
+    @Setter
+    public static class Download {
+        private int concurrency = 8;
+        private long connectTimeout = 5;
+        private long requestTimeout = 15;
+        private int maxBytes = 10 * 1024 * 1024;
+    }
 }
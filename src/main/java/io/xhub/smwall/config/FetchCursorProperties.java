@@ -0,0 +1,12 @@
+package io.xhub.smwall.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.fetch-cursor")
+public class FetchCursorProperties {
+    private int maxPages = 10;
+}
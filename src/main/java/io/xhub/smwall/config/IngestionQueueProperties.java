@@ -0,0 +1,17 @@
+package io.xhub.smwall.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.ingestion-queue")
+public class IngestionQueueProperties {
+    private int workers = 2;
+    private long pollInterval = 1000;
+    private long visibilityTimeout = 300;
+    private long retryBackoff = 30;
+    private int maxAttempts = 5;
+    private long metricsInterval = 15;
+}
@@ -0,0 +1,20 @@
+package io.xhub.smwall.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.text-filter.local")
+public class LocalTextFilterProperties {
+    private boolean enabled = true;
+    private String blocklistFile;
+    private String allowlistFile;
+    private List<String> blocklist = new ArrayList<>();
+    private List<String> allowlist = new ArrayList<>();
+    private double foreignScriptRatio = 0.5;
+}
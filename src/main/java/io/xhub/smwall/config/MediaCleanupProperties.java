@@ -0,0 +1,22 @@
+package io.xhub.smwall.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.media-cleanup")
+public class MediaCleanupProperties {
+    private String cron = "0 0 * * * *";
+    private int pageSize = 500;
+    private int concurrency = 16;
+    private int perHostConcurrency = 4;
+    private long connectTimeout = 3;
+    private long requestTimeout = 5;
+    private long minRecheckInterval = 3600;
+    private long maxRecheckInterval = 604800;
+    private double recheckAgeRatio = 0.25;
+    private long failureBackoff = 3600;
+    private int deleteAfterFailures = 3;
+}
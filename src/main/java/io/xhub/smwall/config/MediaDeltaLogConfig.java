@@ -0,0 +1,20 @@
+package io.xhub.smwall.config;
+
+import io.xhub.smwall.service.broadcast.MediaDeltaLog;
+import io.xhub.smwall.service.broadcast.MediaDeltaRingBuffer;
+import io.xhub.smwall.service.broadcast.MongoMediaDeltaLog;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+@Configuration
+public class MediaDeltaLogConfig {
+
+    @Bean
+    public MediaDeltaLog mediaDeltaLog(WebSocketProperties webSocketProperties, MongoTemplate mongoTemplate) {
+        return switch (webSocketProperties.getBroker().getMode()) {
+            case SIMPLE -> new MediaDeltaRingBuffer(webSocketProperties.getReplayBufferSize());
+            case RELAY -> new MongoMediaDeltaLog(mongoTemplate, webSocketProperties.getReplayBufferSize());
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package io.xhub.smwall.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.media-feed")
+public class MediaFeedProperties {
+    private int defaultSize = 20;
+    private int maxSize = 100;
+    private long countCacheMaxEntries = 100;
+    private long countCacheTimeToLive = 30;
+}
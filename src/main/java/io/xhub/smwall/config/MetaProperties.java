@@ -16,4 +16,5 @@ public class MetaProperties {
     private String resourceIdPrefix;
     private Map<String, String> hashtags;
     private String username;
+    private WebhookQueueProperties webhook = new WebhookQueueProperties();
 }
@@ -0,0 +1,31 @@
+package io.xhub.smwall.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.moderation")
+public class ModerationProperties {
+    private int concurrency = 8;
+    private long batchTimeout = 120;
+    private VerdictCache verdictCache = new VerdictCache();
+    private Retry retry = new Retry();
+
+    @Getter
+    @Setter
+    public static class VerdictCache {
+        private long maxEntries = 10000;
+        private long timeToLive = 604800;
+        private boolean persistent = false;
+    }
+
+    @Getter
+    @Setter
+    public static class Retry {
+        private long interval = 300;
+        private int batchSize = 50;
+        private int maxAttempts = 5;
+    }
+}
@@ -0,0 +1,104 @@
+package io.xhub.smwall.config;
+
+import io.xhub.smwall.domains.Announcement;
+import io.xhub.smwall.domains.IngestionTask;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.domains.ModerationVerdict;
+import io.xhub.smwall.domains.SeenMediaSnapshotChunk;
+import io.xhub.smwall.domains.User;
+import io.xhub.smwall.domains.WallFooter;
+import io.xhub.smwall.domains.WallHeader;
+import io.xhub.smwall.domains.WallSetting;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexConfig {
+    public static final Collation CASE_INSENSITIVE = Collation.of("en").strength(Collation.ComparisonLevel.secondary());
+
+    private final MongoTemplate mongoTemplate;
+
+    public static Map<Class<?>, List<IndexDefinition>> declaredIndexes() {
+        Map<Class<?>, List<IndexDefinition>> indexes = new LinkedHashMap<>();
+        indexes.put(Media.class, List.of(
+                new Index().on("hidden", Sort.Direction.ASC).on("timestamp", Sort.Direction.DESC).on("_id", Sort.Direction.DESC).named("hidden_timestamp_id"),
+                new Index().on("timestamp", Sort.Direction.DESC).on("_id", Sort.Direction.DESC).named("timestamp_id"),
+                new Index().on("source", Sort.Direction.ASC).on("timestamp", Sort.Direction.DESC).named("source_timestamp"),
+                new Index().on("owner.username", Sort.Direction.ASC).named("owner_username"),
+                new Index().on("pinned", Sort.Direction.ASC).named("pinned_unique")
+                        .unique()
+                        .partial(PartialIndexFilter.of(Criteria.where("pinned").is(true))),
+                new Index().on("liveness.nextCheckAt", Sort.Direction.ASC).named("liveness_next_check"),
+                new Index().on("analyzed", Sort.Direction.ASC).on("timestamp", Sort.Direction.DESC).named("analyzed_timestamp")
+                        .partial(PartialIndexFilter.of(Criteria.where("analyzed").is(false))),
+                new Index().on("searchTokens", Sort.Direction.ASC).named("search_tokens"),
+                TextIndexDefinition.builder()
+                        .named("media_text")
+                        .withDefaultLanguage("none")
+                        .onField("text", 1F)
+                        .onField("sourceTypes", 2F)
+                        .onField("owner.username", 3F)
+                        .build()
+        ));
+        indexes.put(Announcement.class, List.of(
+                new Index().on("startDate", Sort.Direction.ASC).on("endDate", Sort.Direction.ASC).named("start_end"),
+                new Index().on("endDate", Sort.Direction.ASC).on("startDate", Sort.Direction.ASC).named("end_start")
+        ));
+        indexes.put(User.class, List.of(
+                new Index().on("email", Sort.Direction.ASC).named("email_ci").unique().collation(CASE_INSENSITIVE)
+        ));
+        indexes.put(WallSetting.class, List.of(
+                new Index().on("createdAt", Sort.Direction.DESC).named("created_at"),
+                new Index().on("logo.hash", Sort.Direction.ASC).named("logo_hash")
+        ));
+        indexes.put(WallHeader.class, List.of(
+                new Index().on("timestamp", Sort.Direction.DESC).named("timestamp")
+        ));
+        indexes.put(WallFooter.class, List.of(
+                new Index().on("timestamp", Sort.Direction.DESC).named("timestamp")
+        ));
+        indexes.put(ModerationVerdict.class, List.of(
+                new Index().on("expiresAt", Sort.Direction.ASC).named("expires_at").expire(Duration.ZERO)
+        ));
+        indexes.put(IngestionTask.class, List.of(
+                new Index().on("status", Sort.Direction.ASC).on("visibleAt", Sort.Direction.ASC).named("status_visible_at"),
+                new Index().on("status", Sort.Direction.ASC).on("enqueuedAt", Sort.Direction.ASC).named("status_enqueued_at")
+        ));
+        indexes.put(SeenMediaSnapshotChunk.class, List.of(
+                new Index().on("generation", Sort.Direction.ASC).on("segment", Sort.Direction.ASC).on("version", Sort.Direction.ASC).on("index", Sort.Direction.ASC).named("generation_segment_version_index")
+        ));
+        return indexes;
+    }
+
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        log.info("Start creating Mongo indexes");
+        declaredIndexes().forEach((documentType, indexes) -> indexes.forEach(index -> {
+            try {
+                mongoTemplate.indexOps(documentType).ensureIndex(index);
+            } catch (Exception e) {
+                log.error("Failed to create index {} on {}: {}", index.getIndexOptions().get("name"), documentType.getSimpleName(), e.getMessage());
+            }
+        }));
+    }
+}
@@ -11,5 +11,14 @@ import org.springframework.context.annotation.Configuration;
 @ConfigurationProperties(prefix = "application.text-filter.perspective-api")
 public class PerspectiveAPIProperties {
     private String apiKey;
+    private double requestsPerSecond = 1;
+    private int burst = 1;
+    private int maxConcurrentRequests = 4;
+    private long acquireTimeout = 30000;
+    private int maxRetries = 3;
+    private long initialBackoff = 500;
+    private long maxBackoff = 8000;
+    private int failureThreshold = 5;
+    private long openDuration = 60000;
 
 }
@@ -0,0 +1,138 @@
+package io.xhub.smwall.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Explains every repository query method at startup and warns about the ones whose winning plan is a collection
+ * scan. Each method is probed with a filter on the fields it queries: {@code true} for booleans, so partial indexes
+ * on flags still match, and {@code null} otherwise.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RepositoryIndexReport {
+    private static final String COLLECTION_SCAN = "COLLSCAN";
+
+    private final ApplicationContext applicationContext;
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        Repositories repositories = new Repositories(applicationContext);
+        int unsupported = 0;
+        for (Class<?> domainType : repositories) {
+            unsupported += unsupportedQueries(domainType, repositories.getRequiredRepositoryInformation(domainType)).size();
+        }
+        log.info("Repository index report completed, {} queries without a supporting index", unsupported);
+    }
+
+    List<String> unsupportedQueries(Class<?> domainType, RepositoryInformation information) {
+        List<String> unsupported = new ArrayList<>();
+        for (Method method : information.getQueryMethods()) {
+            Document filter = new Document();
+            Document sort = new Document();
+            probe(method, domainType, filter, sort);
+            if (filter.isEmpty() && sort.isEmpty()) {
+                continue;
+            }
+
+            String queryMethod = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+            try {
+                if (isCollectionScan(domainType, filter, sort)) {
+                    unsupported.add(queryMethod);
+                    log.warn("{} queries {} with a collection scan", queryMethod, filter.keySet());
+                }
+            } catch (Exception e) {
+                log.warn("Failed to explain {}: {}", queryMethod, e.getMessage());
+            }
+        }
+        return unsupported;
+    }
+
+    private boolean isCollectionScan(Class<?> domainType, Document filter, Document sort) {
+        Document find = new Document("find", mongoTemplate.getCollectionName(domainType)).append("filter", filter);
+        if (!sort.isEmpty()) {
+            find.append("sort", sort);
+        }
+        Document explain = mongoTemplate.getDb().runCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        return queryPlanner != null && hasStage(queryPlanner.get("winningPlan", Document.class), COLLECTION_SCAN);
+    }
+
+    // Plans nest their stages under inputStage / inputStages, and under queryPlan with the slot based engine
+    private boolean hasStage(Document plan, String stage) {
+        if (plan == null) {
+            return false;
+        }
+        if (stage.equals(plan.getString("stage"))) {
+            return true;
+        }
+        if (hasStage(plan.get("queryPlan", Document.class), stage) || hasStage(plan.get("inputStage", Document.class), stage)) {
+            return true;
+        }
+        return plan.get("inputStages") instanceof List<?> inputStages && inputStages.stream()
+                .anyMatch(inputStage -> inputStage instanceof Document document && hasStage(document, stage));
+    }
+
+    private void probe(Method method, Class<?> domainType, Document filter, Document sort) {
+        Query query = method.getAnnotation(Query.class);
+        if (query != null && !query.value().isEmpty()) {
+            Set<String> fields = new LinkedHashSet<>();
+            collectFields(Document.parse(query.value().replaceAll("\\?\\d+", "null")), fields);
+            fields.forEach(field -> filter.append(field, null));
+            return;
+        }
+
+        try {
+            PartTree tree = new PartTree(method.getName(), domainType);
+            for (Part part : tree.getParts()) {
+                Class<?> type = part.getProperty().getLeafType();
+                filter.append(fieldName(part.getProperty()), type == boolean.class || type == Boolean.class ? Boolean.TRUE : null);
+            }
+            tree.getSort().forEach(order -> sort.append(fieldName(PropertyPath.from(order.getProperty(), domainType)), order.isAscending() ? 1 : -1));
+        } catch (Exception e) {
+            log.debug("Cannot analyze query method {}: {}", method.getName(), e.getMessage());
+        }
+    }
+
+    private String fieldName(PropertyPath propertyPath) {
+        return mappingContext.getPersistentPropertyPath(propertyPath).toDotPath(MongoPersistentProperty::getFieldName);
+    }
+
+    private void collectFields(Document filter, Set<String> fields) {
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            if (!entry.getKey().startsWith("$")) {
+                fields.add(entry.getKey());
+            } else if (entry.getValue() instanceof List<?> clauses) {
+                clauses.stream()
+                        .filter(Document.class::isInstance)
+                        .forEach(clause -> collectFields((Document) clause, fields));
+            }
+        }
+    }
+}
@@ -53,7 +53,12 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, ApiPaths.V1 + ApiPaths.FOOTER).permitAll()
                 .requestMatchers(HttpMethod.GET, ApiPaths.V1 + ApiPaths.ANNOUNCEMENTS).permitAll()
                 .requestMatchers(HttpMethod.GET, ApiPaths.V1 + ApiPaths.MEDIA).permitAll()
+                .requestMatchers(HttpMethod.GET, ApiPaths.V1 + ApiPaths.MEDIA + ApiPaths.FEED).permitAll()
                 .requestMatchers(HttpMethod.GET, ApiPaths.V1 + ApiPaths.WALL + ApiPaths.SETTINGS + ApiPaths.LATEST).permitAll()
+                .requestMatchers(HttpMethod.GET, ApiPaths.V1 + ApiPaths.WALL + ApiPaths.SETTINGS + ApiPaths.LOGO + "/*").permitAll()
+                .requestMatchers(HttpMethod.GET, ApiPaths.V1 + ApiPaths.WALL + ApiPaths.FEED).permitAll()
+                .requestMatchers(HttpMethod.GET, ApiPaths.V1 + ApiPaths.WALL + ApiPaths.FEED + ApiPaths.CHANGES).permitAll()
+                .requestMatchers(HttpMethod.GET, ApiPaths.V1 + ApiPaths.WALL + ApiPaths.BOOTSTRAP).permitAll()
                 .requestMatchers(HttpMethod.GET, ApiPaths.ANNOUNCEMENTS + WebSocketPaths.WS).permitAll()
                 .requestMatchers(ApiPaths.V1 + ApiPaths.WEBHOOKS + "/**").permitAll()
                 .requestMatchers(WHITE_LIST).permitAll()
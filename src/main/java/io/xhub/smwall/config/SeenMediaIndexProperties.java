@@ -0,0 +1,13 @@
+package io.xhub.smwall.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.seen-media-index")
+public class SeenMediaIndexProperties {
+    private int maxEntries = 750_000;
+    private long snapshotInterval = 60;
+}
@@ -0,0 +1,13 @@
+package io.xhub.smwall.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.wall-feed")
+public class WallFeedProperties {
+    private int size = 100;
+    private long syncInterval = 5;
+}
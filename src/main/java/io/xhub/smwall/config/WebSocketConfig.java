@@ -1,21 +1,73 @@
 package io.xhub.smwall.config;
 
 import io.xhub.smwall.constants.WebSocketPaths;
+import io.xhub.smwall.enumeration.WebSocketBrokerMode;
+import io.xhub.smwall.websocket.SessionSendQueues;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    private final WebSocketProperties webSocketProperties;
+    private final SessionSendQueues sessionSendQueues;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker(WebSocketPaths.TOPIC);
+        WebSocketProperties.Broker broker = webSocketProperties.getBroker();
+        if (broker.getMode() == WebSocketBrokerMode.RELAY) {
+            StompBrokerRelayRegistration relay = config.enableStompBrokerRelay(WebSocketPaths.TOPIC)
+                    .setRelayHost(broker.getRelayHost())
+                    .setRelayPort(broker.getRelayPort())
+                    .setClientLogin(broker.getClientLogin())
+                    .setClientPasscode(broker.getClientPasscode())
+                    .setSystemLogin(broker.getSystemLogin())
+                    .setSystemPasscode(broker.getSystemPasscode())
+                    .setSystemHeartbeatSendInterval(broker.getHeartbeatInterval())
+                    .setSystemHeartbeatReceiveInterval(broker.getHeartbeatInterval());
+            if (broker.getVirtualHost() != null) {
+                relay.setVirtualHost(broker.getVirtualHost());
+            }
+        } else {
+            config.enableSimpleBroker(WebSocketPaths.TOPIC);
+        }
         config.setApplicationDestinationPrefixes(WebSocketPaths.APP);
     }
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        configureChannelPool(registration, webSocketProperties.getInboundChannel());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        configureChannelPool(registration, webSocketProperties.getOutboundChannel());
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Send time and buffer limits are enforced by the session send queues: the ConcurrentWebSocketSessionDecorator
+        // Spring wraps around them only ever sees sends that return as soon as the frame is queued
+        registration.setMessageSizeLimit(webSocketProperties.getTransport().getMessageSizeLimit())
+                .addDecoratorFactory(sessionSendQueues::decorate);
+    }
+
+    private void configureChannelPool(ChannelRegistration registration, WebSocketProperties.ChannelPool pool) {
+        registration.taskExecutor()
+                .corePoolSize(pool.getCorePoolSize())
+                .maxPoolSize(pool.getMaxPoolSize())
+                .queueCapacity(pool.getQueueCapacity())
+                .keepAliveSeconds(pool.getKeepAlive());
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint(WebSocketPaths.WS + WebSocketPaths.PINNED_POST).setAllowedOriginPatterns("*").withSockJS();
@@ -24,4 +76,4 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
-}
\ No newline at end of file
+}
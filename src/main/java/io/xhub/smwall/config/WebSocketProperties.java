@@ -0,0 +1,50 @@
+package io.xhub.smwall.config;
+
+import io.xhub.smwall.enumeration.WebSocketBrokerMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "application.websocket")
+public class WebSocketProperties {
+    private long coalesceWindow = 250;
+    private int replayBufferSize = 1000;
+    private Broker broker = new Broker();
+    private ChannelPool inboundChannel = new ChannelPool();
+    private ChannelPool outboundChannel = new ChannelPool();
+    private Transport transport = new Transport();
+
+    @Getter
+    @Setter
+    public static class Broker {
+        private WebSocketBrokerMode mode = WebSocketBrokerMode.SIMPLE;
+        private String relayHost = "localhost";
+        private int relayPort = 61613;
+        private String clientLogin = "guest";
+        private String clientPasscode = "guest";
+        private String systemLogin = "guest";
+        private String systemPasscode = "guest";
+        private String virtualHost;
+        private long heartbeatInterval = 10000;
+    }
+
+    @Getter
+    @Setter
+    public static class Transport {
+        private int sendTimeLimit = 10000;
+        private int sendBufferSizeLimit = 512 * 1024;
+        private int messageSizeLimit = 64 * 1024;
+        private int senderPoolSize = 16;
+    }
+
+    @Getter
+    @Setter
+    public static class ChannelPool {
+        private int corePoolSize = 8;
+        private int maxPoolSize = 32;
+        private int queueCapacity = 10000;
+        private int keepAlive = 60;
+    }
+}
@@ -0,0 +1,13 @@
+package io.xhub.smwall.config;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class WebhookQueueProperties {
+    private int queueCapacity = 10000;
+    private int batchSize = 50;
+    private long batchWindow = 1000;
+    private int maxAttempts = 3;
+}
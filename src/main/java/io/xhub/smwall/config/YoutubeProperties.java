@@ -14,5 +14,16 @@ public class YoutubeProperties {
     private String keyword;
     private String resourceIdPrefix;
     private  String safeSearch;
+    private WebhookQueueProperties webhook = new WebhookQueueProperties();
+    private Hub hub = new Hub();
 
+    @Getter
+    @Setter
+    public static class Hub {
+        private String url = "https://pubsubhubbub.appspot.com";
+        private String callbackUrl;
+        private String secret;
+        private long leaseSeconds = 864000;
+        private long renewBeforeSeconds = 86400;
+    }
 }
@@ -20,7 +20,10 @@ public enum ApiClientErrorCodes {
     ANNOUNCEMENT_ALREADY_EXISTS(13, "announcement.already.exists"),
     MEDIA_HIDDEN(14, "media.hidden"),
     USER_ALREADY_EXISTS(15,"user.already.exists"),
-    USER_MUST_SIGN_UP(16,"user.must.sign.up");
+    USER_MUST_SIGN_UP(16,"user.must.sign.up"),
+    INVALID_CURSOR(17, "media.cursor.invalid"),
+    WALL_SETTING_LOGO_NOT_FOUND(18, "wall.setting.logo.not.found"),
+    WEBHOOKS_SIGNATURE_INVALID(19, "webhooks.signature.invalid");
 
 
     private final Integer code;
@@ -6,6 +6,9 @@ public final class ApiPaths {
     public static final String META = "/meta";
     public static final String YOUTUBE = "/youtube";
     public static final String MEDIA = "/media";
+    public static final String FEED = "/feed";
+    public static final String BOOTSTRAP = "/bootstrap";
+    public static final String CHANGES = "/changes";
     public static final String ANNOUNCEMENTS = "/announcements";
     public static final String APP = "/app";
     public static final String HEADER = "/header";
@@ -18,6 +21,7 @@ public final class ApiPaths {
     public static final String WALL = "/wall";
     public static final String SETTINGS = "/settings";
     public static final String LATEST = "/latest";
+    public static final String LOGO = "/logo";
     public static final String MEDIA_VISIBILITY_STATUS = "/hide-show-media";
     public static final String USERS = "/users";
     public static final String AUTHORITIES = "/authorities";
@@ -1,6 +1,9 @@
 package io.xhub.smwall.constants;
 
 public class CacheNames {
-    public static final String PROCESSED_IG_MEDIA = "processedIGMedia";
-    public static final String PROCESSED_YOUTUBE_MEDIA = "processedYoutubeMedia";
+    public static final String MODERATION_VERDICTS = "moderationVerdicts";
+    public static final String MEDIA_FEED_COUNTS = "mediaFeedCounts";
+    public static final String WALL_HEADER = "wallHeader";
+    public static final String WALL_FOOTER = "wallFooter";
+    public static final String WALL_SETTINGS = "wallSettings";
 }
@@ -4,14 +4,29 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.bson.types.Binary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class BinaryImage {
-    private Binary value;
+    private String blobId;
     private String contentType;
     private String filename;
+    private String hash;
+    private long length;
+    private List<ImageThumbnail> thumbnails = new ArrayList<>();
+
+    public Optional<ImageThumbnail> findThumbnail(int size) {
+        if (thumbnails == null) {
+            return Optional.empty();
+        }
+        return thumbnails.stream()
+                .filter(thumbnail -> thumbnail.getSize() == size)
+                .findFirst();
+    }
 }
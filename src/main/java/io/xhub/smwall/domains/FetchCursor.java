@@ -0,0 +1,54 @@
+package io.xhub.smwall.domains;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+
+/**
+ * High-water mark of a polled source. When a burst did not fit in one poll, the backlog fields keep the page
+ * cursor to resume from and the previous mark at which that backlog ends.
+ */
+@Document(collection = "fetch_cursor")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FetchCursor {
+    @Id
+    private String id;
+
+    @Field("latestTimestamp")
+    private Instant latestTimestamp;
+
+    @Field("latestId")
+    private String latestId;
+
+    @Field("backlogPageCursor")
+    private String backlogPageCursor;
+
+    @Field("backlogUntilTimestamp")
+    private Instant backlogUntilTimestamp;
+
+    @Field("backlogUntilId")
+    private String backlogUntilId;
+
+    @Field("updatedAt")
+    private Instant updatedAt;
+
+    public FetchCursor(String id) {
+        this.id = id;
+    }
+
+    public static boolean isReached(String markId, Instant markTimestamp, String itemId, Instant itemTimestamp) {
+        if (markId != null && markId.equals(itemId)) {
+            return true;
+        }
+        return markTimestamp != null && itemTimestamp != null && itemTimestamp.isBefore(markTimestamp);
+    }
+}
@@ -0,0 +1,18 @@
+package io.xhub.smwall.domains;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImageThumbnail {
+    public static final String CONTENT_TYPE = "image/png";
+
+    private int size;
+    private String blobId;
+    private long length;
+}
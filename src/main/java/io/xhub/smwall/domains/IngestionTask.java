@@ -0,0 +1,56 @@
+package io.xhub.smwall.domains;
+
+import io.xhub.smwall.enumeration.IngestionTaskStatus;
+import io.xhub.smwall.enumeration.MediaSource;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+
+/**
+ * A batch of raw fetched media waiting in the ingestion outbox. A task stays {@code PENDING} until a worker
+ * acknowledges it by deleting it; claiming only hides it until {@code visibleAt}.
+ */
+@Document(collection = "ingestion_task")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class IngestionTask {
+    @Id
+    private String id;
+
+    @Field("source")
+    private MediaSource source;
+
+    @Field("label")
+    private String label;
+
+    @Field("payload")
+    private String payload;
+
+    @Field("status")
+    private IngestionTaskStatus status;
+
+    @Field("attempts")
+    private int attempts;
+
+    @Field("enqueuedAt")
+    private Instant enqueuedAt;
+
+    @Field("visibleAt")
+    private Instant visibleAt;
+
+    @Field("lastError")
+    private String lastError;
+
+    public static IngestionTask create(MediaSource source, String label, String payload) {
+        Instant now = Instant.now();
+        return new IngestionTask(null, source, label, payload, IngestionTaskStatus.PENDING, 0, now, now, null);
+    }
+}
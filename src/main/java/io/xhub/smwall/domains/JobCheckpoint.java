@@ -0,0 +1,27 @@
+package io.xhub.smwall.domains;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+
+@Document(collection = "job_checkpoint")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobCheckpoint {
+    @Id
+    private String id;
+
+    @Field("lastId")
+    private String lastId;
+
+    @Field("updatedAt")
+    private Instant updatedAt;
+}
@@ -64,5 +64,14 @@ public class Media {
     @Field("analyzed")
     private Boolean analyzed;
 
+    @Field("moderationAttempts")
+    private Integer moderationAttempts;
+
+    @Field("liveness")
+    private MediaLiveness liveness;
+
+    @Field("searchTokens")
+    private List<String> searchTokens;
+
 
 }
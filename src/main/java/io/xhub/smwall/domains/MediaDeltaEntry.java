@@ -0,0 +1,36 @@
+package io.xhub.smwall.domains;
+
+import io.xhub.smwall.dto.MediaDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A media delta as broadcast to the wall, keyed by its sequence number so that the insert itself allocates the
+ * sequence: two nodes racing for the same number get a duplicate key and only one of them wins.
+ */
+@Document(collection = "media_delta")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaDeltaEntry {
+    @Id
+    private long seq;
+
+    @Field("upserted")
+    private List<MediaDTO> upserted;
+
+    @Field("removed")
+    private List<String> removed;
+
+    @Field("createdAt")
+    private Instant createdAt;
+}
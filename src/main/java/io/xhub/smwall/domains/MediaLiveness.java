@@ -0,0 +1,20 @@
+package io.xhub.smwall.domains;
+
+import io.xhub.smwall.enumeration.UrlStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaLiveness {
+    private Instant lastCheckedAt;
+    private UrlStatus lastStatus;
+    private int consecutiveFailures;
+    private Instant nextCheckAt;
+}
@@ -0,0 +1,42 @@
+package io.xhub.smwall.domains;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+
+/**
+ * Pointer to the chunks of the seen-media index snapshot shared by all nodes. A node replaces the generation only if
+ * it still points at the one the node last read, and appends chunks only if the version did not move either.
+ */
+@Document(collection = "seen_media_snapshot")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SeenMediaSnapshot {
+    public static final String CURRENT = "current";
+
+    @Id
+    private String id;
+
+    @Field("generation")
+    private long generation;
+
+    @Field("version")
+    private long version;
+
+    @Field("size")
+    private int size;
+
+    @Field("createdAt")
+    private Instant createdAt;
+
+    @Field("updatedAt")
+    private Instant updatedAt;
+}
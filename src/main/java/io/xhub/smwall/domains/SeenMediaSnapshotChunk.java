@@ -0,0 +1,41 @@
+package io.xhub.smwall.domains;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * Up to {@code CHUNK_SIZE} big-endian 64-bit id hashes of one snapshot generation. Segment 0 holds the older
+ * generation of the seen-media index and segment 1 the current one; chunks appended after the generation was
+ * written carry the pointer version they were appended at.
+ */
+@Document(collection = "seen_media_snapshot_chunk")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SeenMediaSnapshotChunk {
+    public static final int CHUNK_SIZE = 500_000;
+
+    @Id
+    private String id;
+
+    @Field("generation")
+    private long generation;
+
+    @Field("segment")
+    private int segment;
+
+    @Field("version")
+    private long version;
+
+    @Field("index")
+    private int index;
+
+    @Field("keys")
+    private byte[] keys;
+}
@@ -0,0 +1,25 @@
+package io.xhub.smwall.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private String nextCursor;
+    private Long totalElements;
+
+    public <R> CursorPageDTO<R> map(Function<T, R> mapper) {
+        return new CursorPageDTO<>(content.stream().map(mapper).toList(), nextCursor, totalElements);
+    }
+}
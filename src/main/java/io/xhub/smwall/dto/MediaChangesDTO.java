@@ -0,0 +1,19 @@
+package io.xhub.smwall.dto;
+
+import io.xhub.smwall.websocket.MediaDelta;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaChangesDTO {
+    private long latestSeq;
+    private boolean resync;
+    private List<MediaDelta> deltas;
+}
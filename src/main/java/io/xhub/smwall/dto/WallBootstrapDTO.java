@@ -0,0 +1,18 @@
+package io.xhub.smwall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class WallBootstrapDTO {
+    private WallHeaderDTO header;
+    private WallFooterDTO footer;
+    private WallSettingDTO settings;
+    private AnnouncementDTO announcement;
+    private MediaDTO pinnedMedia;
+}
@@ -0,0 +1,17 @@
+package io.xhub.smwall.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class WallFeedDTO {
+    private MediaDTO pinned;
+    private List<MediaDTO> media;
+}
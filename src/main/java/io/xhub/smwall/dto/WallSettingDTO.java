@@ -5,6 +5,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.Map;
+
 @Getter
 @Setter
 @AllArgsConstructor
@@ -13,6 +15,7 @@ public class WallSettingDTO {
     private String id;
     private String title;
     private String filename;
-    private String logoBase64;
-
+    private String logoUrl;
+    private String logoHash;
+    private Map<Integer, String> logoThumbnailUrls;
 }
@@ -0,0 +1,15 @@
+package io.xhub.smwall.dto.meta;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class InstagramPagingCursorsDTO {
+    @JsonProperty("before")
+    private String before;
+
+    @JsonProperty("after")
+    private String after;
+}
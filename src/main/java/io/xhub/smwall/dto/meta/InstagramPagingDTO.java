@@ -0,0 +1,15 @@
+package io.xhub.smwall.dto.meta;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class InstagramPagingDTO {
+    @JsonProperty("cursors")
+    private InstagramPagingCursorsDTO cursors;
+
+    @JsonProperty("next")
+    private String next;
+}
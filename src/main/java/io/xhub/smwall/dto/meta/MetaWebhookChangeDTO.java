@@ -0,0 +1,15 @@
+package io.xhub.smwall.dto.meta;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class MetaWebhookChangeDTO {
+    @JsonProperty("field")
+    private String field;
+
+    @JsonProperty("value")
+    private MetaWebhookChangeValueDTO value;
+}
@@ -0,0 +1,22 @@
+package io.xhub.smwall.dto.meta;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class MetaWebhookChangeValueDTO {
+    @JsonProperty("media_id")
+    private String mediaId;
+
+    @JsonProperty("comment_id")
+    private String commentId;
+
+    /**
+     * A caption mention of the account; with a {@code comment_id} the mention is in a comment on that media.
+     */
+    public boolean isCaptionMention() {
+        return mediaId != null && commentId == null;
+    }
+}
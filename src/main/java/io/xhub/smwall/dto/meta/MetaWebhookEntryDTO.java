@@ -0,0 +1,21 @@
+package io.xhub.smwall.dto.meta;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class MetaWebhookEntryDTO {
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("time")
+    private Long time;
+
+    @JsonProperty("changes")
+    private List<MetaWebhookChangeDTO> changes = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package io.xhub.smwall.dto.meta;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class MetaWebhookNotificationDTO {
+    @JsonProperty("object")
+    private String object;
+
+    @JsonProperty("entry")
+    private List<MetaWebhookEntryDTO> entry = new ArrayList<>();
+}
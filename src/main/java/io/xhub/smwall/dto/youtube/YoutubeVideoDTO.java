@@ -0,0 +1,11 @@
+package io.xhub.smwall.dto.youtube;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class YoutubeVideoDTO {
+    private String id;
+    private YoutubeVideoSnippetDTO snippet;
+}
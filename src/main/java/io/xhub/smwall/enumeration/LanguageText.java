@@ -4,9 +4,14 @@ import lombok.Getter;
 
 @Getter
 public enum LanguageText {
-    ar,
-    fr,
-    en,
-    es;
+    ar(Character.UnicodeScript.ARABIC),
+    fr(Character.UnicodeScript.LATIN),
+    en(Character.UnicodeScript.LATIN),
+    es(Character.UnicodeScript.LATIN);
 
+    private final Character.UnicodeScript script;
+
+    LanguageText(Character.UnicodeScript script) {
+        this.script = script;
+    }
 }
@@ -0,0 +1,7 @@
+package io.xhub.smwall.enumeration;
+
+public enum ModerationTier {
+    LOCAL,
+    CACHE,
+    REMOTE
+}
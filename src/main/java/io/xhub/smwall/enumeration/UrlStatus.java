@@ -0,0 +1,7 @@
+package io.xhub.smwall.enumeration;
+
+public enum UrlStatus {
+    ALIVE,
+    DEAD,
+    UNKNOWN
+}
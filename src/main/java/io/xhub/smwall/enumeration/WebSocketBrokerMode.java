@@ -0,0 +1,6 @@
+package io.xhub.smwall.enumeration;
+
+public enum WebSocketBrokerMode {
+    SIMPLE,
+    RELAY
+}
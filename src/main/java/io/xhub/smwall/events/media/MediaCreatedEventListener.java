@@ -1,8 +1,7 @@
 package io.xhub.smwall.events.media;
 
-import io.xhub.smwall.service.WebSocketService;
-import io.xhub.smwall.websocket.Action;
-import io.xhub.smwall.websocket.Payload;
+import io.xhub.smwall.service.broadcast.MediaDeltaBroadcaster;
+import io.xhub.smwall.service.wall.WallFeedService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Component;
@@ -10,10 +9,12 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 public class MediaCreatedEventListener implements ApplicationListener<MediaCreatedEvent> {
-    private final WebSocketService webSocketService;
+    private final MediaDeltaBroadcaster mediaDeltaBroadcaster;
+    private final WallFeedService wallFeedService;
 
     @Override
     public void onApplicationEvent(MediaCreatedEvent event) {
-        webSocketService.broadcastMedia(new Payload(Action.CREATE, event.getMedia()));
+        wallFeedService.apply(event.getMedia());
+        mediaDeltaBroadcaster.publish(event.getMedia());
     }
 }
@@ -0,0 +1,16 @@
+package io.xhub.smwall.events.media;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+@Getter
+public class MediaDeletedEvent extends ApplicationEvent {
+    private final List<String> mediaIds;
+
+    public MediaDeletedEvent(Object source, List<String> mediaIds) {
+        super(source);
+        this.mediaIds = mediaIds;
+    }
+}
@@ -0,0 +1,20 @@
+package io.xhub.smwall.events.media;
+
+import io.xhub.smwall.service.broadcast.MediaDeltaBroadcaster;
+import io.xhub.smwall.service.wall.WallFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class MediaDeletedEventListener implements ApplicationListener<MediaDeletedEvent> {
+    private final WallFeedService wallFeedService;
+    private final MediaDeltaBroadcaster mediaDeltaBroadcaster;
+
+    @Override
+    public void onApplicationEvent(MediaDeletedEvent event) {
+        wallFeedService.removeAll(event.getMediaIds());
+        mediaDeltaBroadcaster.publishRemovals(event.getMediaIds());
+    }
+}
@@ -0,0 +1,20 @@
+package io.xhub.smwall.events.media;
+
+import io.xhub.smwall.service.broadcast.MediaDeltaBroadcaster;
+import io.xhub.smwall.service.wall.WallFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class MediaHiddenEventListener implements ApplicationListener<MediaHiddenEvent> {
+    private final WallFeedService wallFeedService;
+    private final MediaDeltaBroadcaster mediaDeltaBroadcaster;
+
+    @Override
+    public void onApplicationEvent(MediaHiddenEvent event) {
+        wallFeedService.removeAll(event.getMediaIds());
+        mediaDeltaBroadcaster.publishRemovals(event.getMediaIds());
+    }
+}
@@ -0,0 +1,17 @@
+package io.xhub.smwall.events.media;
+
+import io.xhub.smwall.domains.Media;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+@Getter
+public class MediaUpdatedEvent extends ApplicationEvent {
+    private final List<Media> media;
+
+    public MediaUpdatedEvent(Object source, List<Media> media) {
+        super(source);
+        this.media = media;
+    }
+}
@@ -0,0 +1,20 @@
+package io.xhub.smwall.events.media;
+
+import io.xhub.smwall.service.broadcast.MediaDeltaBroadcaster;
+import io.xhub.smwall.service.wall.WallFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class MediaUpdatedEventListener implements ApplicationListener<MediaUpdatedEvent> {
+    private final WallFeedService wallFeedService;
+    private final MediaDeltaBroadcaster mediaDeltaBroadcaster;
+
+    @Override
+    public void onApplicationEvent(MediaUpdatedEvent event) {
+        wallFeedService.apply(event.getMedia());
+        mediaDeltaBroadcaster.publish(event.getMedia());
+    }
+}
@@ -0,0 +1,93 @@
+package io.xhub.smwall.filter;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+public class AhoCorasick {
+    private final Node root = new Node();
+    private int size;
+
+    public AhoCorasick(Collection<String> terms) {
+        for (String term : terms) {
+            if (term != null && !term.isBlank()) {
+                insert(term.trim());
+            }
+        }
+        linkFailures();
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public List<Match> findAll(String text) {
+        List<Match> matches = new ArrayList<>();
+        Node node = root;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            while (node != root && !node.next.containsKey(c)) {
+                node = node.fail;
+            }
+            node = node.next.getOrDefault(c, root);
+            for (String term : node.outputs) {
+                matches.add(new Match(i - term.length() + 1, i + 1, term));
+            }
+        }
+        return matches;
+    }
+
+    private void insert(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.next.computeIfAbsent(term.charAt(i), c -> new Node());
+        }
+        if (node.outputs.isEmpty()) {
+            node.outputs.add(term);
+            size++;
+        }
+    }
+
+    private void linkFailures() {
+        Queue<Node> queue = new ArrayDeque<>();
+        for (Node child : root.next.values()) {
+            child.fail = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            for (Map.Entry<Character, Node> entry : node.next.entrySet()) {
+                Node child = entry.getValue();
+                Node fail = node.fail;
+                while (fail != root && !fail.next.containsKey(entry.getKey())) {
+                    fail = fail.fail;
+                }
+                Node target = fail.next.get(entry.getKey());
+                child.fail = target != null && target != child ? target : root;
+                child.outputs.addAll(child.fail.outputs);
+                queue.add(child);
+            }
+        }
+    }
+
+    private static class Node {
+        private final Map<Character, Node> next = new HashMap<>();
+        private final List<String> outputs = new ArrayList<>();
+        private Node fail;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Match {
+        private final int start;
+        private final int end;
+        private final String term;
+    }
+}
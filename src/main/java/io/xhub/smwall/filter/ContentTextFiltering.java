@@ -1,8 +1,9 @@
 package io.xhub.smwall.filter;
 
-import com.nimbusds.jose.shaded.gson.Gson;
-import io.xhub.smwall.domains.Media;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.xhub.smwall.enumeration.LanguageText;
+import io.xhub.smwall.enumeration.ModerationTier;
 import io.xhub.smwall.filter.responses.RequestedAttributesResponse;
 import io.xhub.smwall.filter.responses.TextFilteringResponse;
 import io.xhub.smwall.filter.responses.ToxicityResponse;
@@ -12,6 +13,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 @Slf4j
@@ -19,50 +21,58 @@ import java.util.stream.Stream;
 @Component
 public class ContentTextFiltering {
     private final PerspectiveApiUtils perspectiveApiUtils;
+    private final ModerationVerdictCache moderationVerdictCache;
+    private final LocalTextClassifier localTextClassifier;
+    private final MeterRegistry meterRegistry;
 
-    public Boolean textFiltering(Media media) {
-
-
-        if (media.getText() != null && !media.getText().isEmpty()) {
-            log.info("Start filtering");
-            TextFilteringResponse analysisResponse = perspectiveApiUtils.analyzeComment(media.getText());
-
-
-            if (analysisResponse != null) {
-
-                System.out.println(new Gson().toJson(analysisResponse));
+    public Boolean isTextClean(String text) {
+        if (text == null || text.isEmpty()) {
+            log.info("media Text is empty ");
+            return decided(ModerationTier.LOCAL, Boolean.TRUE);
+        }
 
-                List<String> languagesNode = analysisResponse.getDetectedLanguages();
-                RequestedAttributesResponse attributeScores = analysisResponse.getAttributeScores();
-                ToxicityResponse toxicityScore = analysisResponse.getAttributeScores().getToxicity();
+        Boolean localVerdict = localTextClassifier.classify(text);
+        if (localVerdict != null) {
+            return decided(ModerationTier.LOCAL, localVerdict);
+        }
 
+        String cacheKey = ModerationVerdictCache.textKey(text);
+        Optional<Boolean> cachedVerdict = moderationVerdictCache.find(cacheKey);
+        if (cachedVerdict.isPresent()) {
+            return decided(ModerationTier.CACHE, cachedVerdict.get());
+        }
 
-                List<String> languages = Stream.of(LanguageText.values())
-                        .map(Enum::name)
-                        .toList();
+        log.info("Start filtering");
+        TextFilteringResponse analysisResponse = perspectiveApiUtils.analyzeComment(text);
+        if (analysisResponse == null) {
+            log.info("Text analysis unavailable");
+            return decided(ModerationTier.REMOTE, null);
+        }
 
-                boolean isLanguageRespected = languagesNode != null && languagesNode.stream().anyMatch(languages::contains);
+        List<String> languagesNode = analysisResponse.getDetectedLanguages();
+        RequestedAttributesResponse attributeScores = analysisResponse.getAttributeScores();
+        ToxicityResponse toxicityScore = attributeScores != null ? attributeScores.getToxicity() : null;
 
-                boolean isToxicityBelowThreshold = toxicityScore != null && attributeScores.getToxicity().getSummaryScore().getValue() < 0.5;
+        List<String> languages = Stream.of(LanguageText.values())
+                .map(Enum::name)
+                .toList();
 
+        boolean isLanguageRespected = languagesNode != null && languagesNode.stream().anyMatch(languages::contains);
 
-                log.info("response ");
+        boolean isToxicityBelowThreshold = toxicityScore != null && toxicityScore.getSummaryScore().getValue() < 0.5;
 
-                if (isLanguageRespected && isToxicityBelowThreshold) {
-                    media.setClean(Boolean.TRUE);
-                    log.info("Media is clean ");
-                } else {
-                    media.setClean(Boolean.FALSE);
-                    media.setHidden(Boolean.TRUE);
-                    log.info("Media is not clean");
-                }
-            }
-        } else {
-            log.info("media Text is empty ");
-            media.setClean(Boolean.TRUE);
-        }
-        return media.getClean();
+        boolean clean = isLanguageRespected && isToxicityBelowThreshold;
+        log.info(clean ? "Media text is clean" : "Media text is not clean");
+        moderationVerdictCache.put(cacheKey, clean);
+        return decided(ModerationTier.REMOTE, clean);
     }
 
-
+    private Boolean decided(ModerationTier tier, Boolean clean) {
+        Counter.builder("smwall.moderation.text.decisions")
+                .tag("tier", tier.name())
+                .tag("verdict", clean == null ? "pending" : clean ? "clean" : "not-clean")
+                .register(meterRegistry)
+                .increment();
+        return clean;
+    }
 }
@@ -0,0 +1,144 @@
+package io.xhub.smwall.filter;
+
+import io.xhub.smwall.config.LocalTextFilterProperties;
+import io.xhub.smwall.enumeration.LanguageText;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class LocalTextClassifier {
+    private static final Pattern URLS = Pattern.compile("https?://\\S+|www\\.\\S+");
+    private static final Pattern TAG_MARKS = Pattern.compile("[#@_.]");
+
+    private final LocalTextFilterProperties properties;
+    private final AhoCorasick blocklist;
+    private final AhoCorasick allowlist;
+    private final Set<Character.UnicodeScript> allowedScripts;
+
+    public LocalTextClassifier(LocalTextFilterProperties properties, ResourceLoader resourceLoader) {
+        this.properties = properties;
+        this.blocklist = new AhoCorasick(loadTerms(resourceLoader, properties.getBlocklistFile(), properties.getBlocklist()));
+        this.allowlist = new AhoCorasick(loadTerms(resourceLoader, properties.getAllowlistFile(), properties.getAllowlist()));
+        this.allowedScripts = Stream.of(LanguageText.values())
+                .map(LanguageText::getScript)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(Character.UnicodeScript.class)));
+    }
+
+    public Boolean classify(String text) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+
+        String normalized = normalize(text);
+        // A blocked term inside a longer tag (#skyscraper, @dickson) is ambiguous, so it is left to the remote tier
+        boolean blockedTermInTag = false;
+        for (AhoCorasick.Match match : blocklist.findAll(normalized)) {
+            if (isWord(normalized, match)) {
+                log.info("Media text matched blocked term");
+                return Boolean.FALSE;
+            }
+            blockedTermInTag |= isInsideTag(normalized, match.getStart());
+        }
+        if (blockedTermInTag) {
+            return null;
+        }
+
+        // Hashtags and mentions are scored as the words they spell, so a caption made only of tags is still checked
+        boolean hasUrls = URLS.matcher(normalized).find();
+        String residual = TAG_MARKS.matcher(URLS.matcher(normalized).replaceAll(" ")).replaceAll(" ");
+        residual = removeAllowedTerms(residual);
+
+        int letters = 0;
+        int foreignLetters = 0;
+        for (int i = 0; i < residual.length(); ) {
+            int codePoint = residual.codePointAt(i);
+            if (Character.isLetter(codePoint)) {
+                letters++;
+                if (!allowedScripts.contains(Character.UnicodeScript.of(codePoint))) {
+                    foreignLetters++;
+                }
+            }
+            i += Character.charCount(codePoint);
+        }
+
+        if (letters == 0) {
+            return hasUrls ? null : Boolean.TRUE;
+        }
+        if (foreignLetters >= letters * properties.getForeignScriptRatio()) {
+            log.info("Media text is written in an unsupported script");
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    private String removeAllowedTerms(String text) {
+        if (allowlist.isEmpty()) {
+            return text;
+        }
+        StringBuilder residual = new StringBuilder(text);
+        for (AhoCorasick.Match match : allowlist.findAll(text)) {
+            if (isWord(text, match)) {
+                for (int i = match.getStart(); i < match.getEnd(); i++) {
+                    residual.setCharAt(i, ' ');
+                }
+            }
+        }
+        return residual.toString();
+    }
+
+    private boolean isWord(String text, AhoCorasick.Match match) {
+        return (match.getStart() == 0 || !isWordCharacter(text.charAt(match.getStart() - 1)))
+                && (match.getEnd() == text.length() || !isWordCharacter(text.charAt(match.getEnd())));
+    }
+
+    private boolean isInsideTag(String text, int position) {
+        int i = position;
+        while (i > 0 && isWordCharacter(text.charAt(i - 1))) {
+            i--;
+        }
+        return i > 0 && (text.charAt(i - 1) == '#' || text.charAt(i - 1) == '@');
+    }
+
+    private boolean isWordCharacter(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> loadTerms(ResourceLoader resourceLoader, String location, List<String> inlineTerms) {
+        List<String> terms = new ArrayList<>();
+        inlineTerms.forEach(term -> terms.add(normalize(term)));
+        if (location == null || location.isBlank()) {
+            return terms;
+        }
+
+        Resource resource = resourceLoader.getResource(location);
+        try (InputStream inputStream = resource.getInputStream()) {
+            new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .forEach(line -> terms.add(normalize(line)));
+        } catch (IOException e) {
+            log.error("Failed to load word list {}: {}", location, e.getMessage());
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,133 @@
+package io.xhub.smwall.filter;
+
+import io.xhub.smwall.config.ModerationProperties;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.enumeration.MediaType;
+import io.xhub.smwall.filter.filterMedia.FilterMedia;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+@Slf4j
+public class ModerationPipeline {
+    private final ContentTextFiltering contentTextFiltering;
+    private final FilterMedia filterMedia;
+    private final ModerationProperties moderationProperties;
+    private final ExecutorService executor;
+
+    public ModerationPipeline(ContentTextFiltering contentTextFiltering, FilterMedia filterMedia, ModerationProperties moderationProperties) {
+        this.contentTextFiltering = contentTextFiltering;
+        this.filterMedia = filterMedia;
+        this.moderationProperties = moderationProperties;
+        this.executor = Executors.newFixedThreadPool(
+                moderationProperties.getConcurrency(),
+                new CustomizableThreadFactory("smwall-moderation-")
+        );
+    }
+
+    public void moderate(List<Media> mediaList) {
+        log.info("Start moderating {} media", mediaList.size());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(moderationProperties.getBatchTimeout());
+
+        List<Future<Boolean>> checks = new ArrayList<>(mediaList.size());
+        for (Media media : mediaList) {
+            checks.add(media.getType() == MediaType.IMAGE
+                    ? executor.submit(() -> contentTextFiltering.isTextClean(media.getText()))
+                    : executor.submit(() -> analyze(media)));
+        }
+
+        List<Media> images = new ArrayList<>();
+        for (int i = 0; i < mediaList.size(); i++) {
+            Media media = mediaList.get(i);
+            if (media.getType() != MediaType.IMAGE) {
+                continue;
+            }
+            Boolean textClean = await(checks.get(i), deadline);
+            if (Boolean.TRUE.equals(textClean)) {
+                images.add(media);
+            } else {
+                applyVerdict(media, textClean);
+            }
+        }
+        Future<List<Boolean>> imageCheck = images.isEmpty() ? null : executor.submit(() -> filterMedia.areImagesClean(images));
+
+        for (int i = 0; i < mediaList.size(); i++) {
+            Media media = mediaList.get(i);
+            if (media.getType() != MediaType.IMAGE) {
+                applyVerdict(media, await(checks.get(i), deadline));
+            }
+        }
+
+        if (imageCheck != null) {
+            List<Boolean> imageVerdicts = await(imageCheck, deadline);
+            for (int i = 0; i < images.size(); i++) {
+                if (imageVerdicts == null) {
+                    markPending(images.get(i));
+                } else {
+                    applyVerdict(images.get(i), imageVerdicts.get(i));
+                }
+            }
+        }
+
+        long pending = mediaList.stream().filter(media -> !Boolean.TRUE.equals(media.getAnalyzed())).count();
+        if (pending > 0) {
+            log.warn("{} media could not be moderated and were hidden for review", pending);
+        }
+    }
+
+    private Boolean analyze(Media media) {
+        Boolean textClean = contentTextFiltering.isTextClean(media.getText());
+        if (!Boolean.TRUE.equals(textClean)) {
+            return textClean;
+        }
+
+        return filterMedia.isContentClean(media);
+    }
+
+    private <T> T await(Future<T> check, long deadline) {
+        try {
+            return check.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            check.cancel(true);
+        } catch (ExecutionException e) {
+            log.error("Moderation check failed: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            check.cancel(true);
+        }
+        return null;
+    }
+
+    private void applyVerdict(Media media, Boolean clean) {
+        if (clean == null) {
+            markPending(media);
+            return;
+        }
+
+        media.setClean(clean);
+        media.setHidden(!clean);
+        media.setAnalyzed(Boolean.TRUE);
+    }
+
+    private void markPending(Media media) {
+        media.setClean(Boolean.FALSE);
+        media.setHidden(Boolean.TRUE);
+        media.setAnalyzed(Boolean.FALSE);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,99 @@
+package io.xhub.smwall.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.xhub.smwall.config.ModerationProperties;
+import io.xhub.smwall.constants.CacheNames;
+import io.xhub.smwall.domains.ModerationVerdict;
+import io.xhub.smwall.repositories.ModerationVerdictRepository;
+import io.xhub.smwall.utlis.HashUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+@Component
+@Slf4j
+public class ModerationVerdictCache {
+    private static final String TEXT_KIND = "text";
+    private static final String MEDIA_KIND = "media";
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    private final Cache cache;
+    private final ModerationVerdictRepository moderationVerdictRepository;
+    private final ModerationProperties.VerdictCache properties;
+    private final MeterRegistry meterRegistry;
+
+    public ModerationVerdictCache(CacheManager cacheManager,
+                                  ModerationVerdictRepository moderationVerdictRepository,
+                                  ModerationProperties moderationProperties,
+                                  MeterRegistry meterRegistry) {
+        this.cache = cacheManager.getCache(CacheNames.MODERATION_VERDICTS);
+        this.moderationVerdictRepository = moderationVerdictRepository;
+        this.properties = moderationProperties.getVerdictCache();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public static String textKey(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).trim();
+        return TEXT_KIND + ":" + HashUtils.sha256(WHITESPACES.matcher(normalized).replaceAll(" "));
+    }
+
+    public static String mediaKey(byte[] content) {
+        return MEDIA_KIND + ":" + HashUtils.sha256(content);
+    }
+
+    public Optional<Boolean> find(String key) {
+        Boolean clean = cache.get(key, Boolean.class);
+        if (clean != null) {
+            count(key, "memory", "hit");
+            return Optional.of(clean);
+        }
+
+        if (properties.isPersistent()) {
+            try {
+                Optional<ModerationVerdict> verdict = moderationVerdictRepository.findByIdAndExpiresAtAfter(key, Instant.now());
+                if (verdict.isPresent()) {
+                    cache.put(key, verdict.get().getClean());
+                    count(key, "mongo", "hit");
+                    return Optional.of(verdict.get().getClean());
+                }
+            } catch (Exception e) {
+                log.warn("Failed to read persisted moderation verdict: {}", e.getMessage());
+            }
+        }
+
+        count(key, "all", "miss");
+        return Optional.empty();
+    }
+
+    public void put(String key, Boolean clean) {
+        if (clean == null) {
+            return;
+        }
+
+        cache.put(key, clean);
+        if (properties.isPersistent()) {
+            try {
+                moderationVerdictRepository.save(new ModerationVerdict(key, clean, Instant.now().plusSeconds(properties.getTimeToLive())));
+            } catch (Exception e) {
+                log.warn("Failed to persist moderation verdict: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void count(String key, String tier, String result) {
+        Counter.builder("smwall.moderation.verdict.cache")
+                .tag("kind", key.substring(0, key.indexOf(':')))
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
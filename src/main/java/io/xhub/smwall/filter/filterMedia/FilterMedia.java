@@ -3,6 +3,7 @@ package io.xhub.smwall.filter.filterMedia;
 import io.xhub.smwall.config.ContentFilterProperties;
 import io.xhub.smwall.domains.Media;
 import io.xhub.smwall.enumeration.MediaType;
+import io.xhub.smwall.filter.ModerationVerdictCache;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.exec.CommandLine;
@@ -11,23 +12,113 @@ import org.apache.commons.exec.PumpStreamHandler;
 import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 @Slf4j
 @AllArgsConstructor
 public class FilterMedia {
+    private static final float NSFW_THRESHOLD = 0.1f;
+
     private ContentFilterProperties contentFilterProperties;
+    private NsfwWorkerPool nsfwWorkerPool;
+    private MediaDownloader mediaDownloader;
+    private ModerationVerdictCache moderationVerdictCache;
 
-    public void filterContent(Media media) {
-        log.error("start to filter content image /video ");
+    public Boolean isContentClean(Media media) {
+        log.info("start to filter content image /video ");
 
         try {
-            String scriptPath = getScriptPath(media.getType());
-            float nsfwScore = executePythonScript(scriptPath, media.getUrl());
-            setCleanliness(media, nsfwScore);
+            float nsfwScore = nsfwWorkerPool.isEnabled()
+                    ? nsfwWorkerPool.score(media.getType(), media.getUrl())
+                    : executePythonScript(getScriptPath(media.getType()), media.getUrl());
+            boolean clean = nsfwScore < NSFW_THRESHOLD;
+            log.info("Media: {}, Clean: {}", media.getUrl(), clean);
+            return clean;
         } catch (Exception e) {
             log.error("Failed to filter content: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public List<Boolean> areImagesClean(List<Media> images) {
+        log.info("Start to filter {} images", images.size());
+        List<Boolean> verdicts = new ArrayList<>(Collections.nCopies(images.size(), null));
+        List<String> keys = new ArrayList<>(Collections.nCopies(images.size(), null));
+        List<byte[]> contents = mediaDownloader.downloadAll(images.stream().map(Media::getUrl).toList());
+        List<Integer> unscored = new ArrayList<>();
+        for (int i = 0; i < contents.size(); i++) {
+            if (contents.get(i) == null) {
+                continue;
+            }
+            String key = ModerationVerdictCache.mediaKey(contents.get(i));
+            keys.set(i, key);
+            Optional<Boolean> cachedVerdict = moderationVerdictCache.find(key);
+            if (cachedVerdict.isPresent()) {
+                verdicts.set(i, cachedVerdict.get());
+            } else {
+                unscored.add(i);
+            }
+        }
+
+        if (nsfwWorkerPool.isEnabled()) {
+            scoreInBatches(unscored, contents, verdicts);
+        } else {
+            unscored.forEach(i -> verdicts.set(i, isImageClean(images.get(i), contents.get(i))));
+        }
+
+        unscored.forEach(i -> moderationVerdictCache.put(keys.get(i), verdicts.get(i)));
+        return verdicts;
+    }
+
+    // Scores the bytes already downloaded and hashed for the verdict cache, instead of letting the script fetch them again
+    private Boolean isImageClean(Media image, byte[] content) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("smwall-image-", null);
+            Files.write(file, content);
+            boolean clean = executePythonScript(contentFilterProperties.getUrlScriptImage(), file.toString()) < NSFW_THRESHOLD;
+            log.info("Media: {}, Clean: {}", image.getUrl(), clean);
+            return clean;
+        } catch (Exception e) {
+            log.error("Failed to filter image {}: {}", image.getUrl(), e.getMessage());
+            return null;
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary image {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void scoreInBatches(List<Integer> unscored, List<byte[]> contents, List<Boolean> verdicts) {
+        int batchSize = Math.max(1, contentFilterProperties.getWorker().getImageBatchSize());
+        for (int from = 0; from < unscored.size(); from += batchSize) {
+            List<Integer> batch = unscored.subList(from, Math.min(from + batchSize, unscored.size()));
+            try {
+                List<Float> scores = nsfwWorkerPool.scoreImages(batch.stream().map(contents::get).toList());
+                for (int i = 0; i < batch.size(); i++) {
+                    Float score = scores.get(i);
+                    verdicts.set(batch.get(i), score == null ? null : score < NSFW_THRESHOLD);
+                }
+            } catch (Exception e) {
+                log.error("Failed to filter batch of {} images: {}", batch.size(), e.getMessage());
+            }
         }
     }
 
@@ -39,10 +130,10 @@ public class FilterMedia {
         }
     }
 
-    private float executePythonScript(String scriptPath, String mediaUrl) throws Exception {
+    private float executePythonScript(String scriptPath, String mediaSource) throws Exception {
         CommandLine commandLine = new CommandLine("python")
                 .addArgument(scriptPath)
-                .addArgument(mediaUrl);
+                .addArgument(mediaSource);
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         PumpStreamHandler streamHandler = new PumpStreamHandler(outputStream);
         DefaultExecutor executor = new DefaultExecutor();
@@ -51,11 +142,4 @@ public class FilterMedia {
         return Float.parseFloat(outputStream.toString(StandardCharsets.UTF_8).trim());
     }
 
-    private void setCleanliness(Media media, float nsfwScore) {
-        media.setClean(nsfwScore < 0.1);
-        media.setHidden(!media.getClean());
-        log.info("Media: {}, Clean: {}", media.getUrl(), media.getClean());
-    }
-
 }
-
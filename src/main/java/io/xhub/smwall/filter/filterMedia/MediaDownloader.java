@@ -0,0 +1,111 @@
+package io.xhub.smwall.filter.filterMedia;
+
+import io.xhub.smwall.config.ContentFilterProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+@Slf4j
+public class MediaDownloader {
+    private final ContentFilterProperties.Download properties;
+    private final ExecutorService executor;
+    // The client completes its exchanges on its own threads: the workers above block in send(), so sharing
+    // them would leave no thread to deliver the responses they wait for
+    private final ExecutorService httpExecutor = Executors.newCachedThreadPool(new CustomizableThreadFactory("smwall-media-download-http-"));
+    private final HttpClient httpClient;
+
+    public MediaDownloader(ContentFilterProperties contentFilterProperties) {
+        this.properties = contentFilterProperties.getDownload();
+        this.executor = Executors.newFixedThreadPool(
+                properties.getConcurrency(),
+                new CustomizableThreadFactory("smwall-media-download-")
+        );
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(properties.getConnectTimeout()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(httpExecutor)
+                .build();
+    }
+
+    public List<byte[]> downloadAll(List<String> urls) {
+        log.info("Start downloading {} media", urls.size());
+        List<CompletableFuture<byte[]>> downloads = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            downloads.add(CompletableFuture.supplyAsync(() -> download(url), executor));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(properties.getRequestTimeout() * 2);
+        List<byte[]> contents = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            CompletableFuture<byte[]> download = downloads.get(i);
+            try {
+                contents.add(download.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                download.cancel(true);
+                log.warn("Download of {} timed out", urls.get(i));
+                contents.add(null);
+            } catch (ExecutionException e) {
+                log.warn("Failed to download {}: {}", urls.get(i), e.getCause().getMessage());
+                contents.add(null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                contents.add(null);
+            }
+        }
+        return contents;
+    }
+
+    private byte[] download(String url) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(properties.getRequestTimeout()))
+                .GET()
+                .build();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() / 100 != 2) {
+                    throw new IOException("Unexpected status " + response.statusCode());
+                }
+                long contentLength = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+                if (contentLength > properties.getMaxBytes()) {
+                    throw new IOException("Media of " + contentLength + " bytes exceeds the size cap");
+                }
+                byte[] content = body.readNBytes(properties.getMaxBytes() + 1);
+                if (content.length > properties.getMaxBytes()) {
+                    throw new IOException("Media exceeds the size cap of " + properties.getMaxBytes() + " bytes");
+                }
+                return content;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Download interrupted", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        httpExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,103 @@
+package io.xhub.smwall.filter.filterMedia;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+public class NsfwWorker {
+    private final Process process;
+    private final BufferedWriter writer;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<String> responses = new LinkedBlockingQueue<>();
+
+    private NsfwWorker(Process process, ObjectMapper objectMapper) {
+        this.process = process;
+        this.objectMapper = objectMapper;
+        this.writer = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+
+        Thread reader = new Thread(this::readResponses, "smwall-nsfw-worker-" + process.pid());
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    public static NsfwWorker start(List<String> command, ObjectMapper objectMapper, long startupTimeoutMillis)
+            throws IOException, InterruptedException, TimeoutException {
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        NsfwWorker worker = new NsfwWorker(process, objectMapper);
+
+        try {
+            NsfwWorkerResponse handshake = worker.read(startupTimeoutMillis);
+            if (!Boolean.TRUE.equals(handshake.getReady())) {
+                throw new IOException("NSFW worker did not report ready");
+            }
+        } catch (IOException | InterruptedException | TimeoutException e) {
+            worker.destroy();
+            throw e;
+        }
+        log.info("NSFW worker {} is ready", process.pid());
+        return worker;
+    }
+
+    public synchronized NsfwWorkerResponse send(NsfwWorkerRequest request, long timeoutMillis)
+            throws IOException, InterruptedException, TimeoutException {
+        writer.write(objectMapper.writeValueAsString(request));
+        writer.newLine();
+        writer.flush();
+
+        NsfwWorkerResponse response = read(timeoutMillis);
+        if (!request.getId().equals(response.getId())) {
+            throw new IOException("NSFW worker answered request " + response.getId() + " instead of " + request.getId());
+        }
+        return response;
+    }
+
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    public long pid() {
+        return process.pid();
+    }
+
+    public void destroy() {
+        process.destroyForcibly();
+    }
+
+    private NsfwWorkerResponse read(long timeoutMillis) throws IOException, InterruptedException, TimeoutException {
+        String line = responses.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        if (line == null) {
+            if (!process.isAlive()) {
+                throw new IOException("NSFW worker exited with code " + process.exitValue());
+            }
+            throw new TimeoutException("NSFW worker did not answer within " + timeoutMillis + " ms");
+        }
+        return objectMapper.readValue(line, NsfwWorkerResponse.class);
+    }
+
+    private void readResponses() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    responses.offer(line);
+                }
+            }
+        } catch (IOException e) {
+            log.debug("NSFW worker {} output closed: {}", process.pid(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package io.xhub.smwall.filter.filterMedia;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.xhub.smwall.config.ContentFilterProperties;
+import io.xhub.smwall.enumeration.MediaType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class NsfwWorkerPool {
+    private static final long RELAUNCH_DELAY_MILLIS = 5000;
+
+    private final ContentFilterProperties.Worker properties;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<NsfwWorker> idleWorkers = new LinkedBlockingQueue<>();
+    private final AtomicLong requestSequence = new AtomicLong();
+    private final ExecutorService launcher;
+    private volatile boolean running;
+
+    public NsfwWorkerPool(ContentFilterProperties contentFilterProperties, ObjectMapper objectMapper) {
+        this.properties = contentFilterProperties.getWorker();
+        this.objectMapper = objectMapper;
+        this.launcher = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("smwall-nsfw-launcher-"));
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) {
+            log.info("NSFW worker pool disabled, media will be scored by one-shot scripts");
+            return;
+        }
+        log.info("Start NSFW worker pool with {} workers", properties.getPoolSize());
+        running = true;
+        for (int i = 0; i < properties.getPoolSize(); i++) {
+            launcher.submit(this::launchWorker);
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public float score(MediaType type, String url) throws Exception {
+        String op = type == MediaType.IMAGE ? NsfwWorkerRequest.IMAGE : NsfwWorkerRequest.VIDEO;
+        NsfwWorkerResponse response = request(new NsfwWorkerRequest(requestSequence.incrementAndGet(), op, url));
+        if (response.getScore() == null) {
+            throw new IllegalStateException("NSFW worker returned no score");
+        }
+        return response.getScore();
+    }
+
+    public List<Float> scoreImages(List<byte[]> images) throws Exception {
+        NsfwWorkerResponse response = request(new NsfwWorkerRequest(requestSequence.incrementAndGet(), NsfwWorkerRequest.IMAGES, null, images));
+        if (response.getScores() == null || response.getScores().size() != images.size()) {
+            throw new IllegalStateException("NSFW worker returned " + (response.getScores() == null ? 0 : response.getScores().size())
+                    + " scores for " + images.size() + " images");
+        }
+        return response.getScores();
+    }
+
+    private NsfwWorkerResponse request(NsfwWorkerRequest request) throws Exception {
+        long timeoutMillis = TimeUnit.SECONDS.toMillis(properties.getRequestTimeout());
+        NsfwWorker worker = idleWorkers.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        if (worker == null) {
+            throw new TimeoutException("No NSFW worker available within " + timeoutMillis + " ms");
+        }
+
+        boolean healthy = false;
+        try {
+            NsfwWorkerResponse response = worker.send(request, timeoutMillis);
+            healthy = true;
+            if (response.getError() != null) {
+                throw new IllegalStateException("NSFW worker failed to score media: " + response.getError());
+            }
+            return response;
+        } finally {
+            if (healthy) {
+                release(worker);
+            } else {
+                replace(worker);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.media-filter.worker.health-check-interval:30}", timeUnit = TimeUnit.SECONDS)
+    public void checkWorkersHealth() {
+        if (!running) {
+            return;
+        }
+        long timeoutMillis = TimeUnit.SECONDS.toMillis(properties.getRequestTimeout());
+        int idleCount = idleWorkers.size();
+        for (int i = 0; i < idleCount; i++) {
+            NsfwWorker worker = idleWorkers.poll();
+            if (worker == null) {
+                return;
+            }
+            try {
+                NsfwWorkerResponse response = worker.send(new NsfwWorkerRequest(requestSequence.incrementAndGet(), NsfwWorkerRequest.PING, null), timeoutMillis);
+                if (Boolean.TRUE.equals(response.getPong())) {
+                    release(worker);
+                    continue;
+                }
+                log.warn("NSFW worker {} answered ping without pong", worker.pid());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                idleWorkers.offer(worker);
+                return;
+            } catch (Exception e) {
+                log.warn("NSFW worker {} failed health check: {}", worker.pid(), e.getMessage());
+            }
+            replace(worker);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        launcher.shutdownNow();
+        NsfwWorker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            worker.destroy();
+        }
+    }
+
+    private void release(NsfwWorker worker) {
+        if (running && worker.isAlive()) {
+            idleWorkers.offer(worker);
+        } else {
+            replace(worker);
+        }
+    }
+
+    private void replace(NsfwWorker worker) {
+        worker.destroy();
+        if (running) {
+            log.warn("Restart NSFW worker {}", worker.pid());
+            launcher.submit(this::launchWorker);
+        }
+    }
+
+    private void launchWorker() {
+        while (running) {
+            try {
+                NsfwWorker worker = NsfwWorker.start(
+                        List.of(properties.getCommand(), properties.getScript()),
+                        objectMapper,
+                        TimeUnit.SECONDS.toMillis(properties.getStartupTimeout()));
+                idleWorkers.offer(worker);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Failed to start NSFW worker: {}", e.getMessage());
+            }
+            try {
+                Thread.sleep(RELAUNCH_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
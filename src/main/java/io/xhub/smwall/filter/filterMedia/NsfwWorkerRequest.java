@@ -0,0 +1,30 @@
+package io.xhub.smwall.filter.filterMedia;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NsfwWorkerRequest {
+    public static final String PING = "ping";
+    public static final String IMAGE = "image";
+    public static final String VIDEO = "video";
+    public static final String IMAGES = "images";
+
+    private Long id;
+    private String op;
+    private String url;
+    private List<byte[]> images;
+
+    public NsfwWorkerRequest(Long id, String op, String url) {
+        this(id, op, url, null);
+    }
+}
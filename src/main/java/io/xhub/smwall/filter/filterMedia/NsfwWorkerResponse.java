@@ -0,0 +1,19 @@
+package io.xhub.smwall.filter.filterMedia;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class NsfwWorkerResponse {
+    private Long id;
+    private Float score;
+    private List<Float> scores;
+    private String error;
+    private Boolean pong;
+    private Boolean ready;
+}
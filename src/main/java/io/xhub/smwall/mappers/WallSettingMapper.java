@@ -1,13 +1,14 @@
 package io.xhub.smwall.mappers;
 
+import io.xhub.smwall.constants.ApiPaths;
 import io.xhub.smwall.domains.BinaryImage;
 import io.xhub.smwall.domains.WallSetting;
 import io.xhub.smwall.dto.WallSettingDTO;
-import io.xhub.smwall.utlis.StringUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Component
 @RequiredArgsConstructor
@@ -16,15 +17,23 @@ public class WallSettingMapper {
         if (wallSetting == null)
             return null;
 
-        BinaryImage logo = wallSetting.getLogo();
-
         WallSettingDTO wallSettingDTO = new WallSettingDTO();
         wallSettingDTO.setId(wallSetting.getId());
         wallSettingDTO.setTitle(wallSetting.getTitle());
-        wallSettingDTO.setFilename(logo.getFilename());
 
-        String logoBase64Data = Base64.getEncoder().encodeToString(logo.getValue().getData());
-        wallSettingDTO.setLogoBase64(StringUtils.getBase64Data(logo.getContentType(), logoBase64Data));
+        BinaryImage logo = wallSetting.getLogo();
+        if (logo != null) {
+            wallSettingDTO.setFilename(logo.getFilename());
+            wallSettingDTO.setLogoHash(logo.getHash());
+            String logoUrl = ApiPaths.V1 + ApiPaths.WALL + ApiPaths.SETTINGS + ApiPaths.LOGO + "/" + logo.getHash();
+            wallSettingDTO.setLogoUrl(logoUrl);
+
+            Map<Integer, String> thumbnailUrls = new TreeMap<>();
+            if (logo.getThumbnails() != null) {
+                logo.getThumbnails().forEach(thumbnail -> thumbnailUrls.put(thumbnail.getSize(), logoUrl + "?size=" + thumbnail.getSize()));
+            }
+            wallSettingDTO.setLogoThumbnailUrls(thumbnailUrls);
+        }
 
         return wallSettingDTO;
     }
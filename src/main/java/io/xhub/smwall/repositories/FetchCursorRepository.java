@@ -0,0 +1,9 @@
+package io.xhub.smwall.repositories;
+
+import io.xhub.smwall.domains.FetchCursor;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FetchCursorRepository extends MongoRepository<FetchCursor, String> {
+}
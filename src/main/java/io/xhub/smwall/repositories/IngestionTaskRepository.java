@@ -0,0 +1,15 @@
+package io.xhub.smwall.repositories;
+
+import io.xhub.smwall.domains.IngestionTask;
+import io.xhub.smwall.enumeration.IngestionTaskStatus;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface IngestionTaskRepository extends MongoRepository<IngestionTask, String>, IngestionTaskRepositoryCustom {
+    long countByStatus(IngestionTaskStatus status);
+
+    Optional<IngestionTask> findFirstByStatusOrderByEnqueuedAtAsc(IngestionTaskStatus status);
+}
@@ -0,0 +1,14 @@
+package io.xhub.smwall.repositories;
+
+import io.xhub.smwall.domains.IngestionTask;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IngestionTaskRepositoryCustom {
+    Optional<IngestionTask> claimNext(Instant now, Instant visibleUntil);
+
+    void reschedule(String id, Instant visibleAt, String lastError);
+
+    void deadLetter(String id, String lastError);
+}
@@ -0,0 +1,47 @@
+package io.xhub.smwall.repositories;
+
+import io.xhub.smwall.domains.IngestionTask;
+import io.xhub.smwall.enumeration.IngestionTaskStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class IngestionTaskRepositoryCustomImpl implements IngestionTaskRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<IngestionTask> claimNext(Instant now, Instant visibleUntil) {
+        Query query = Query.query(Criteria.where("status").is(IngestionTaskStatus.PENDING).and("visibleAt").lte(now))
+                .with(Sort.by(Sort.Direction.ASC, "visibleAt"));
+        Update update = new Update()
+                .set("visibleAt", visibleUntil)
+                .inc("attempts", 1);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), IngestionTask.class));
+    }
+
+    @Override
+    public void reschedule(String id, Instant visibleAt, String lastError) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(id)),
+                Update.update("visibleAt", visibleAt).set("lastError", lastError),
+                IngestionTask.class
+        );
+    }
+
+    @Override
+    public void deadLetter(String id, String lastError) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(id)),
+                Update.update("status", IngestionTaskStatus.DEAD_LETTER).set("lastError", lastError),
+                IngestionTask.class
+        );
+    }
+}
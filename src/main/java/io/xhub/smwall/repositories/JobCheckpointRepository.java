@@ -0,0 +1,9 @@
+package io.xhub.smwall.repositories;
+
+import io.xhub.smwall.domains.JobCheckpoint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobCheckpointRepository extends MongoRepository<JobCheckpoint, String> {
+}
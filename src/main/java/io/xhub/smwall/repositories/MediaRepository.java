@@ -2,14 +2,19 @@ package io.xhub.smwall.repositories;
 
 import io.xhub.smwall.domains.Media;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MediaRepository extends MongoRepository<Media, String>, QuerydslPredicateExecutor<Media> {
+public interface MediaRepository extends MongoRepository<Media, String>, QuerydslPredicateExecutor<Media>, MediaRepositoryCustom {
     Optional<Media> findByPinned(boolean pinned);
     Boolean findByIdAndAnalyzedTrue(String id);
 
+    @Query(value = "{ '_id': { $in: ?0 }, 'analyzed': true }", fields = "{ '_id': 1 }")
+    List<Media> findAnalyzedIdsByIdIn(Collection<String> ids);
 }
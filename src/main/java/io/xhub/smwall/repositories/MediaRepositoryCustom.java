@@ -0,0 +1,12 @@
+package io.xhub.smwall.repositories;
+
+import com.mongodb.bulk.BulkWriteResult;
+import io.xhub.smwall.domains.Media;
+
+import java.util.List;
+
+public interface MediaRepositoryCustom {
+    BulkWriteResult upsertAll(List<Media> mediaList);
+
+    BulkWriteResult updateLiveness(List<Media> mediaList);
+}
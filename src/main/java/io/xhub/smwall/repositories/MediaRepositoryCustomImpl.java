@@ -0,0 +1,39 @@
+package io.xhub.smwall.repositories;
+
+import com.mongodb.bulk.BulkWriteResult;
+import io.xhub.smwall.domains.Media;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class MediaRepositoryCustomImpl implements MediaRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public BulkWriteResult upsertAll(List<Media> mediaList) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Media.class);
+        mediaList.forEach(media -> bulkOperations.replaceOne(
+                Query.query(Criteria.where("_id").is(media.getId())),
+                media,
+                FindAndReplaceOptions.options().upsert()
+        ));
+        return bulkOperations.execute();
+    }
+
+    @Override
+    public BulkWriteResult updateLiveness(List<Media> mediaList) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Media.class);
+        mediaList.forEach(media -> bulkOperations.updateOne(
+                Query.query(Criteria.where("_id").is(media.getId())),
+                Update.update("liveness", media.getLiveness())
+        ));
+        return bulkOperations.execute();
+    }
+}
@@ -0,0 +1,13 @@
+package io.xhub.smwall.repositories;
+
+import io.xhub.smwall.domains.ModerationVerdict;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface ModerationVerdictRepository extends MongoRepository<ModerationVerdict, String> {
+    Optional<ModerationVerdict> findByIdAndExpiresAtAfter(String id, Instant now);
+}
@@ -0,0 +1,16 @@
+package io.xhub.smwall.repositories;
+
+import io.xhub.smwall.domains.SeenMediaSnapshotChunk;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SeenMediaSnapshotChunkRepository extends MongoRepository<SeenMediaSnapshotChunk, String> {
+    List<SeenMediaSnapshotChunk> findByGenerationOrderBySegmentAscVersionAscIndexAsc(long generation);
+
+    void deleteByGeneration(long generation);
+
+    void deleteByGenerationLessThan(long generation);
+}
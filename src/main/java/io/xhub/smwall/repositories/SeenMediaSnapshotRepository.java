@@ -0,0 +1,9 @@
+package io.xhub.smwall.repositories;
+
+import io.xhub.smwall.domains.SeenMediaSnapshot;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SeenMediaSnapshotRepository extends MongoRepository<SeenMediaSnapshot, String> {
+}
@@ -2,6 +2,7 @@ package io.xhub.smwall.repositories;
 
 import io.xhub.smwall.domains.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.stereotype.Repository;
 
@@ -9,7 +10,14 @@ import java.util.Optional;
 
 @Repository
 public interface UserRepository extends MongoRepository<User, String>, QuerydslPredicateExecutor<User> {
+    String CASE_INSENSITIVE = "{ 'locale': 'en', 'strength': 2 }";
+
+    @Query(value = "{ 'email': ?0 }", collation = CASE_INSENSITIVE)
     Optional<User> findFirstByEmailIgnoreCase(String email);
+
+    @Query(value = "{ 'email': ?0, '_id': { $ne: ?1 } }", exists = true, collation = CASE_INSENSITIVE)
     boolean existsByEmailIgnoreCaseAndIdNot(String email, String id);
+
+    @Query(value = "{ 'email': ?0 }", exists = true, collation = CASE_INSENSITIVE)
     boolean existsByEmailIgnoreCase(String email);
 }
@@ -1,7 +1,9 @@
 package io.xhub.smwall.repositories;
 
+import io.xhub.smwall.constants.CacheNames;
 import io.xhub.smwall.domains.WallFooter;
 import io.xhub.smwall.exceptions.BusinessException;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,5 +11,6 @@ import java.util.Optional;
 
 @Repository
 public interface WallFooterRepository extends MongoRepository<WallFooter, String> {
+    @Cacheable(CacheNames.WALL_FOOTER)
     Optional<WallFooter> findFirstByIdIsNotNullOrderByTimestampDesc() throws BusinessException;
 }
@@ -1,6 +1,8 @@
 package io.xhub.smwall.repositories;
 
+import io.xhub.smwall.constants.CacheNames;
 import io.xhub.smwall.domains.WallHeader;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,5 +12,6 @@ import java.util.Optional;
 
 
 public interface WallHeaderRepository extends MongoRepository<WallHeader, String> {
+    @Cacheable(CacheNames.WALL_HEADER)
     Optional<WallHeader> findFirstByIdIsNotNullOrderByTimestampDesc();
 }
@@ -1,6 +1,8 @@
 package io.xhub.smwall.repositories;
 
+import io.xhub.smwall.constants.CacheNames;
 import io.xhub.smwall.domains.WallSetting;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,5 +10,7 @@ import java.util.Optional;
 
 @Repository
 public interface WallSettingRepository extends MongoRepository<WallSetting, String> {
+    @Cacheable(CacheNames.WALL_SETTINGS)
     Optional<WallSetting> findFirstByOrderByCreatedAtDesc();
+    Optional<WallSetting> findFirstByLogoHash(String hash);
 }
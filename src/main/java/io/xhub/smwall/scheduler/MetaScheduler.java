@@ -1,28 +1,26 @@
 package io.xhub.smwall.scheduler;
 
 import io.xhub.smwall.client.MetaClient;
+import io.xhub.smwall.client.response.InstagramMediaResponse;
 import io.xhub.smwall.config.MetaProperties;
-import io.xhub.smwall.constants.CacheNames;
 import io.xhub.smwall.constants.ProfileNames;
-import io.xhub.smwall.constants.RegexPatterns;
 import io.xhub.smwall.dto.meta.InstagramMediaDTO;
-import io.xhub.smwall.mappers.meta.InstagramMediaMapper;
-import io.xhub.smwall.service.MediaService;
-import io.xhub.smwall.utlis.RegexUtils;
-import io.xhub.smwall.utlis.StringUtils;
+import io.xhub.smwall.enumeration.MediaSource;
+import io.xhub.smwall.service.ingestion.FetchedPage;
+import io.xhub.smwall.service.ingestion.IncrementalFetcher;
+import io.xhub.smwall.service.ingestion.InstagramSourceTypeTagger;
+import io.xhub.smwall.service.ingestion.MediaIngestionQueue;
+import io.xhub.smwall.service.ingestion.SeenMediaIndex;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Component
 @Slf4j
@@ -32,31 +30,24 @@ public class MetaScheduler {
     private final static String IG_MEDIA_REQUEST_FIELDS = "id,caption,media_type,media_url,thumbnail_url,permalink,timestamp,owner{id,username,profile_picture_url},children{media_url,media_type}";
     private final static String IG_HASHTAG_MEDIA_REQUEST_FIELDS = "id,caption,media_type,media_url,permalink,timestamp,children{media_url,media_type}";
     private final static String IG_MENTION_MEDIA_REQUEST_FIELDS = "id,caption,media_type,media_url,permalink,timestamp,children{media_url,media_type}";
+    private final static String IG_HASHTAG_CURSOR_PREFIX = "ig:hashtag:";
+    private final static String IG_USER_MEDIA_CURSOR = "ig:user-media";
+    private final static String IG_USER_TAGS_CURSOR = "ig:user-tags";
+    private final static String IG_USER_STORIES_CURSOR = "ig:user-stories";
     private final MetaProperties metaProperties;
-    private final MediaService mediaService;
+    private final MediaIngestionQueue mediaIngestionQueue;
     private final MetaClient metaClient;
-    private final Cache processedMediaCache;
-    private final List<String> allowedMatches;
-    private final InstagramMediaMapper instagramMediaMapper;
+    private final SeenMediaIndex seenMediaIndex;
+    private final InstagramSourceTypeTagger instagramSourceTypeTagger;
+    private final IncrementalFetcher incrementalFetcher;
 
-    public MetaScheduler(MetaProperties metaProperties, MediaService mediaService, MetaClient metaClient, CacheManager cacheManager, InstagramMediaMapper instagramMediaMapper) {
+    public MetaScheduler(MetaProperties metaProperties, MediaIngestionQueue mediaIngestionQueue, MetaClient metaClient, SeenMediaIndex seenMediaIndex, InstagramSourceTypeTagger instagramSourceTypeTagger, IncrementalFetcher incrementalFetcher) {
         this.metaProperties = metaProperties;
-        this.mediaService = mediaService;
+        this.mediaIngestionQueue = mediaIngestionQueue;
         this.metaClient = metaClient;
-        this.processedMediaCache = cacheManager.getCache(CacheNames.PROCESSED_IG_MEDIA);
-        this.instagramMediaMapper = instagramMediaMapper;
-        this.allowedMatches = createAllowedMatchesList();
-    }
-
-
-    private List<String> createAllowedMatchesList() {
-        List<String> hashtags = metaProperties.getHashtags().keySet().stream()
-                .map(StringUtils::prependHashtag)
-                .toList();
-        String mention = StringUtils.prependAtSign(metaProperties.getUsername());
-        List<String> allowedMatches = new ArrayList<>(hashtags);
-        allowedMatches.add(mention);
-        return allowedMatches;
+        this.seenMediaIndex = seenMediaIndex;
+        this.instagramSourceTypeTagger = instagramSourceTypeTagger;
+        this.incrementalFetcher = incrementalFetcher;
     }
 
     @Async
@@ -68,25 +59,13 @@ public class MetaScheduler {
         try {
             log.info("Getting IG hashtag recent media");
 
-            List<InstagramMediaDTO> newMedia = metaProperties.getHashtags()
+            metaProperties.getHashtags()
                     .values()
-                    .stream()
-                    .map(igHashtagId -> metaClient.getIGHashtagRecentMedia(igHashtagId,
-                            metaProperties.getUserId(),
-                            IG_HASHTAG_MEDIA_REQUEST_FIELDS))
-                    .flatMap(res -> res.getData().stream())
-                    .filter(this::isNewIGMedia)
-                    .peek(instagramMediaDTO -> {
-                        if (instagramMediaDTO.getCaption() != null) {
-                            instagramMediaDTO.getSourceTypes()
-                                    .addAll(RegexUtils.findAllowedMatches(instagramMediaDTO.getCaption(), RegexPatterns.SOURCE_TYPES, allowedMatches));
-                        }
-                    })
-                    .collect(Collectors.toList());
-            if (!newMedia.isEmpty()) {
-                log.info("Persisting {} new IG hashtag recent media", newMedia.size());
-                mediaService.addAllMedia(instagramMediaMapper.toEntity(newMedia));
-            }
+                    .forEach(igHashtagId -> fetchNewIGMedia(IG_HASHTAG_CURSOR_PREFIX + igHashtagId, "IG hashtag recent media", true,
+                            after -> metaClient.getIGHashtagRecentMedia(igHashtagId,
+                                    metaProperties.getUserId(),
+                                    IG_HASHTAG_MEDIA_REQUEST_FIELDS,
+                                    after)));
         } catch (Exception e) {
             log.error("Error while fetching IG hashtag recent media: {}", e.getMessage());
         }
@@ -101,17 +80,8 @@ public class MetaScheduler {
         try {
             log.info("Getting IG user media");
 
-            List<InstagramMediaDTO> newMedia = metaClient.getIGUserMedia(metaProperties.getUserId(),
-                            IG_MEDIA_REQUEST_FIELDS)
-                    .getData()
-                    .stream()
-                    .filter(this::isNewIGMedia)
-                    .collect(Collectors.toList());
-
-            if (!newMedia.isEmpty()) {
-                log.info("Persisting {} new IG user media", newMedia.size());
-                mediaService.addAllMedia(instagramMediaMapper.toEntity(newMedia));
-            }
+            fetchNewIGMedia(IG_USER_MEDIA_CURSOR, "IG user media", false,
+                    after -> metaClient.getIGUserMedia(metaProperties.getUserId(), IG_MEDIA_REQUEST_FIELDS, after));
         } catch (Exception e) {
             log.error("Error while fetching IG user media: {}", e.getMessage());
         }
@@ -126,23 +96,8 @@ public class MetaScheduler {
         try {
             log.info("Getting IG user tags");
 
-            List<InstagramMediaDTO> newMedia = metaClient.getIGUserTags(metaProperties.getUserId(),
-                            IG_MENTION_MEDIA_REQUEST_FIELDS)
-                    .getData()
-                    .stream()
-                    .filter(this::isNewIGMedia)
-                    .peek(instagramMediaDTO -> {
-                        if (instagramMediaDTO.getCaption() != null) {
-                            instagramMediaDTO.getSourceTypes()
-                                    .addAll(RegexUtils.findAllowedMatches(instagramMediaDTO.getCaption(), RegexPatterns.SOURCE_TYPES, allowedMatches));
-                        }
-                    })
-                    .collect(Collectors.toList());
-
-            if (!newMedia.isEmpty()) {
-                log.info("Persisting {} new IG user tags", newMedia.size());
-                mediaService.addAllMedia(instagramMediaMapper.toEntity(newMedia));
-            }
+            fetchNewIGMedia(IG_USER_TAGS_CURSOR, "IG user tags", true,
+                    after -> metaClient.getIGUserTags(metaProperties.getUserId(), IG_MENTION_MEDIA_REQUEST_FIELDS, after));
         } catch (Exception e) {
             log.error("Error while fetching IG user tags: {}", e.getMessage());
         }
@@ -157,23 +112,38 @@ public class MetaScheduler {
         try {
             log.info("Getting IG user stories");
 
-            List<InstagramMediaDTO> newMedia = metaClient.getIGUserStories(metaProperties.getUserId(),
-                            IG_MEDIA_REQUEST_FIELDS)
-                    .getData()
-                    .stream()
-                    .filter(this::isNewIGMedia)
-                    .collect(Collectors.toList());
-
-            if (!newMedia.isEmpty()) {
-                log.info("Persisting {} new IG user stories", newMedia.size());
-                mediaService.addAllMedia(instagramMediaMapper.toEntity(newMedia));
-            }
+            fetchNewIGMedia(IG_USER_STORIES_CURSOR, "IG user stories", false,
+                    after -> metaClient.getIGUserStories(metaProperties.getUserId(), IG_MEDIA_REQUEST_FIELDS, after));
         } catch (Exception e) {
             log.error("Error while fetching IG user stories: {}", e.getMessage());
         }
     }
 
+    private void fetchNewIGMedia(String cursorId, String label, boolean tagSourceTypes, Function<String, InstagramMediaResponse> pageFetcher) {
+        incrementalFetcher.fetch(cursorId,
+                after -> {
+                    InstagramMediaResponse response = pageFetcher.apply(after);
+                    return new FetchedPage<>(response.getData() != null ? response.getData() : List.of(), response.getNextPageCursor());
+                },
+                InstagramMediaDTO::getId,
+                InstagramMediaDTO::getTimestamp,
+                fetchedMedia -> {
+                    List<InstagramMediaDTO> newMedia = fetchedMedia.stream()
+                            .filter(this::isNewIGMedia)
+                            .toList();
+                    try {
+                        if (tagSourceTypes) {
+                            newMedia.forEach(instagramSourceTypeTagger::tag);
+                        }
+                        mediaIngestionQueue.enqueueInstagramMedia(label, newMedia);
+                    } catch (RuntimeException e) {
+                        newMedia.forEach(media -> seenMediaIndex.forget(MediaSource.INSTAGRAM, media.getId()));
+                        throw e;
+                    }
+                });
+    }
+
     private boolean isNewIGMedia(InstagramMediaDTO media) {
-        return processedMediaCache != null && processedMediaCache.putIfAbsent(media.getId(), true) == null;
+        return seenMediaIndex.markIfNew(MediaSource.INSTAGRAM, media.getId());
     }
-}
\ No newline at end of file
+}
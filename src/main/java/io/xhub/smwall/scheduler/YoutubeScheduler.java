@@ -2,40 +2,47 @@ package io.xhub.smwall.scheduler;
 
 import io.xhub.smwall.client.YoutubeClient;
 import io.xhub.smwall.client.YoutubeSearchParams;
+import io.xhub.smwall.client.response.YoutubeMediaResponse;
 import io.xhub.smwall.config.YoutubeProperties;
-import io.xhub.smwall.constants.CacheNames;
 import io.xhub.smwall.constants.ProfileNames;
+import io.xhub.smwall.domains.FetchCursor;
 import io.xhub.smwall.dto.youtube.YoutubeMediaDTO;
-import io.xhub.smwall.mappers.youtube.YoutubeMediaMapper;
-import io.xhub.smwall.service.MediaService;
+import io.xhub.smwall.enumeration.MediaSource;
+import io.xhub.smwall.service.ingestion.FetchedPage;
+import io.xhub.smwall.service.ingestion.IncrementalFetcher;
+import io.xhub.smwall.service.ingestion.MediaIngestionQueue;
+import io.xhub.smwall.service.ingestion.SeenMediaIndex;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Profile;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.Collections;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Component
 @Slf4j
 @Profile(ProfileNames.YT)
 public class YoutubeScheduler {
-    private final MediaService mediaService;
+    private static final String YT_SHORTS_CURSOR = "yt:shorts";
+    private static final String YT_KEYWORD_VIDEOS_CURSOR = "yt:keyword-videos";
+    private static final String YT_CHANNEL_VIDEOS_CURSOR = "yt:channel-videos";
+    private final MediaIngestionQueue mediaIngestionQueue;
     private final YoutubeClient youtubeClient;
     private final YoutubeProperties youtubeProperties;
-    private final Cache processedMediaCache;
-    private final YoutubeMediaMapper youtubeMediaMapper;
+    private final SeenMediaIndex seenMediaIndex;
+    private final IncrementalFetcher incrementalFetcher;
 
-    public YoutubeScheduler(YoutubeProperties youtubeProperties, MediaService mediaService, YoutubeClient youtubeClient, CacheManager cacheManager, YoutubeMediaMapper youtubeMediaMapper) {
+    public YoutubeScheduler(YoutubeProperties youtubeProperties, MediaIngestionQueue mediaIngestionQueue, YoutubeClient youtubeClient, SeenMediaIndex seenMediaIndex, IncrementalFetcher incrementalFetcher) {
         this.youtubeProperties = youtubeProperties;
-        this.mediaService = mediaService;
+        this.mediaIngestionQueue = mediaIngestionQueue;
         this.youtubeClient = youtubeClient;
-        this.processedMediaCache = cacheManager.getCache(CacheNames.PROCESSED_YOUTUBE_MEDIA);
-        this.youtubeMediaMapper = youtubeMediaMapper;
+        this.seenMediaIndex = seenMediaIndex;
+        this.incrementalFetcher = incrementalFetcher;
     }
 
     @Scheduled(
@@ -44,20 +51,12 @@ public class YoutubeScheduler {
     public void getYoutubeChannelShorts() {
         try {
             log.info("Start getting youtube shorts by channel id");
-            List<YoutubeMediaDTO> newMedia = youtubeClient.getRecentChannelShorts(
-                            YoutubeSearchParams.getDefaultSearchParams(),
+            fetchNewYoutubeMedia(YT_SHORTS_CURSOR, "YouTube shorts", null,
+                    searchParams -> youtubeClient.getRecentChannelShorts(
+                            withDefaults(YoutubeSearchParams.getDefaultSearchParams(), searchParams),
                             youtubeProperties.getChannelId(),
                             youtubeProperties.getApiKey(),
-                            youtubeProperties.getSafeSearch())
-                    .getItems()
-                    .stream()
-                    .filter(this::isNewYoutubeMedia)
-                    .collect(Collectors.toList());
-
-            if (!newMedia.isEmpty()) {
-                log.info("Persisting {} new fetched YouTube shorts", newMedia.size());
-                mediaService.addAllMedia(youtubeMediaMapper.toEntity(newMedia));
-            }
+                            youtubeProperties.getSafeSearch()));
         } catch (Exception e) {
             log.error("Error while fetching youtube shorts: {}", e.getMessage());
         }
@@ -70,22 +69,12 @@ public class YoutubeScheduler {
         try {
             log.info("Start getting youtube videos by keyword");
 
-            List<YoutubeMediaDTO> newMedia = youtubeClient.getRecentChannelVideosByKeyword(
-                            YoutubeSearchParams.getVideoSearchParams(),
+            fetchNewYoutubeMedia(YT_KEYWORD_VIDEOS_CURSOR, "YouTube videos by keyword", youtubeProperties.getKeyword(),
+                    searchParams -> youtubeClient.getRecentChannelVideosByKeyword(
+                            withDefaults(YoutubeSearchParams.getVideoSearchParams(), searchParams),
                             youtubeProperties.getApiKey(),
                             youtubeProperties.getKeyword(),
-                            youtubeProperties.getSafeSearch())
-                    .getItems()
-                    .stream()
-                    .filter(this::isNewYoutubeMedia)
-                    .peek(youtubeMediaDTO -> youtubeMediaDTO.getSourceTypes()
-                            .add(youtubeProperties.getKeyword()))
-                    .collect(Collectors.toList());
-
-            if (!newMedia.isEmpty()) {
-                log.info("Persisting {} new fetched YouTube videos", newMedia.size());
-                mediaService.addAllMedia(youtubeMediaMapper.toEntity(newMedia));
-            }
+                            youtubeProperties.getSafeSearch()));
         } catch (Exception e) {
             log.error("Error while fetching youtube videos by keyword: {}", e.getMessage());
         }
@@ -98,28 +87,58 @@ public class YoutubeScheduler {
         try {
             log.info("Start getting youtube videos by channel id");
 
-            List<YoutubeMediaDTO> newMedia = youtubeClient.getRecentChannelVideosByChannelId(
-                            YoutubeSearchParams.getVideoSearchParams(),
+            fetchNewYoutubeMedia(YT_CHANNEL_VIDEOS_CURSOR, "YouTube videos by channel id", null,
+                    searchParams -> youtubeClient.getRecentChannelVideosByChannelId(
+                            withDefaults(YoutubeSearchParams.getVideoSearchParams(), searchParams),
                             youtubeProperties.getChannelId(),
                             youtubeProperties.getApiKey(),
-                            youtubeProperties.getSafeSearch())
-                    .getItems()
-                    .stream()
-                    .filter(this::isNewYoutubeMedia)
-                    .collect(Collectors.toList());
-
-            if (!newMedia.isEmpty()) {
-                log.info("Persisting {} new fetched YouTube videos", newMedia.size());
-                mediaService.addAllMedia(youtubeMediaMapper.toEntity(newMedia));
-            }
+                            youtubeProperties.getSafeSearch()));
         } catch (Exception e) {
             log.error("Error while fetching youtube videos by channel id: {}", e.getMessage());
         }
     }
 
-    private boolean isNewYoutubeMedia(YoutubeMediaDTO media) {
-        return processedMediaCache != null && processedMediaCache.putIfAbsent(media.getId().getVideoId(), true) == null;
+    private void fetchNewYoutubeMedia(String cursorId, String label, String sourceType, Function<Map<String, String>, YoutubeMediaResponse> search) {
+        // A backlog page token is only valid for the query that produced it, so keep its publishedAfter until drained
+        FetchCursor cursor = incrementalFetcher.findCursor(cursorId);
+        Instant publishedAfter = cursor.getBacklogPageCursor() != null ? cursor.getBacklogUntilTimestamp() : cursor.getLatestTimestamp();
+
+        incrementalFetcher.fetch(cursorId,
+                pageToken -> {
+                    Map<String, String> searchParams = new HashMap<>();
+                    if (publishedAfter != null) {
+                        searchParams.put("publishedAfter", publishedAfter.toString());
+                    }
+                    if (pageToken != null) {
+                        searchParams.put("pageToken", pageToken);
+                    }
+                    YoutubeMediaResponse response = search.apply(searchParams);
+                    return new FetchedPage<>(response.getItems() != null ? response.getItems() : List.of(), response.getNextPageToken());
+                },
+                media -> media.getId().getVideoId(),
+                media -> media.getSnippet() != null ? media.getSnippet().getPublishedAt() : null,
+                fetchedMedia -> {
+                    List<YoutubeMediaDTO> newMedia = fetchedMedia.stream()
+                            .filter(this::isNewYoutubeMedia)
+                            .toList();
+                    try {
+                        if (sourceType != null) {
+                            newMedia.forEach(youtubeMediaDTO -> youtubeMediaDTO.getSourceTypes().add(sourceType));
+                        }
+                        mediaIngestionQueue.enqueueYoutubeMedia(label, newMedia);
+                    } catch (RuntimeException e) {
+                        newMedia.forEach(media -> seenMediaIndex.forget(MediaSource.YOUTUBE, media.getId().getVideoId()));
+                        throw e;
+                    }
+                });
     }
-}
 
+    private static Map<String, String> withDefaults(Map<String, String> defaults, Map<String, String> searchParams) {
+        defaults.putAll(searchParams);
+        return defaults;
+    }
 
+    private boolean isNewYoutubeMedia(YoutubeMediaDTO media) {
+        return seenMediaIndex.markIfNew(MediaSource.YOUTUBE, media.getId().getVideoId());
+    }
+}
@@ -0,0 +1,82 @@
+package io.xhub.smwall.service;
+
+import com.querydsl.core.types.Predicate;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.utlis.SearchTokenUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.repository.support.SpringDataMongodbSerializer;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Slf4j
+public class MediaSearchService {
+    private static final String SCORE = "score";
+
+    private final MongoTemplate mongoTemplate;
+    private final SpringDataMongodbSerializer serializer;
+
+    public MediaSearchService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.serializer = new SpringDataMongodbSerializer(mongoTemplate.getConverter());
+    }
+
+    public Page<Media> searchMedia(String q, Predicate predicate, Pageable pageable) {
+        log.info("Start searching media for '{}'", q);
+        Document queryObject = buildSearchQuery(q, predicate);
+
+        BasicQuery query;
+        if (queryObject.containsKey("$text")) {
+            Document textScore = new Document(SCORE, new Document("$meta", "textScore"));
+            query = new BasicQuery(queryObject, textScore);
+            query.setSortObject(new Document(textScore).append("timestamp", -1));
+        } else {
+            query = new BasicQuery(queryObject);
+            query.with(pageable.getSort().isSorted() ? pageable.getSort() : Sort.by(Sort.Direction.DESC, "timestamp"));
+        }
+        query.skip(pageable.getOffset()).limit(pageable.getPageSize());
+
+        List<Media> media = mongoTemplate.find(query, Media.class);
+        return PageableExecutionUtils.getPage(media, pageable, () -> mongoTemplate.count(new BasicQuery(queryObject), Media.class));
+    }
+
+    /**
+     * Matches {@code #tag} and {@code @mention} terms as search token prefixes and the remaining words against
+     * the text index, on top of the given predicate.
+     */
+    public Document buildSearchQuery(String q, Predicate predicate) {
+        Document filter = predicate != null ? (Document) serializer.handle(predicate) : new Document();
+
+        List<Document> tokenPrefixes = new ArrayList<>();
+        StringBuilder words = new StringBuilder();
+        for (String term : q.trim().split("\\s+")) {
+            if (term.length() > 1 && (term.startsWith("#") || term.startsWith("@"))) {
+                String prefix = SearchTokenUtils.normalize(term);
+                tokenPrefixes.add(new Document("searchTokens", new Document("$elemMatch",
+                        new Document("$gte", prefix).append("$lt", prefix + Character.MAX_VALUE))));
+            } else if (!term.isEmpty()) {
+                words.append(term).append(' ');
+            }
+        }
+
+        List<Document> clauses = new ArrayList<>();
+        if (!filter.isEmpty()) {
+            clauses.add(filter);
+        }
+        clauses.addAll(tokenPrefixes);
+        Document queryObject = clauses.isEmpty() ? new Document() : new Document("$and", clauses);
+        if (words.length() > 0) {
+            queryObject.append("$text", new Document("$search", words.toString().trim()));
+        }
+        return queryObject;
+    }
+}
@@ -1,13 +1,17 @@
 package io.xhub.smwall.service;
 
+import com.mongodb.bulk.BulkWriteResult;
 import com.querydsl.core.types.Predicate;
 import io.xhub.smwall.constants.ApiClientErrorCodes;
 import io.xhub.smwall.domains.Media;
 import io.xhub.smwall.events.media.MediaCreatedEvent;
+import io.xhub.smwall.events.media.MediaHiddenEvent;
+import io.xhub.smwall.events.media.MediaUpdatedEvent;
 import io.xhub.smwall.exceptions.BusinessException;
-import io.xhub.smwall.filter.ContentTextFiltering;
-import io.xhub.smwall.filter.filterMedia.FilterMedia;
+import io.xhub.smwall.filter.ModerationPipeline;
 import io.xhub.smwall.repositories.MediaRepository;
+import io.xhub.smwall.service.ingestion.MediaIngestionResult;
+import io.xhub.smwall.utlis.SearchTokenUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
@@ -16,7 +20,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -26,9 +33,7 @@ public class MediaService {
     private final ApplicationEventPublisher eventPublisher;
     private final MediaRepository mediaRepository;
     private final WebSocketService webSocketService;
-    private final ContentTextFiltering contentTextFiltering;
-
-    private final FilterMedia filterMedia;
+    private final ModerationPipeline moderationPipeline;
 
     @Transactional(readOnly = true)
     public Page<Media> getAllMedia(Predicate predicate, Pageable pageable) {
@@ -55,6 +60,7 @@ public class MediaService {
             log.info("Cannot pin a media with hidden status");
             throw new BusinessException(ApiClientErrorCodes.MEDIA_HIDDEN.getErrorMessage());
         } else {
+            List<Media> updatedMedia = new ArrayList<>();
             if (mediaToToggle.getPinned()) {
                 mediaToToggle.setPinned(false);
             } else {
@@ -64,12 +70,15 @@ public class MediaService {
                 if (currentlyPinnedMedia != null) {
                     currentlyPinnedMedia.setPinned(false);
                     mediaRepository.save(currentlyPinnedMedia);
+                    updatedMedia.add(currentlyPinnedMedia);
                 }
 
                 mediaToToggle.setPinned(true);
             }
 
             mediaRepository.save(mediaToToggle);
+            updatedMedia.add(mediaToToggle);
+            eventPublisher.publishEvent(new MediaUpdatedEvent(this, updatedMedia));
             webSocketService.sendMediaPinningStatus(mediaToToggle);
         }
     }
@@ -82,21 +91,47 @@ public class MediaService {
         }
         mediaToToggle.setHidden(!mediaToToggle.getHidden());
         mediaRepository.save(mediaToToggle);
+        if (mediaToToggle.getHidden()) {
+            eventPublisher.publishEvent(new MediaHiddenEvent(this, List.of(mediaToToggle.getId())));
+        } else {
+            eventPublisher.publishEvent(new MediaUpdatedEvent(this, List.of(mediaToToggle)));
+        }
         webSocketService.sendNewMediaVisibilityStatus(mediaToToggle);
     }
 
-    public void addAllMedia(List<Media> mediaList) {
+    public MediaIngestionResult addAllMedia(List<Media> mediaList) {
         log.info("Start creating all media");
-        for (Media media : mediaList) {
-            if (Boolean.TRUE.equals(mediaRepository.findByIdAndAnalyzedTrue(media.getId()))) {
-                log.info("this media {} already analyzed !", media.getId());
-            } else {
-                Boolean textFilter = contentTextFiltering.textFiltering(media);
-                if (Boolean.TRUE.equals(textFilter))
-                    filterMedia.filterContent(media);
-                media.setAnalyzed(Boolean.TRUE);
-            }
+        Set<String> analyzedIds = findAnalyzedIds(mediaList);
+        List<Media> mediaToWrite = mediaList.stream()
+                .filter(media -> !analyzedIds.contains(media.getId()))
+                .toList();
+
+        if (mediaToWrite.isEmpty()) {
+            log.info("All {} media already analyzed", mediaList.size());
+            return MediaIngestionResult.skippedAll(mediaList.size());
         }
-        eventPublisher.publishEvent(new MediaCreatedEvent(this, mediaRepository.saveAll(mediaList)));
+
+        moderationPipeline.moderate(mediaToWrite);
+        mediaToWrite.forEach(media -> media.setSearchTokens(SearchTokenUtils.tokensOf(media)));
+
+        BulkWriteResult writeResult = mediaRepository.upsertAll(mediaToWrite);
+        eventPublisher.publishEvent(new MediaCreatedEvent(this, mediaToWrite));
+
+        return new MediaIngestionResult(
+                writeResult.getUpserts().size(),
+                writeResult.getMatchedCount(),
+                mediaList.size() - mediaToWrite.size()
+        );
+    }
+
+    private Set<String> findAnalyzedIds(List<Media> mediaList) {
+        List<String> ids = mediaList.stream()
+                .map(Media::getId)
+                .toList();
+
+        return mediaRepository.findAnalyzedIdsByIdIn(ids)
+                .stream()
+                .map(Media::getId)
+                .collect(Collectors.toSet());
     }
 }
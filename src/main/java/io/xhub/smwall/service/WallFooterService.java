@@ -9,6 +9,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
@@ -19,6 +21,10 @@ public class WallFooterService {
 
     public WallFooter getWallFooterInfo() throws BusinessException {
         log.info("Start fetching wall footer information");
-        return wallFooterRepository.findFirstByIdIsNotNullOrderByTimestampDesc().orElseThrow(() -> new BusinessException(ApiClientErrorCodes.WALL_FOOTER_NOT_FOUND.getErrorMessage()));
+        return findWallFooter().orElseThrow(() -> new BusinessException(ApiClientErrorCodes.WALL_FOOTER_NOT_FOUND.getErrorMessage()));
+    }
+
+    public Optional<WallFooter> findWallFooter() {
+        return wallFooterRepository.findFirstByIdIsNotNullOrderByTimestampDesc();
     }
 }
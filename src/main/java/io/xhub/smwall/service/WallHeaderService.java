@@ -9,6 +9,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
@@ -19,6 +21,10 @@ public class WallHeaderService {
 
     public WallHeader getWallHeaderInfo() throws BusinessException {
         log.info("Start fetching wall header information");
-        return wallHeaderRepository.findFirstByIdIsNotNullOrderByTimestampDesc().orElseThrow(() -> new BusinessException(ApiClientErrorCodes.WALL_HEADER_NOT_FOUND.getErrorMessage()));
+        return findWallHeader().orElseThrow(() -> new BusinessException(ApiClientErrorCodes.WALL_HEADER_NOT_FOUND.getErrorMessage()));
+    }
+
+    public Optional<WallHeader> findWallHeader() {
+        return wallHeaderRepository.findFirstByIdIsNotNullOrderByTimestampDesc();
     }
 }
@@ -3,11 +3,16 @@ package io.xhub.smwall.service;
 import io.xhub.smwall.commands.WallSettingAddCommand;
 import io.xhub.smwall.commands.WallSettingUpdateCommand;
 import io.xhub.smwall.constants.ApiClientErrorCodes;
+import io.xhub.smwall.constants.CacheNames;
+import io.xhub.smwall.domains.BinaryImage;
 import io.xhub.smwall.domains.WallSetting;
 import io.xhub.smwall.exceptions.BusinessException;
 import io.xhub.smwall.repositories.WallSettingRepository;
+import io.xhub.smwall.service.blob.ImageContent;
+import io.xhub.smwall.service.blob.ImageStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,25 +24,48 @@ import java.io.IOException;
 @Slf4j
 public class WallService {
     private final WallSettingRepository wallSettingRepository;
+    private final ImageStore imageStore;
 
+    @CacheEvict(cacheNames = CacheNames.WALL_SETTINGS, allEntries = true)
     public WallSetting addWallSetting(WallSettingAddCommand command) {
         log.info("Start creating wall setting");
 
         try {
-            return wallSettingRepository.save(WallSetting.create(command));
+            BinaryImage logo = imageStore.store(command.getLogo());
+            try {
+                return wallSettingRepository.save(WallSetting.create(command, logo));
+            } catch (RuntimeException e) {
+                imageStore.delete(logo);
+                throw e;
+            }
         } catch (IOException e) {
             throw new BusinessException(ApiClientErrorCodes.INVALID_COMMAND_ARGS.getErrorMessage());
         }
     }
 
+    @CacheEvict(cacheNames = CacheNames.WALL_SETTINGS, allEntries = true)
     public WallSetting updateWallSetting(String id, WallSettingUpdateCommand command) {
         log.info("Start partially updating wall setting");
 
         try {
             WallSetting wallSetting = getWallSettingById(id);
-            wallSetting.update(command);
+            BinaryImage previousLogo = wallSetting.getLogo();
+            BinaryImage logo = command.getLogo() == null ? null : imageStore.store(command.getLogo());
+            wallSetting.update(command, logo);
 
-            return wallSettingRepository.save(wallSetting);
+            WallSetting updatedWallSetting;
+            try {
+                updatedWallSetting = wallSettingRepository.save(wallSetting);
+            } catch (RuntimeException e) {
+                if (logo != null) {
+                    imageStore.delete(logo);
+                }
+                throw e;
+            }
+            if (logo != null && previousLogo != null) {
+                imageStore.delete(previousLogo);
+            }
+            return updatedWallSetting;
         } catch (IOException e) {
             throw new BusinessException(ApiClientErrorCodes.INVALID_COMMAND_ARGS.getErrorMessage());
         }
@@ -51,6 +79,21 @@ public class WallService {
                 .orElse(null);
     }
 
+    @CacheEvict(cacheNames = CacheNames.WALL_SETTINGS, allEntries = true)
+    public void evictLatestWallSetting() {
+        log.info("Start evicting cached wall setting");
+    }
+
+    @Transactional(readOnly = true)
+    public ImageContent getWallSettingLogo(String hash, Integer size) {
+        log.info("Start getting wall setting logo '{}'", hash);
+
+        return wallSettingRepository.findFirstByLogoHash(hash)
+                .map(WallSetting::getLogo)
+                .map(logo -> imageStore.open(logo, size))
+                .orElseThrow(() -> new BusinessException(ApiClientErrorCodes.WALL_SETTING_LOGO_NOT_FOUND.getErrorMessage()));
+    }
+
     @Transactional(readOnly = true)
     public WallSetting getWallSettingById(String id) {
         log.info("Start getting wall setting by ID");
@@ -3,6 +3,7 @@ package io.xhub.smwall.service;
 import io.xhub.smwall.constants.WebSocketPaths;
 import io.xhub.smwall.domains.Media;
 import io.xhub.smwall.mappers.MediaMapper;
+import io.xhub.smwall.websocket.MediaDelta;
 import io.xhub.smwall.websocket.Payload;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,8 +33,8 @@ public class WebSocketService {
         simpMessagingTemplate.convertAndSend(WebSocketPaths.TOPIC + WebSocketPaths.CLOSEST_ANNOUNCEMENT, payload);
     }
 
-    public void broadcastMedia(Payload payload) {
-        log.info("Broadcasting media: {}", payload);
-        simpMessagingTemplate.convertAndSend(WebSocketPaths.TOPIC + WebSocketPaths.WS + WebSocketPaths.MEDIA, payload);
+    public void broadcastMediaDelta(MediaDelta delta) {
+        log.info("Broadcasting media delta {}: {} upserted, {} removed", delta.getSeq(), delta.getUpserted().size(), delta.getRemoved().size());
+        simpMessagingTemplate.convertAndSend(WebSocketPaths.TOPIC + WebSocketPaths.WS + WebSocketPaths.MEDIA, delta);
     }
 }
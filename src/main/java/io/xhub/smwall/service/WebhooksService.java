@@ -1,37 +1,76 @@
 package io.xhub.smwall.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.xhub.smwall.config.MetaProperties;
 import io.xhub.smwall.config.YoutubeProperties;
+import io.xhub.smwall.dto.meta.MetaWebhookChangeDTO;
+import io.xhub.smwall.dto.meta.MetaWebhookChangeValueDTO;
+import io.xhub.smwall.dto.meta.MetaWebhookEntryDTO;
+import io.xhub.smwall.dto.meta.MetaWebhookNotificationDTO;
 import io.xhub.smwall.exceptions.BusinessException;
 import io.xhub.smwall.constants.ApiClientErrorCodes;
+import io.xhub.smwall.service.ingestion.MetaWebhookIngestionWorker;
+import io.xhub.smwall.service.ingestion.YoutubeHubSubscriptionManager;
+import io.xhub.smwall.service.ingestion.YoutubeWebhookIngestionWorker;
+import io.xhub.smwall.utlis.HashUtils;
+import io.xhub.smwall.utlis.YoutubeFeedUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
 
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Objects;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WebhooksService {
+    private static final String SIGNATURE_PREFIX = "sha256=";
+    private static final String YOUTUBE_SIGNATURE_PREFIX = "sha1=";
+    private static final String MENTIONS_FIELD = "mentions";
     private final MetaProperties metaProperties;
     private final YoutubeProperties youtubeProperties;
+    private final MetaWebhookIngestionWorker metaWebhookIngestionWorker;
+    private final YoutubeWebhookIngestionWorker youtubeWebhookIngestionWorker;
+    private final YoutubeHubSubscriptionManager youtubeHubSubscriptionManager;
+    private final ObjectMapper objectMapper;
 
     public void verifyMetaNotification(String mode, String verifyToken) {
         log.info("Start verifying Meta subscription with mode {} and verifyToken {} :", mode, verifyToken);
         verifySubscription(mode, verifyToken, metaProperties.getVerifyToken());
     }
 
-    public void handleMetaNotification(String payload) {
-        log.info("Handling Meta notification: " + payload);
+    public void handleMetaNotification(byte[] payload, String signature) {
+        verifyMetaSignature(payload, signature);
+        List<String> mediaIds = extractMediaIds(payload);
+        log.info("Handling Meta notification referencing {} media", mediaIds.size());
+        metaWebhookIngestionWorker.enqueue(mediaIds);
     }
 
-    public void verifyYouTubeSubscription(String mode, String verifyToken) {
+    public void verifyYouTubeSubscription(String mode, String verifyToken, Long leaseSeconds) {
         log.info("Start verifying subscription with mode {} and verifyToken {} :", mode, verifyToken);
         verifySubscription(mode, verifyToken, youtubeProperties.getVerifyToken());
+        youtubeHubSubscriptionManager.confirmLease(leaseSeconds);
     }
 
-    public void handleYouTubeNotification(String payload) {
-        log.info("Handling YouTube notification: " + payload);
+    public void handleYouTubeNotification(byte[] payload, String signature) {
+        if (!isValidYouTubeSignature(payload, signature)) {
+            // The hub expects a 2xx even for notifications it will not redeliver, so drop them silently
+            log.warn("Ignoring YouTube notification with an invalid signature");
+            return;
+        }
+        try {
+            List<String> videoIds = YoutubeFeedUtils.extractVideoIds(payload);
+            log.info("Handling YouTube notification referencing {} videos", videoIds.size());
+            youtubeWebhookIngestionWorker.enqueue(videoIds);
+        } catch (XMLStreamException e) {
+            log.warn("Ignoring malformed YouTube notification: {}", e.getMessage());
+        }
     }
 
     private void verifySubscription(String mode, String verifyToken, String tokenToVerifyWith) {
@@ -40,4 +79,48 @@ public class WebhooksService {
         }
     }
 
+    private void verifyMetaSignature(byte[] payload, String signature) {
+        if (StringUtils.isBlank(metaProperties.getAppSecret()) || !StringUtils.startsWith(signature, SIGNATURE_PREFIX)) {
+            throw new BusinessException(ApiClientErrorCodes.WEBHOOKS_SIGNATURE_INVALID.getErrorMessage());
+        }
+        String expected = HashUtils.hmacSha256(metaProperties.getAppSecret(), payload);
+        String actual = signature.substring(SIGNATURE_PREFIX.length()).toLowerCase();
+        if (!MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII), actual.getBytes(StandardCharsets.US_ASCII))) {
+            throw new BusinessException(ApiClientErrorCodes.WEBHOOKS_SIGNATURE_INVALID.getErrorMessage());
+        }
+    }
+
+    private boolean isValidYouTubeSignature(byte[] payload, String signature) {
+        String secret = youtubeProperties.getHub().getSecret();
+        if (StringUtils.isBlank(secret)) {
+            return true;
+        }
+        if (!StringUtils.startsWith(signature, YOUTUBE_SIGNATURE_PREFIX)) {
+            return false;
+        }
+        String expected = HashUtils.hmacSha1(secret, payload);
+        String actual = signature.substring(YOUTUBE_SIGNATURE_PREFIX.length()).toLowerCase();
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII), actual.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private List<String> extractMediaIds(byte[] payload) {
+        try {
+            MetaWebhookNotificationDTO notification = objectMapper.readValue(payload, MetaWebhookNotificationDTO.class);
+            // Only caption mentions reference a post of another account worth showing, comments are on our own media
+            return notification.getEntry().stream()
+                    .map(MetaWebhookEntryDTO::getChanges)
+                    .filter(Objects::nonNull)
+                    .flatMap(List::stream)
+                    .filter(change -> MENTIONS_FIELD.equals(change.getField()))
+                    .map(MetaWebhookChangeDTO::getValue)
+                    .filter(value -> value != null && value.isCaptionMention())
+                    .map(MetaWebhookChangeValueDTO::getMediaId)
+                    .distinct()
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Ignoring malformed Meta notification: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
 }
@@ -0,0 +1,52 @@
+package io.xhub.smwall.service.batch;
+
+import io.xhub.smwall.config.MediaCleanupProperties;
+import io.xhub.smwall.domains.MediaLiveness;
+import io.xhub.smwall.enumeration.UrlStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+@RequiredArgsConstructor
+public class LivenessPolicy {
+    private final MediaCleanupProperties properties;
+
+    public MediaLiveness next(MediaLiveness previous, UrlStatus status, Instant mediaTimestamp, Instant now) {
+        int failures = previous != null ? previous.getConsecutiveFailures() : 0;
+        Duration interval;
+        switch (status) {
+            case ALIVE -> {
+                failures = 0;
+                interval = aliveInterval(mediaTimestamp, now);
+            }
+            case DEAD -> {
+                failures++;
+                interval = failureInterval(failures);
+            }
+            default -> interval = failureInterval(Math.max(1, failures));
+        }
+        return new MediaLiveness(now, status, failures, now.plus(interval));
+    }
+
+    public boolean shouldDelete(MediaLiveness liveness) {
+        return liveness.getLastStatus() == UrlStatus.DEAD && liveness.getConsecutiveFailures() >= properties.getDeleteAfterFailures();
+    }
+
+    private Duration aliveInterval(Instant mediaTimestamp, Instant now) {
+        long ageSeconds = mediaTimestamp != null ? Math.max(0, Duration.between(mediaTimestamp, now).getSeconds()) : 0;
+        long intervalSeconds = (long) (ageSeconds * properties.getRecheckAgeRatio());
+        return Duration.ofSeconds(clamp(intervalSeconds));
+    }
+
+    private Duration failureInterval(int failures) {
+        long intervalSeconds = properties.getFailureBackoff() << Math.min(failures - 1, 20);
+        return Duration.ofSeconds(clamp(intervalSeconds));
+    }
+
+    private long clamp(long intervalSeconds) {
+        return Math.max(properties.getMinRecheckInterval(), Math.min(properties.getMaxRecheckInterval(), intervalSeconds));
+    }
+}
@@ -1,33 +1,118 @@
 package io.xhub.smwall.service.batch;
 
+import io.xhub.smwall.config.MediaCleanupProperties;
+import io.xhub.smwall.domains.JobCheckpoint;
 import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.enumeration.UrlStatus;
+import io.xhub.smwall.events.media.MediaDeletedEvent;
+import io.xhub.smwall.repositories.JobCheckpointRepository;
 import io.xhub.smwall.repositories.MediaRepository;
-import io.xhub.smwall.utlis.URLUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MediaCleanupService {
+    private static final String CHECKPOINT_ID = "mediaCleanup";
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final MongoTemplate mongoTemplate;
     private final MediaRepository mediaRepository;
-    private int deletedMediaCount = 0;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final UrlLivenessChecker urlLivenessChecker;
+    private final LivenessPolicy livenessPolicy;
+    private final MediaCleanupProperties mediaCleanupProperties;
+    private final AtomicBoolean running = new AtomicBoolean();
 
-    @Scheduled(cron = "0 0 0,12 * * *")
+    @Scheduled(cron = "${application.media-cleanup.cron:0 0 * * * *}")
     public void deleteInvalidMedia() {
-        log.info("Start media cleanup");
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Media cleanup is already running");
+            return;
+        }
+        try {
+            cleanup();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void cleanup() {
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(CHECKPOINT_ID)
+                .orElseGet(() -> new JobCheckpoint(CHECKPOINT_ID, null, null));
+        log.info("Start media cleanup of due media{}", checkpoint.getLastId() != null ? " from media " + checkpoint.getLastId() : "");
+
+        // Each page is a fresh keyset query: a cursor held open across a page of slow URL checks would outlive
+        // the server's idle cursor timeout
+        Instant startedAt = Instant.now();
+        int checkedMediaCount = 0;
+        int deletedMediaCount = 0;
+        List<Media> page;
+        do {
+            page = mongoTemplate.find(pageQuery(checkpoint.getLastId(), startedAt), Media.class);
+            if (!page.isEmpty()) {
+                deletedMediaCount += cleanupPage(page, checkpoint);
+                checkedMediaCount += page.size();
+            }
+        } while (page.size() == mediaCleanupProperties.getPageSize());
 
-        Iterable<Media> allMedia = mediaRepository.findAll();
+        jobCheckpointRepository.deleteById(CHECKPOINT_ID);
+        log.info("Media cleanup completed. {} media checked, {} media deleted", checkedMediaCount, deletedMediaCount);
+    }
 
-        for (Media media : allMedia) {
-            if (!URLUtils.isURLValid(media.getUrl())) {
-                mediaRepository.delete(media);
-                deletedMediaCount++;
+    private Query pageQuery(String lastId, Instant dueAt) {
+        Query query = new Query()
+                .addCriteria(new Criteria().orOperator(
+                        Criteria.where("liveness.nextCheckAt").lte(dueAt),
+                        Criteria.where("liveness.nextCheckAt").exists(false)
+                ))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(mediaCleanupProperties.getPageSize());
+        if (lastId != null) {
+            query.addCriteria(Criteria.where("_id").gt(lastId));
+        }
+        query.fields().include("_id", "url", "timestamp", "liveness");
+        return query;
+    }
+
+    private int cleanupPage(List<Media> page, JobCheckpoint checkpoint) {
+        List<UrlStatus> statuses = urlLivenessChecker.checkAll(page.stream().map(Media::getUrl).toList());
+        Instant now = Instant.now();
+        List<String> deadMediaIds = new ArrayList<>();
+        List<Media> checkedMedia = new ArrayList<>();
+        for (int i = 0; i < page.size(); i++) {
+            Media media = page.get(i);
+            media.setLiveness(livenessPolicy.next(media.getLiveness(), statuses.get(i), media.getTimestamp(), now));
+            if (livenessPolicy.shouldDelete(media.getLiveness())) {
+                deadMediaIds.add(media.getId());
+            } else {
+                checkedMedia.add(media);
             }
         }
+        if (!deadMediaIds.isEmpty()) {
+            mediaRepository.deleteAllById(deadMediaIds);
+            eventPublisher.publishEvent(new MediaDeletedEvent(this, deadMediaIds));
+        }
+        if (!checkedMedia.isEmpty()) {
+            mediaRepository.updateLiveness(checkedMedia);
+        }
 
-        log.info("Media cleanup completed. Total media deleted: {}", deletedMediaCount);
+        checkpoint.setLastId(page.get(page.size() - 1).getId());
+        checkpoint.setUpdatedAt(Instant.now());
+        jobCheckpointRepository.save(checkpoint);
+        return deadMediaIds.size();
     }
 }
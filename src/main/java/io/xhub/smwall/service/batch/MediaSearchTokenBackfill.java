@@ -0,0 +1,56 @@
+package io.xhub.smwall.service.batch;
+
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.utlis.SearchTokenUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MediaSearchTokenBackfill {
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSearchTokens() {
+        Query query = Query.query(Criteria.where("searchTokens").exists(false)).cursorBatchSize(BATCH_SIZE);
+        query.fields().include("_id", "text", "owner", "sourceTypes");
+
+        int updated = 0;
+        List<Media> batch = new ArrayList<>(BATCH_SIZE);
+        try (Stream<Media> mediaStream = mongoTemplate.stream(query, Media.class)) {
+            Iterator<Media> iterator = mediaStream.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == BATCH_SIZE || !iterator.hasNext()) {
+                    BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Media.class);
+                    batch.forEach(media -> bulkOperations.updateOne(
+                            Query.query(Criteria.where("_id").is(media.getId())),
+                            Update.update("searchTokens", SearchTokenUtils.tokensOf(media))
+                    ));
+                    bulkOperations.execute();
+                    updated += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        if (updated > 0) {
+            log.info("Search tokens backfilled for {} media", updated);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.xhub.smwall.service.batch;
+
+import io.xhub.smwall.config.ModerationProperties;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.events.media.MediaUpdatedEvent;
+import io.xhub.smwall.filter.ModerationPipeline;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moderates again the media a previous run could not decide on (timeouts, failed downloads, unreadable images).
+ * They stay hidden until a verdict is reached, and are given up on after {@code maxAttempts} runs.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PendingModerationRetry {
+    private final MongoTemplate mongoTemplate;
+    private final ModerationPipeline moderationPipeline;
+    private final ModerationProperties moderationProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Scheduled(fixedDelayString = "${application.moderation.retry.interval}", initialDelayString = "${application.moderation.retry.interval}", timeUnit = TimeUnit.SECONDS)
+    public void retryPendingMedia() {
+        ModerationProperties.Retry retry = moderationProperties.getRetry();
+        Query query = Query.query(Criteria.where("analyzed").is(false)
+                        .and("hidden").is(true)
+                        .orOperator(
+                                Criteria.where("moderationAttempts").lt(retry.getMaxAttempts()),
+                                Criteria.where("moderationAttempts").exists(false)
+                        ))
+                .with(Sort.by(Sort.Direction.DESC, "timestamp"))
+                .limit(retry.getBatchSize());
+        List<Media> pendingMedia = mongoTemplate.find(query, Media.class);
+        if (pendingMedia.isEmpty()) {
+            return;
+        }
+
+        log.info("Start retrying moderation of {} pending media", pendingMedia.size());
+        pendingMedia.forEach(media -> media.setModerationAttempts(media.getModerationAttempts() == null ? 1 : media.getModerationAttempts() + 1));
+        moderationPipeline.moderate(pendingMedia);
+
+        // A moderator who changed the visibility in the meantime wins over the retry, and the media is not republished
+        List<Media> moderatedMedia = new ArrayList<>();
+        for (Media media : pendingMedia) {
+            long modified = mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(media.getId()).and("analyzed").is(false).and("hidden").is(true)),
+                    new Update()
+                            .set("clean", media.getClean())
+                            .set("hidden", media.getHidden())
+                            .set("analyzed", media.getAnalyzed())
+                            .set("moderationAttempts", media.getModerationAttempts()),
+                    Media.class
+            ).getModifiedCount();
+            if (modified == 1 && Boolean.TRUE.equals(media.getAnalyzed())) {
+                moderatedMedia.add(media);
+            }
+        }
+        log.info("{} of {} pending media were moderated", moderatedMedia.size(), pendingMedia.size());
+        if (!moderatedMedia.isEmpty()) {
+            eventPublisher.publishEvent(new MediaUpdatedEvent(this, moderatedMedia));
+        }
+    }
+}
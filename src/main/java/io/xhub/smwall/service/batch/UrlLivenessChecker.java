@@ -0,0 +1,106 @@
+package io.xhub.smwall.service.batch;
+
+import io.xhub.smwall.config.MediaCleanupProperties;
+import io.xhub.smwall.enumeration.UrlStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+@Component
+@Slf4j
+public class UrlLivenessChecker {
+    private final MediaCleanupProperties properties;
+    private final ExecutorService executor;
+    // Checks park on the per-host permits and then block in send(); if the client ran on the same pool, a pool
+    // full of waiting checks would have no thread left to complete the requests that release those permits
+    private final ExecutorService httpExecutor = Executors.newCachedThreadPool(new CustomizableThreadFactory("smwall-url-check-http-"));
+    private final HttpClient httpClient;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    public UrlLivenessChecker(MediaCleanupProperties properties) {
+        this.properties = properties;
+        this.executor = Executors.newFixedThreadPool(
+                properties.getConcurrency(),
+                new CustomizableThreadFactory("smwall-url-check-")
+        );
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(properties.getConnectTimeout()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(httpExecutor)
+                .build();
+    }
+
+    public List<UrlStatus> checkAll(List<String> urls) {
+        List<CompletableFuture<UrlStatus>> checks = urls.stream()
+                .map(url -> CompletableFuture.supplyAsync(() -> check(url), executor))
+                .toList();
+        return checks.stream().map(CompletableFuture::join).toList();
+    }
+
+    private UrlStatus check(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return UrlStatus.DEAD;
+        }
+        if (uri.getHost() == null) {
+            return UrlStatus.DEAD;
+        }
+
+        Semaphore permits = hostPermits.computeIfAbsent(uri.getHost(), host -> new Semaphore(properties.getPerHostConcurrency()));
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return UrlStatus.UNKNOWN;
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .timeout(Duration.ofSeconds(properties.getRequestTimeout()))
+                    .build();
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return toUrlStatus(status);
+        } catch (IOException e) {
+            log.debug("Failed to check {}: {}", url, e.getMessage());
+            return UrlStatus.UNKNOWN;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return UrlStatus.UNKNOWN;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private UrlStatus toUrlStatus(int status) {
+        if (status / 100 == 2) {
+            return UrlStatus.ALIVE;
+        }
+        if (status == 429 || status >= 500) {
+            return UrlStatus.UNKNOWN;
+        }
+        return UrlStatus.DEAD;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        httpExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,65 @@
+package io.xhub.smwall.service.batch;
+
+import io.xhub.smwall.domains.BinaryImage;
+import io.xhub.smwall.domains.WallSetting;
+import io.xhub.smwall.service.WallService;
+import io.xhub.smwall.service.blob.ImageStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WallLogoBlobMigration {
+    private final MongoTemplate mongoTemplate;
+    private final ImageStore imageStore;
+    private final WallService wallService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateInlineLogos() {
+        Query query = Query.query(Criteria.where("logo.value").exists(true));
+        String collection = mongoTemplate.getCollectionName(WallSetting.class);
+
+        int migrated = 0;
+        try (Stream<Document> wallSettings = mongoTemplate.stream(query, Document.class, collection)) {
+            Iterator<Document> iterator = wallSettings.iterator();
+            while (iterator.hasNext()) {
+                Document wallSetting = iterator.next();
+                Document inlineLogo = wallSetting.get("logo", Document.class);
+                try {
+                    BinaryImage logo = imageStore.store(
+                            new ByteArrayInputStream(inlineLogo.get("value", Binary.class).getData()),
+                            inlineLogo.getString("filename"),
+                            inlineLogo.getString("contentType")
+                    );
+                    mongoTemplate.updateFirst(
+                            Query.query(Criteria.where("_id").is(wallSetting.get("_id"))),
+                            Update.update("logo", logo),
+                            WallSetting.class
+                    );
+                    migrated++;
+                } catch (IOException e) {
+                    log.error("Failed to migrate logo of wall setting '{}': {}", wallSetting.get("_id"), e.getMessage());
+                }
+            }
+        }
+        if (migrated > 0) {
+            wallService.evictLatestWallSetting();
+            log.info("Inline logos moved to blob store for {} wall settings", migrated);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.xhub.smwall.service.blob;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Re-openable view of a stored blob, so byte-range responses can read it more than once.
+ */
+public class BlobResource extends AbstractResource {
+    private final BlobStore blobStore;
+    private final String blobId;
+    private final long length;
+
+    public BlobResource(BlobStore blobStore, String blobId, long length) {
+        this.blobStore = blobStore;
+        this.blobId = blobId;
+        this.length = length;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Blob [" + blobId + "]";
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return blobStore.open(blobId);
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return length;
+    }
+}
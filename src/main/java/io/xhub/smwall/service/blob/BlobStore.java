@@ -0,0 +1,18 @@
+package io.xhub.smwall.service.blob;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BlobStore {
+    /**
+     * Streams the content into the store, hashing it on the way, without buffering it in memory.
+     */
+    StoredBlob store(InputStream content, String filename, String contentType) throws IOException;
+
+    /**
+     * @throws java.io.FileNotFoundException if no blob exists with the given id
+     */
+    InputStream open(String id) throws IOException;
+
+    void delete(String id) throws IOException;
+}
@@ -0,0 +1,54 @@
+package io.xhub.smwall.service.blob;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+public class FileSystemBlobStore implements BlobStore {
+    private final Path directory;
+
+    public FileSystemBlobStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    @Override
+    public StoredBlob store(InputStream content, String filename, String contentType) throws IOException {
+        String id = UUID.randomUUID().toString();
+        Path temporaryFile = Files.createTempFile(directory, id, ".tmp");
+        try {
+            HashingInputStream hashingContent = new HashingInputStream(content);
+            Files.copy(hashingContent, temporaryFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temporaryFile, resolve(id), StandardCopyOption.ATOMIC_MOVE);
+            return new StoredBlob(id, hashingContent.hash(), hashingContent.length());
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    @Override
+    public InputStream open(String id) throws IOException {
+        try {
+            return Files.newInputStream(resolve(id));
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(id);
+        }
+    }
+
+    @Override
+    public void delete(String id) throws IOException {
+        Files.deleteIfExists(resolve(id));
+    }
+
+    private Path resolve(String id) throws FileNotFoundException {
+        Path file = directory.resolve(id).normalize();
+        if (!file.getParent().equals(directory.normalize())) {
+            throw new FileNotFoundException(id);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,42 @@
+package io.xhub.smwall.service.blob;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+@RequiredArgsConstructor
+public class GridFsBlobStore implements BlobStore {
+    private final GridFsTemplate gridFsTemplate;
+
+    @Override
+    public StoredBlob store(InputStream content, String filename, String contentType) throws IOException {
+        HashingInputStream hashingContent = new HashingInputStream(content);
+        ObjectId id = gridFsTemplate.store(hashingContent, filename, contentType);
+        return new StoredBlob(id.toHexString(), hashingContent.hash(), hashingContent.length());
+    }
+
+    @Override
+    public InputStream open(String id) throws IOException {
+        GridFSFile file = gridFsTemplate.findOne(byId(id));
+        if (file == null) {
+            throw new FileNotFoundException(id);
+        }
+        return gridFsTemplate.getResource(file).getInputStream();
+    }
+
+    @Override
+    public void delete(String id) {
+        gridFsTemplate.delete(byId(id));
+    }
+
+    private Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(new ObjectId(id)));
+    }
+}
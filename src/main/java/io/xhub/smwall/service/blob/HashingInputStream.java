@@ -0,0 +1,61 @@
+package io.xhub.smwall.service.blob;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+class HashingInputStream extends FilterInputStream {
+    private final MessageDigest digest;
+    private long length;
+
+    HashingInputStream(InputStream in) {
+        super(in);
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            digest.update((byte) b);
+            length++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int count) throws IOException {
+        int read = super.read(buffer, offset, count);
+        if (read > 0) {
+            digest.update(buffer, offset, read);
+            length += read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(Math.max(n, 0), 8192)];
+        return Math.max(read(buffer, 0, buffer.length), 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    String hash() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    long length() {
+        return length;
+    }
+}
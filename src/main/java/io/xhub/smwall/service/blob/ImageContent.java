@@ -0,0 +1,12 @@
+package io.xhub.smwall.service.blob;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.core.io.Resource;
+
+@Getter
+@AllArgsConstructor
+public class ImageContent {
+    private final Resource resource;
+    private final String contentType;
+}
@@ -0,0 +1,138 @@
+package io.xhub.smwall.service.blob;
+
+import io.xhub.smwall.config.BlobStoreProperties;
+import io.xhub.smwall.domains.BinaryImage;
+import io.xhub.smwall.domains.ImageThumbnail;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageStore {
+    private final BlobStore blobStore;
+    private final BlobStoreProperties blobStoreProperties;
+
+    public BinaryImage store(MultipartFile file) throws IOException {
+        try (InputStream content = file.getInputStream()) {
+            return store(content, file.getOriginalFilename(), file.getContentType());
+        }
+    }
+
+    public BinaryImage store(InputStream content, String filename, String contentType) throws IOException {
+        log.info("Start storing image '{}'", filename);
+        StoredBlob blob = blobStore.store(content, filename, contentType);
+        List<ImageThumbnail> thumbnails = new ArrayList<>();
+        try {
+            createThumbnails(blob, filename, thumbnails);
+        } catch (IOException | RuntimeException e) {
+            delete(new BinaryImage(blob.getId(), contentType, filename, blob.getHash(), blob.getLength(), thumbnails));
+            throw e;
+        }
+        return new BinaryImage(blob.getId(), contentType, filename, blob.getHash(), blob.getLength(), thumbnails);
+    }
+
+    public ImageContent open(BinaryImage image, Integer size) {
+        if (size != null) {
+            ImageThumbnail thumbnail = image.findThumbnail(size).orElse(null);
+            if (thumbnail != null) {
+                return new ImageContent(new BlobResource(blobStore, thumbnail.getBlobId(), thumbnail.getLength()), ImageThumbnail.CONTENT_TYPE);
+            }
+        }
+        return new ImageContent(new BlobResource(blobStore, image.getBlobId(), image.getLength()), image.getContentType());
+    }
+
+    public void delete(BinaryImage image) {
+        List<String> blobIds = new ArrayList<>();
+        blobIds.add(image.getBlobId());
+        if (image.getThumbnails() != null) {
+            image.getThumbnails().forEach(thumbnail -> blobIds.add(thumbnail.getBlobId()));
+        }
+        for (String blobId : blobIds) {
+            try {
+                blobStore.delete(blobId);
+            } catch (IOException e) {
+                log.error("Failed to delete blob '{}': {}", blobId, e.getMessage());
+            }
+        }
+    }
+
+    private void createThumbnails(StoredBlob blob, String filename, List<ImageThumbnail> thumbnails) throws IOException {
+        BufferedImage source;
+        try (InputStream content = blobStore.open(blob.getId())) {
+            source = read(content, filename);
+        }
+        if (source == null) {
+            log.info("No thumbnails for image '{}', format is not rasterizable", filename);
+            return;
+        }
+
+        for (int size : blobStoreProperties.getThumbnailSizes()) {
+            if (size >= Math.max(source.getWidth(), source.getHeight())) {
+                continue;
+            }
+            byte[] thumbnail = resize(source, size);
+            StoredBlob thumbnailBlob = blobStore.store(new ByteArrayInputStream(thumbnail), size + "-" + filename, ImageThumbnail.CONTENT_TYPE);
+            thumbnails.add(new ImageThumbnail(size, thumbnailBlob.getId(), thumbnailBlob.getLength()));
+        }
+    }
+
+    // Checks the dimensions from the header before decoding, since the decoded raster takes 4 bytes per pixel
+    private BufferedImage read(InputStream content, String filename) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            Iterator<ImageReader> readers = input == null ? Collections.emptyIterator() : ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > blobStoreProperties.getMaxImagePixels()) {
+                    throw new IOException("Image '" + filename + "' has " + pixels + " pixels, above the limit of " + blobStoreProperties.getMaxImagePixels());
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private byte[] resize(BufferedImage source, int size) throws IOException {
+        double scale = (double) size / Math.max(source.getWidth(), source.getHeight());
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(target, "png", output);
+        return output.toByteArray();
+    }
+}
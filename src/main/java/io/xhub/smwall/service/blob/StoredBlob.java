@@ -0,0 +1,12 @@
+package io.xhub.smwall.service.blob;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StoredBlob {
+    private final String id;
+    private final String hash;
+    private final long length;
+}
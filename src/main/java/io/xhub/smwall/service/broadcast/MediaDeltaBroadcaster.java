@@ -0,0 +1,141 @@
+package io.xhub.smwall.service.broadcast;
+
+import io.xhub.smwall.config.WebSocketProperties;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.dto.MediaChangesDTO;
+import io.xhub.smwall.dto.MediaDTO;
+import io.xhub.smwall.mappers.MediaMapper;
+import io.xhub.smwall.service.WebSocketService;
+import io.xhub.smwall.websocket.MediaDelta;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects media changes for a short window and broadcasts them as one sequenced delta frame,
+ * so a burst of ingests costs each client a single message. Sequence numbers come from the {@link MediaDeltaLog},
+ * which is shared by all nodes when they publish through a broker relay.
+ */
+@Component
+@Slf4j
+public class MediaDeltaBroadcaster {
+    private final WebSocketService webSocketService;
+    private final MediaMapper mediaMapper;
+    private final WebSocketProperties webSocketProperties;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("smwall-media-delta-"));
+    private final Map<String, MediaDTO> pendingUpserts = new LinkedHashMap<>();
+    private final Set<String> pendingRemovals = new LinkedHashSet<>();
+    private final MediaDeltaLog mediaDeltaLog;
+    private boolean flushScheduled;
+
+    public MediaDeltaBroadcaster(WebSocketService webSocketService, MediaMapper mediaMapper, WebSocketProperties webSocketProperties,
+                                 MediaDeltaLog mediaDeltaLog) {
+        this.webSocketService = webSocketService;
+        this.mediaMapper = mediaMapper;
+        this.webSocketProperties = webSocketProperties;
+        this.mediaDeltaLog = mediaDeltaLog;
+    }
+
+    public MediaChangesDTO getChangesSince(long lastSeq) {
+        return mediaDeltaLog.since(lastSeq)
+                .map(deltas -> new MediaChangesDTO(deltas.isEmpty() ? lastSeq : deltas.get(deltas.size() - 1).getSeq(), false, deltas))
+                .orElseGet(() -> new MediaChangesDTO(mediaDeltaLog.getLatestSeq(), true, List.of()));
+    }
+
+    /**
+     * Upserts the visible media. Hidden ones were never on the wall (pending or rejected at ingest), so they are not
+     * announced; media taken off the wall go through {@link #publishRemovals}.
+     */
+    public synchronized void publish(Collection<Media> changedMedia) {
+        for (Media media : changedMedia) {
+            if (Boolean.TRUE.equals(media.getHidden())) {
+                pendingUpserts.remove(media.getId());
+            } else {
+                pendingRemovals.remove(media.getId());
+                pendingUpserts.put(media.getId(), mediaMapper.toDTO(media));
+            }
+        }
+        scheduleFlush();
+    }
+
+    public synchronized void publishRemovals(Collection<String> mediaIds) {
+        for (String mediaId : mediaIds) {
+            pendingUpserts.remove(mediaId);
+            pendingRemovals.add(mediaId);
+        }
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled || (pendingUpserts.isEmpty() && pendingRemovals.isEmpty())) {
+            return;
+        }
+        flushScheduled = true;
+        scheduler.schedule(this::flush, webSocketProperties.getCoalesceWindow(), TimeUnit.MILLISECONDS);
+    }
+
+    void flush() {
+        List<MediaDTO> upserts;
+        List<String> removals;
+        synchronized (this) {
+            flushScheduled = false;
+            if (pendingUpserts.isEmpty() && pendingRemovals.isEmpty()) {
+                return;
+            }
+            upserts = new ArrayList<>(pendingUpserts.values());
+            removals = new ArrayList<>(pendingRemovals);
+            pendingUpserts.clear();
+            pendingRemovals.clear();
+        }
+
+        MediaDelta delta;
+        try {
+            delta = mediaDeltaLog.append(upserts, removals);
+        } catch (Exception e) {
+            log.error("Failed to record media delta, retrying it with the next window: {}", e.getMessage());
+            requeue(upserts, removals);
+            return;
+        }
+
+        try {
+            webSocketService.broadcastMediaDelta(delta);
+        } catch (Exception e) {
+            log.error("Failed to broadcast media delta {}: {}", delta.getSeq(), e.getMessage());
+        }
+    }
+
+    // Changes published since the failed window are newer, so they win over the requeued ones
+    private synchronized void requeue(List<MediaDTO> upserts, List<String> removals) {
+        for (MediaDTO upsert : upserts) {
+            if (!pendingRemovals.contains(upsert.getId())) {
+                pendingUpserts.putIfAbsent(upsert.getId(), upsert);
+            }
+        }
+        for (String removal : removals) {
+            if (!pendingUpserts.containsKey(removal)) {
+                pendingRemovals.add(removal);
+            }
+        }
+        if (!scheduler.isShutdown()) {
+            scheduleFlush();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        flush();
+    }
+}
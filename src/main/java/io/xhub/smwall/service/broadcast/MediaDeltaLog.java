@@ -0,0 +1,24 @@
+package io.xhub.smwall.service.broadcast;
+
+import io.xhub.smwall.dto.MediaDTO;
+import io.xhub.smwall.websocket.MediaDelta;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Numbers media deltas and keeps the most recent ones for reconnecting clients. Sequence numbers are consecutive
+ * across every node publishing to the same topic, so a client can detect a gap whichever node it talks to.
+ */
+public interface MediaDeltaLog {
+
+    MediaDelta append(List<MediaDTO> upserted, List<String> removed);
+
+    long getLatestSeq();
+
+    /**
+     * Returns the deltas after {@code lastSeq}, or empty when they are no longer retained
+     * (or were never produced) and the client has to reload the feed.
+     */
+    Optional<List<MediaDelta>> since(long lastSeq);
+}
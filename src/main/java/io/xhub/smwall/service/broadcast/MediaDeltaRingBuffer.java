@@ -0,0 +1,57 @@
+package io.xhub.smwall.service.broadcast;
+
+import io.xhub.smwall.dto.MediaDTO;
+import io.xhub.smwall.websocket.MediaDelta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the last {@code capacity} deltas in memory, for the single node of the simple broker. Sequence numbers are
+ * consecutive, so the oldest retained sequence is always {@code latestSeq - size + 1}.
+ */
+public class MediaDeltaRingBuffer implements MediaDeltaLog {
+    private final MediaDelta[] deltas;
+    private int size;
+    private int next;
+    private long latestSeq;
+
+    public MediaDeltaRingBuffer(int capacity) {
+        this.deltas = new MediaDelta[Math.max(1, capacity)];
+    }
+
+    @Override
+    public synchronized MediaDelta append(List<MediaDTO> upserted, List<String> removed) {
+        MediaDelta delta = new MediaDelta(latestSeq + 1, upserted, removed);
+        append(delta);
+        return delta;
+    }
+
+    public synchronized void append(MediaDelta delta) {
+        deltas[next] = delta;
+        next = (next + 1) % deltas.length;
+        size = Math.min(size + 1, deltas.length);
+        latestSeq = delta.getSeq();
+    }
+
+    @Override
+    public synchronized long getLatestSeq() {
+        return latestSeq;
+    }
+
+    @Override
+    public synchronized Optional<List<MediaDelta>> since(long lastSeq) {
+        if (lastSeq > latestSeq || lastSeq < latestSeq - size) {
+            return Optional.empty();
+        }
+
+        int missing = (int) (latestSeq - lastSeq);
+        List<MediaDelta> result = new ArrayList<>(missing);
+        int start = Math.floorMod(next - missing, deltas.length);
+        for (int i = 0; i < missing; i++) {
+            result.add(deltas[(start + i) % deltas.length]);
+        }
+        return Optional.of(result);
+    }
+}
@@ -0,0 +1,65 @@
+package io.xhub.smwall.service.broadcast;
+
+import io.xhub.smwall.domains.MediaDeltaEntry;
+import io.xhub.smwall.dto.MediaDTO;
+import io.xhub.smwall.websocket.MediaDelta;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Delta log shared by the nodes behind a broker relay. A delta takes the number after the latest stored one and
+ * is inserted under it, retrying on a duplicate key, so the stored sequence has no gaps and a higher number is
+ * never visible before a lower one. Only the last {@code capacity} deltas are kept.
+ */
+public class MongoMediaDeltaLog implements MediaDeltaLog {
+    private final MongoTemplate mongoTemplate;
+    private final int capacity;
+
+    public MongoMediaDeltaLog(MongoTemplate mongoTemplate, int capacity) {
+        this.mongoTemplate = mongoTemplate;
+        this.capacity = Math.max(1, capacity);
+    }
+
+    @Override
+    public MediaDelta append(List<MediaDTO> upserted, List<String> removed) {
+        while (true) {
+            long seq = getLatestSeq() + 1;
+            try {
+                mongoTemplate.insert(new MediaDeltaEntry(seq, upserted, removed, Instant.now()));
+            } catch (DuplicateKeyException e) {
+                continue;
+            }
+            mongoTemplate.remove(Query.query(Criteria.where("_id").lte(seq - capacity)), MediaDeltaEntry.class);
+            return new MediaDelta(seq, upserted, removed);
+        }
+    }
+
+    @Override
+    public long getLatestSeq() {
+        MediaDeltaEntry latest = mongoTemplate.findOne(new Query().with(Sort.by(Sort.Direction.DESC, "_id")).limit(1), MediaDeltaEntry.class);
+        return latest == null ? 0 : latest.getSeq();
+    }
+
+    @Override
+    public Optional<List<MediaDelta>> since(long lastSeq) {
+        List<MediaDeltaEntry> entries = mongoTemplate.find(Query.query(Criteria.where("_id").gt(lastSeq))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(capacity), MediaDeltaEntry.class);
+        if (entries.isEmpty()) {
+            return lastSeq > getLatestSeq() ? Optional.empty() : Optional.of(List.of());
+        }
+        if (entries.get(0).getSeq() != lastSeq + 1) {
+            return Optional.empty();
+        }
+        return Optional.of(entries.stream()
+                .map(entry -> new MediaDelta(entry.getSeq(), entry.getUpserted(), entry.getRemoved()))
+                .toList());
+    }
+}
@@ -0,0 +1,40 @@
+package io.xhub.smwall.service.feed;
+
+import io.xhub.smwall.constants.ApiClientErrorCodes;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.exceptions.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor
+public class MediaCursor {
+    private static final char SEPARATOR = ':';
+
+    private final Instant timestamp;
+    private final String id;
+
+    public static MediaCursor after(Media media) {
+        return new MediaCursor(media.getTimestamp(), media.getId());
+    }
+
+    public static MediaCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            String timestamp = value.substring(0, separator);
+            return new MediaCursor(timestamp.isEmpty() ? null : Instant.ofEpochMilli(Long.parseLong(timestamp)), value.substring(separator + 1));
+        } catch (RuntimeException e) {
+            throw new BusinessException(ApiClientErrorCodes.INVALID_CURSOR.getErrorMessage());
+        }
+    }
+
+    public String encode() {
+        String value = (timestamp == null ? "" : String.valueOf(timestamp.toEpochMilli())) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,90 @@
+package io.xhub.smwall.service.feed;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import io.xhub.smwall.config.MediaFeedProperties;
+import io.xhub.smwall.constants.CacheNames;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.domains.QMedia;
+import io.xhub.smwall.dto.CursorPageDTO;
+import io.xhub.smwall.repositories.MediaRepository;
+import io.xhub.smwall.service.MediaSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.repository.support.SpringDataMongodbQuery;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@Slf4j
+public class MediaFeedService {
+    private static final QMedia MEDIA = QMedia.media;
+
+    private final MongoTemplate mongoTemplate;
+    private final MediaRepository mediaRepository;
+    private final MediaSearchService mediaSearchService;
+    private final MediaFeedProperties mediaFeedProperties;
+    private final Cache countCache;
+
+    public MediaFeedService(MongoTemplate mongoTemplate, MediaRepository mediaRepository, MediaSearchService mediaSearchService, MediaFeedProperties mediaFeedProperties, CacheManager cacheManager) {
+        this.mongoTemplate = mongoTemplate;
+        this.mediaRepository = mediaRepository;
+        this.mediaSearchService = mediaSearchService;
+        this.mediaFeedProperties = mediaFeedProperties;
+        this.countCache = cacheManager.getCache(CacheNames.MEDIA_FEED_COUNTS);
+    }
+
+    public CursorPageDTO<Media> getMediaFeed(String q, Predicate predicate, String cursor, Integer size, boolean withCount) {
+        log.info("Start getting media feed");
+        int pageSize = size == null ? mediaFeedProperties.getDefaultSize() : Math.max(1, Math.min(size, mediaFeedProperties.getMaxSize()));
+        String search = q == null || q.isBlank() ? null : q;
+
+        BooleanBuilder builder = new BooleanBuilder(predicate);
+        if (cursor != null && !cursor.isBlank()) {
+            builder.and(after(MediaCursor.decode(cursor)));
+        }
+
+        List<Media> media = search == null
+                ? new SpringDataMongodbQuery<>(mongoTemplate, Media.class)
+                        .where(builder.getValue())
+                        .orderBy(MEDIA.timestamp.desc(), MEDIA.id.desc())
+                        .limit(pageSize + 1L)
+                        .fetch()
+                : mongoTemplate.find(new BasicQuery(mediaSearchService.buildSearchQuery(search, builder.getValue()))
+                        .with(Sort.by(Sort.Direction.DESC, "timestamp", "_id"))
+                        .limit(pageSize + 1), Media.class);
+
+        String nextCursor = null;
+        if (media.size() > pageSize) {
+            media = media.subList(0, pageSize);
+            nextCursor = MediaCursor.after(media.get(pageSize - 1)).encode();
+        }
+
+        return new CursorPageDTO<>(media, nextCursor, withCount ? count(search, predicate) : null);
+    }
+
+    // Media without a timestamp sort last in a descending feed, ordered by id among themselves
+    private static Predicate after(MediaCursor cursor) {
+        if (cursor.getTimestamp() == null) {
+            return MEDIA.timestamp.isNull().and(MEDIA.id.lt(cursor.getId()));
+        }
+        return MEDIA.timestamp.lt(cursor.getTimestamp())
+                .or(MEDIA.timestamp.eq(cursor.getTimestamp()).and(MEDIA.id.lt(cursor.getId())))
+                .or(MEDIA.timestamp.isNull());
+    }
+
+    private Long count(String search, Predicate predicate) {
+        String key = (search == null ? "" : search) + "|" + (predicate == null ? "" : predicate.toString());
+        if (search != null) {
+            Document queryObject = mediaSearchService.buildSearchQuery(search, predicate);
+            return countCache.get(key, () -> mongoTemplate.count(new BasicQuery(queryObject), Media.class));
+        }
+        return countCache.get(key, () -> predicate == null ? mediaRepository.count() : mediaRepository.count(predicate));
+    }
+}
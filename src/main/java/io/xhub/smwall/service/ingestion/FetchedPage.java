@@ -0,0 +1,13 @@
+package io.xhub.smwall.service.ingestion;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class FetchedPage<T> {
+    private final List<T> items;
+    private final String nextPageCursor;
+}
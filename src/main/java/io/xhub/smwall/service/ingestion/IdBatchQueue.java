@@ -0,0 +1,78 @@
+package io.xhub.smwall.service.ingestion;
+
+import io.xhub.smwall.config.WebhookQueueProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bounded id queue drained by a single thread, which waits up to the batch window for a batch to fill
+ * so that a burst of notifications costs one upstream request.
+ */
+@Slf4j
+public class IdBatchQueue {
+    private final String name;
+    private final WebhookQueueProperties properties;
+    private final Consumer<List<String>> handler;
+    private final BlockingQueue<String> pendingIds;
+    private final ExecutorService executor;
+
+    public IdBatchQueue(String name, WebhookQueueProperties properties, Consumer<List<String>> handler) {
+        this.name = name;
+        this.properties = properties;
+        this.handler = handler;
+        this.pendingIds = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+        this.executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("smwall-" + name + "-"));
+        this.executor.execute(this::run);
+    }
+
+    public void enqueue(Collection<String> ids) {
+        for (String id : ids) {
+            if (!pendingIds.offer(id)) {
+                log.warn("{} queue is full, dropping {} until the next reconciliation poll", name, id);
+            }
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                handler.accept(nextBatch());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Error while processing {} batch: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private List<String> nextBatch() throws InterruptedException {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        Set<String> batch = new LinkedHashSet<>();
+        batch.add(pendingIds.take());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getBatchWindow());
+        while (batch.size() < batchSize) {
+            String id = pendingIds.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (id == null) {
+                break;
+            }
+            batch.add(id);
+        }
+        return new ArrayList<>(batch);
+    }
+}
@@ -0,0 +1,104 @@
+package io.xhub.smwall.service.ingestion;
+
+import io.xhub.smwall.config.FetchCursorProperties;
+import io.xhub.smwall.domains.FetchCursor;
+import io.xhub.smwall.repositories.FetchCursorRepository;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Polls a newest-first source only down to its persisted high-water mark, following page cursors until already
+ * fetched content shows up. A burst larger than {@code maxPages} leaves a backlog cursor that the next polls resume.
+ * The mark only moves once the new items have been handed to the sink, and the very first poll reads a single page
+ * so that an empty database does not backfill the whole history.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IncrementalFetcher {
+    private final FetchCursorRepository fetchCursorRepository;
+    private final FetchCursorProperties fetchCursorProperties;
+
+    public FetchCursor findCursor(String cursorId) {
+        return fetchCursorRepository.findById(cursorId).orElseGet(() -> new FetchCursor(cursorId));
+    }
+
+    public <T> int fetch(String cursorId,
+                         Function<String, FetchedPage<T>> pageFetcher,
+                         Function<T, String> idOf,
+                         Function<T, Instant> timestampOf,
+                         Consumer<List<T>> sink) {
+        FetchCursor cursor = findCursor(cursorId);
+        boolean firstPoll = cursor.getLatestTimestamp() == null && cursor.getLatestId() == null;
+        int pageBudget = firstPoll ? 1 : Math.max(1, fetchCursorProperties.getMaxPages());
+        List<T> newItems = new ArrayList<>();
+
+        Walk head = walk(pageFetcher, null, pageBudget, cursor.getLatestId(), cursor.getLatestTimestamp(), idOf, timestampOf, newItems);
+        if (head.truncated && !firstPoll) {
+            if (cursor.getBacklogPageCursor() != null) {
+                log.warn("{} received another burst before its backlog was drained, older items are dropped", cursorId);
+            }
+            cursor.setBacklogPageCursor(head.nextPageCursor);
+            cursor.setBacklogUntilId(cursor.getLatestId());
+            cursor.setBacklogUntilTimestamp(cursor.getLatestTimestamp());
+        } else if (cursor.getBacklogPageCursor() != null && head.pages < pageBudget) {
+            Walk backlog = walk(pageFetcher, cursor.getBacklogPageCursor(), pageBudget - head.pages,
+                    cursor.getBacklogUntilId(), cursor.getBacklogUntilTimestamp(), idOf, timestampOf, newItems);
+            cursor.setBacklogPageCursor(backlog.truncated ? backlog.nextPageCursor : null);
+        }
+
+        sink.accept(newItems);
+
+        for (T item : newItems) {
+            Instant timestamp = timestampOf.apply(item);
+            if (timestamp != null && (cursor.getLatestTimestamp() == null || timestamp.isAfter(cursor.getLatestTimestamp()))) {
+                cursor.setLatestTimestamp(timestamp);
+                cursor.setLatestId(idOf.apply(item));
+            }
+        }
+        cursor.setUpdatedAt(Instant.now());
+        fetchCursorRepository.save(cursor);
+        return newItems.size();
+    }
+
+    private <T> Walk walk(Function<String, FetchedPage<T>> pageFetcher,
+                          String pageCursor,
+                          int pageBudget,
+                          String markId,
+                          Instant markTimestamp,
+                          Function<T, String> idOf,
+                          Function<T, Instant> timestampOf,
+                          List<T> newItems) {
+        int pages = 0;
+        while (pages < pageBudget) {
+            FetchedPage<T> page = pageFetcher.apply(pageCursor);
+            pages++;
+            for (T item : page.getItems()) {
+                if (FetchCursor.isReached(markId, markTimestamp, idOf.apply(item), timestampOf.apply(item))) {
+                    return new Walk(pages, null, false);
+                }
+                newItems.add(item);
+            }
+            pageCursor = page.getNextPageCursor();
+            if (pageCursor == null) {
+                return new Walk(pages, null, false);
+            }
+        }
+        return new Walk(pages, pageCursor, true);
+    }
+
+    @AllArgsConstructor
+    private static class Walk {
+        private final int pages;
+        private final String nextPageCursor;
+        private final boolean truncated;
+    }
+}
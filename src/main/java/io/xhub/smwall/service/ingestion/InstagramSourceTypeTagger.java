@@ -0,0 +1,37 @@
+package io.xhub.smwall.service.ingestion;
+
+import io.xhub.smwall.config.MetaProperties;
+import io.xhub.smwall.constants.RegexPatterns;
+import io.xhub.smwall.dto.meta.InstagramMediaDTO;
+import io.xhub.smwall.utlis.RegexUtils;
+import io.xhub.smwall.utlis.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class InstagramSourceTypeTagger {
+    private final List<String> allowedMatches;
+
+    public InstagramSourceTypeTagger(MetaProperties metaProperties) {
+        this.allowedMatches = createAllowedMatchesList(metaProperties);
+    }
+
+    public void tag(InstagramMediaDTO instagramMediaDTO) {
+        if (instagramMediaDTO.getCaption() != null) {
+            instagramMediaDTO.getSourceTypes()
+                    .addAll(RegexUtils.findAllowedMatches(instagramMediaDTO.getCaption(), RegexPatterns.SOURCE_TYPES, allowedMatches));
+        }
+    }
+
+    private static List<String> createAllowedMatchesList(MetaProperties metaProperties) {
+        List<String> hashtags = metaProperties.getHashtags().keySet().stream()
+                .map(StringUtils::prependHashtag)
+                .toList();
+        String mention = StringUtils.prependAtSign(metaProperties.getUsername());
+        List<String> allowedMatches = new ArrayList<>(hashtags);
+        allowedMatches.add(mention);
+        return allowedMatches;
+    }
+}
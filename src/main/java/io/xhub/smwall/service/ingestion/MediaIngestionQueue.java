@@ -0,0 +1,56 @@
+package io.xhub.smwall.service.ingestion;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.xhub.smwall.domains.IngestionTask;
+import io.xhub.smwall.dto.meta.InstagramMediaDTO;
+import io.xhub.smwall.dto.youtube.YoutubeMediaDTO;
+import io.xhub.smwall.enumeration.MediaSource;
+import io.xhub.smwall.repositories.IngestionTaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable outbox between the fetchers and {@code MediaService}: fetchers persist raw DTO batches here and return
+ * immediately, {@link MediaIngestionWorker} moderates and stores them later.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MediaIngestionQueue {
+    private final IngestionTaskRepository ingestionTaskRepository;
+    private final ObjectMapper objectMapper;
+    private final Semaphore pendingSignal = new Semaphore(0);
+
+    public void enqueueInstagramMedia(String label, List<InstagramMediaDTO> media) {
+        enqueue(MediaSource.INSTAGRAM, label, media);
+    }
+
+    public void enqueueYoutubeMedia(String label, List<YoutubeMediaDTO> media) {
+        enqueue(MediaSource.YOUTUBE, label, media);
+    }
+
+    boolean awaitWork(long timeoutMillis) throws InterruptedException {
+        boolean signalled = pendingSignal.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        pendingSignal.drainPermits();
+        return signalled;
+    }
+
+    private void enqueue(MediaSource source, String label, List<?> media) {
+        if (media.isEmpty()) {
+            return;
+        }
+        try {
+            ingestionTaskRepository.save(IngestionTask.create(source, label, objectMapper.writeValueAsString(media)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize " + label, e);
+        }
+        log.info("Queued {} {} for ingestion", media.size(), label);
+        pendingSignal.release();
+    }
+}
@@ -0,0 +1,16 @@
+package io.xhub.smwall.service.ingestion;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MediaIngestionResult {
+    private final int inserted;
+    private final int updated;
+    private final int skipped;
+
+    public static MediaIngestionResult skippedAll(int skipped) {
+        return new MediaIngestionResult(0, 0, skipped);
+    }
+}
@@ -0,0 +1,187 @@
+package io.xhub.smwall.service.ingestion;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.xhub.smwall.config.IngestionQueueProperties;
+import io.xhub.smwall.domains.IngestionTask;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.dto.meta.InstagramMediaDTO;
+import io.xhub.smwall.dto.youtube.YoutubeMediaDTO;
+import io.xhub.smwall.enumeration.IngestionTaskStatus;
+import io.xhub.smwall.mappers.meta.InstagramMediaMapper;
+import io.xhub.smwall.mappers.youtube.YoutubeMediaMapper;
+import io.xhub.smwall.repositories.IngestionTaskRepository;
+import io.xhub.smwall.service.MediaService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the ingestion outbox with at-least-once semantics: a claimed task is hidden for the visibility timeout,
+ * deleted once {@code MediaService} has stored it, retried with backoff on failure and dead-lettered after
+ * {@code maxAttempts}.
+ */
+@Component
+@Slf4j
+public class MediaIngestionWorker {
+    private static final String METRIC_PREFIX = "smwall.ingestion.queue";
+    private final IngestionTaskRepository ingestionTaskRepository;
+    private final MediaIngestionQueue mediaIngestionQueue;
+    private final MediaService mediaService;
+    private final InstagramMediaMapper instagramMediaMapper;
+    private final YoutubeMediaMapper youtubeMediaMapper;
+    private final ObjectMapper objectMapper;
+    private final IngestionQueueProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Timer latency;
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong deadLetters = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private ExecutorService executor;
+
+    public MediaIngestionWorker(IngestionTaskRepository ingestionTaskRepository,
+                                MediaIngestionQueue mediaIngestionQueue,
+                                MediaService mediaService,
+                                InstagramMediaMapper instagramMediaMapper,
+                                YoutubeMediaMapper youtubeMediaMapper,
+                                ObjectMapper objectMapper,
+                                IngestionQueueProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.ingestionTaskRepository = ingestionTaskRepository;
+        this.mediaIngestionQueue = mediaIngestionQueue;
+        this.mediaService = mediaService;
+        this.instagramMediaMapper = instagramMediaMapper;
+        this.youtubeMediaMapper = youtubeMediaMapper;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.latency = Timer.builder(METRIC_PREFIX + ".latency").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".depth", depth, AtomicLong::get).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".dead-letters", deadLetters, AtomicLong::get).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".lag", lagSeconds, AtomicLong::get).baseUnit("seconds").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int workers = Math.max(1, properties.getWorkers());
+        log.info("Start {} media ingestion workers", workers);
+        executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("smwall-ingestion-"));
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::run);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.ingestion-queue.metrics-interval}", timeUnit = TimeUnit.SECONDS)
+    public void refreshMetrics() {
+        try {
+            depth.set(ingestionTaskRepository.countByStatus(IngestionTaskStatus.PENDING));
+            deadLetters.set(ingestionTaskRepository.countByStatus(IngestionTaskStatus.DEAD_LETTER));
+            lagSeconds.set(ingestionTaskRepository.findFirstByStatusOrderByEnqueuedAtAsc(IngestionTaskStatus.PENDING)
+                    .map(task -> Math.max(0, Duration.between(task.getEnqueuedAt(), Instant.now()).toSeconds()))
+                    .orElse(0L));
+        } catch (Exception e) {
+            log.error("Error while refreshing ingestion queue metrics: {}", e.getMessage());
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (!processNext()) {
+                    mediaIngestionQueue.awaitWork(properties.getPollInterval());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Error while draining the ingestion queue: {}", e.getMessage());
+                try {
+                    Thread.sleep(properties.getPollInterval());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    boolean processNext() {
+        Instant now = Instant.now();
+        Optional<IngestionTask> claimed = ingestionTaskRepository.claimNext(now, now.plusSeconds(properties.getVisibilityTimeout()));
+        claimed.ifPresent(this::process);
+        return claimed.isPresent();
+    }
+
+    void process(IngestionTask task) {
+        if (task.getAttempts() > properties.getMaxAttempts()) {
+            deadLetter(task, task.getLastError() != null ? task.getLastError() : "Visibility timeout exceeded");
+            return;
+        }
+
+        List<Media> media;
+        try {
+            media = toMedia(task);
+        } catch (JsonProcessingException e) {
+            deadLetter(task, e.getOriginalMessage());
+            return;
+        }
+
+        try {
+            MediaIngestionResult result = mediaService.addAllMedia(media);
+            ingestionTaskRepository.deleteById(task.getId());
+            latency.record(Duration.between(task.getEnqueuedAt(), Instant.now()));
+            countOutcome("acked");
+            log.info("{} ingested: {} inserted, {} updated, {} skipped",
+                    task.getLabel(), result.getInserted(), result.getUpdated(), result.getSkipped());
+        } catch (Exception e) {
+            if (task.getAttempts() >= properties.getMaxAttempts()) {
+                deadLetter(task, e.getMessage());
+            } else {
+                Instant retryAt = Instant.now().plusSeconds(properties.getRetryBackoff() * task.getAttempts());
+                ingestionTaskRepository.reschedule(task.getId(), retryAt, e.getMessage());
+                countOutcome("retried");
+                log.warn("Failed to ingest {} (attempt {}), retrying at {}: {}", task.getLabel(), task.getAttempts(), retryAt, e.getMessage());
+            }
+        }
+    }
+
+    private List<Media> toMedia(IngestionTask task) throws JsonProcessingException {
+        return switch (task.getSource()) {
+            case INSTAGRAM -> instagramMediaMapper.toEntity(Arrays.asList(objectMapper.readValue(task.getPayload(), InstagramMediaDTO[].class)));
+            case YOUTUBE -> youtubeMediaMapper.toEntity(Arrays.asList(objectMapper.readValue(task.getPayload(), YoutubeMediaDTO[].class)));
+        };
+    }
+
+    private void deadLetter(IngestionTask task, String error) {
+        ingestionTaskRepository.deadLetter(task.getId(), error);
+        countOutcome("dead_lettered");
+        log.error("Dead-lettered {} after {} attempts: {}", task.getLabel(), task.getAttempts(), error);
+    }
+
+    private void countOutcome(String outcome) {
+        Counter.builder(METRIC_PREFIX + ".tasks").tag("outcome", outcome).register(meterRegistry).increment();
+    }
+}
@@ -0,0 +1,109 @@
+package io.xhub.smwall.service.ingestion;
+
+import io.xhub.smwall.client.MetaClient;
+import io.xhub.smwall.client.response.InstagramMentionedMediaResponse;
+import io.xhub.smwall.config.MetaProperties;
+import io.xhub.smwall.dto.meta.InstagramMediaDTO;
+import io.xhub.smwall.enumeration.MediaSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fetches the media of caption mentions received through Meta webhook notifications, so the webhook endpoint only
+ * has to enqueue ids and acknowledge. A mentioned media belongs to another account and can only be read through
+ * {@code mentioned_media} on our own user, one media per request; a failed fetch is retried up to
+ * {@code maxAttempts} times without holding back the rest of the batch.
+ */
+@Component
+@Slf4j
+public class MetaWebhookIngestionWorker {
+    private static final String IG_WEBHOOK_MEDIA_REQUEST_FIELDS = "id,caption,media_type,media_url,permalink,timestamp,children{media_url,media_type}";
+    private final MetaClient metaClient;
+    private final MediaIngestionQueue mediaIngestionQueue;
+    private final InstagramSourceTypeTagger instagramSourceTypeTagger;
+    private final SeenMediaIndex seenMediaIndex;
+    private final MetaProperties metaProperties;
+    private final Map<String, Integer> failedAttempts = new ConcurrentHashMap<>();
+    private final IdBatchQueue pendingMediaIds;
+
+    public MetaWebhookIngestionWorker(MetaClient metaClient,
+                                      MediaIngestionQueue mediaIngestionQueue,
+                                      InstagramSourceTypeTagger instagramSourceTypeTagger,
+                                      SeenMediaIndex seenMediaIndex,
+                                      MetaProperties metaProperties) {
+        this.metaClient = metaClient;
+        this.mediaIngestionQueue = mediaIngestionQueue;
+        this.instagramSourceTypeTagger = instagramSourceTypeTagger;
+        this.seenMediaIndex = seenMediaIndex;
+        this.metaProperties = metaProperties;
+        this.pendingMediaIds = new IdBatchQueue("meta-webhook", metaProperties.getWebhook(), this::process);
+    }
+
+    public void enqueue(Collection<String> mediaIds) {
+        pendingMediaIds.enqueue(mediaIds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pendingMediaIds.shutdown();
+    }
+
+    void process(List<String> mediaIds) {
+        List<String> newMediaIds = mediaIds.stream()
+                .filter(this::markProcessed)
+                .toList();
+        if (newMediaIds.isEmpty()) {
+            return;
+        }
+
+        log.info("Start fetching {} IG media mentioned in webhook notifications", newMediaIds.size());
+        List<InstagramMediaDTO> newMedia = new ArrayList<>(newMediaIds.size());
+        List<String> retriedMediaIds = new ArrayList<>();
+        for (String mediaId : newMediaIds) {
+            try {
+                InstagramMentionedMediaResponse response = metaClient.getIGMentionedMedia(metaProperties.getUserId(), mentionedMediaFields(mediaId));
+                failedAttempts.remove(mediaId);
+                if (response != null && response.getMentionedMedia() != null) {
+                    newMedia.add(response.getMentionedMedia());
+                }
+            } catch (RuntimeException e) {
+                seenMediaIndex.forget(MediaSource.INSTAGRAM, mediaId);
+                int attempts = failedAttempts.merge(mediaId, 1, Integer::sum);
+                if (attempts < metaProperties.getWebhook().getMaxAttempts()) {
+                    retriedMediaIds.add(mediaId);
+                } else {
+                    failedAttempts.remove(mediaId);
+                    log.error("Giving up on mentioned IG media {} after {} attempts: {}", mediaId, attempts, e.getMessage());
+                }
+            }
+        }
+
+        try {
+            newMedia.forEach(instagramSourceTypeTagger::tag);
+            mediaIngestionQueue.enqueueInstagramMedia("IG webhook media", newMedia);
+        } catch (RuntimeException e) {
+            newMedia.forEach(media -> seenMediaIndex.forget(MediaSource.INSTAGRAM, media.getId()));
+            throw e;
+        } finally {
+            if (!retriedMediaIds.isEmpty()) {
+                log.warn("Failed to fetch {} mentioned IG media, retrying them", retriedMediaIds.size());
+                pendingMediaIds.enqueue(retriedMediaIds);
+            }
+        }
+    }
+
+    private static String mentionedMediaFields(String mediaId) {
+        return "mentioned_media.media_id(" + mediaId + "){" + IG_WEBHOOK_MEDIA_REQUEST_FIELDS + "}";
+    }
+
+    private boolean markProcessed(String mediaId) {
+        return seenMediaIndex.markIfNew(MediaSource.INSTAGRAM, mediaId);
+    }
+}
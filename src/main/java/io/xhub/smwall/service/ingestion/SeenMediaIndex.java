@@ -0,0 +1,390 @@
+package io.xhub.smwall.service.ingestion;
+
+import io.xhub.smwall.config.MetaProperties;
+import io.xhub.smwall.config.SeenMediaIndexProperties;
+import io.xhub.smwall.config.YoutubeProperties;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.domains.SeenMediaSnapshot;
+import io.xhub.smwall.domains.SeenMediaSnapshotChunk;
+import io.xhub.smwall.enumeration.MediaSource;
+import io.xhub.smwall.repositories.SeenMediaSnapshotChunkRepository;
+import io.xhub.smwall.repositories.SeenMediaSnapshotRepository;
+import io.xhub.smwall.utlis.LongHashSet;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Remembers which source ids were already fetched as 64-bit hashes in two fixed-size generations: when the current
+ * one fills up it becomes the previous one and the oldest ids are forgotten, which bounds memory.
+ * <p>
+ * The sets are snapshotted to Mongo so restarts keep them; without a readable snapshot they are seeded from the
+ * stored media. Ids seen since the last snapshot are appended as small chunks, the whole table is only rewritten
+ * after a rotation or a forgotten id. Nodes share one snapshot: every pointer change is conditional on what the
+ * node last read, so a snapshot holds the union of what the nodes appended since the last rewrite.
+ */
+@Component
+@Slf4j
+public class SeenMediaIndex {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final Duration ORPHANED_CHUNK_AGE = Duration.ofHours(1);
+    private final SeenMediaSnapshotRepository seenMediaSnapshotRepository;
+    private final SeenMediaSnapshotChunkRepository seenMediaSnapshotChunkRepository;
+    private final MongoTemplate mongoTemplate;
+    private final MetaProperties metaProperties;
+    private final YoutubeProperties youtubeProperties;
+    private final int maxEntries;
+    private final Object snapshotLock = new Object();
+    private LongHashSet current;
+    private LongHashSet previous;
+    private long[] appended = new long[1024];
+    private int appendedCount;
+    private boolean rewrite;
+    private boolean resync;
+    // Guarded by snapshotLock
+    private boolean loaded;
+    private Long baseGeneration;
+    private long baseVersion;
+
+    public SeenMediaIndex(SeenMediaSnapshotRepository seenMediaSnapshotRepository,
+                          SeenMediaSnapshotChunkRepository seenMediaSnapshotChunkRepository,
+                          MongoTemplate mongoTemplate,
+                          MetaProperties metaProperties,
+                          YoutubeProperties youtubeProperties,
+                          SeenMediaIndexProperties seenMediaIndexProperties) {
+        this.seenMediaSnapshotRepository = seenMediaSnapshotRepository;
+        this.seenMediaSnapshotChunkRepository = seenMediaSnapshotChunkRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.metaProperties = metaProperties;
+        this.youtubeProperties = youtubeProperties;
+        this.maxEntries = seenMediaIndexProperties.getMaxEntries();
+        this.current = new LongHashSet(maxEntries);
+    }
+
+    /**
+     * @return {@code true} the first time an id is seen, after which it is remembered
+     */
+    public synchronized boolean markIfNew(MediaSource source, String id) {
+        long key = keyOf(source, id);
+        if (contains(key)) {
+            return false;
+        }
+        add(key, true);
+        return true;
+    }
+
+    public synchronized void forget(MediaSource source, String id) {
+        long key = keyOf(source, id);
+        if (current.remove(key) | (previous != null && previous.remove(key))) {
+            rewrite = true;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (snapshotLock) {
+            if (loaded) {
+                return;
+            }
+            try {
+                Optional<SeenMediaSnapshot> snapshot = seenMediaSnapshotRepository.findById(SeenMediaSnapshot.CURRENT);
+                baseGeneration = snapshot.map(SeenMediaSnapshot::getGeneration).orElse(null);
+                baseVersion = snapshot.map(SeenMediaSnapshot::getVersion).orElse(0L);
+                if (snapshot.isEmpty() || !restore(snapshot.get())) {
+                    synchronized (this) {
+                        rewrite = true;
+                    }
+                    seedFromMedia();
+                }
+                loaded = true;
+            } catch (Exception e) {
+                log.error("Failed to load the seen media index, retrying at the next snapshot: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.seen-media-index.snapshot-interval}", timeUnit = TimeUnit.SECONDS)
+    public void snapshot() {
+        synchronized (snapshotLock) {
+            if (!loaded) {
+                load();
+                return;
+            }
+            flush();
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        synchronized (snapshotLock) {
+            if (!loaded) {
+                return;
+            }
+            PendingWrite pendingWrite = takePendingWrite();
+            if (pendingWrite == null) {
+                return;
+            }
+            try {
+                boolean written = pendingWrite.replace ? replace(pendingWrite.segments) : append(pendingWrite.segments);
+                if (!written) {
+                    retryLater(pendingWrite);
+                }
+            } catch (Exception e) {
+                retryLater(pendingWrite);
+                log.error("Failed to snapshot the seen media index: {}", e.getMessage());
+            }
+        }
+    }
+
+    static long keyOf(MediaSource source, String id) {
+        long hash = (FNV_OFFSET_BASIS ^ source.ordinal()) * FNV_PRIME;
+        for (int i = 0; i < id.length(); i++) {
+            hash = (hash ^ id.charAt(i)) * FNV_PRIME;
+        }
+        // FNV alone mixes the high bits poorly, finish with the murmur3 avalanche
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private boolean contains(long key) {
+        return current.contains(key) || (previous != null && previous.contains(key));
+    }
+
+    private void add(long key, boolean record) {
+        if (current.isFull()) {
+            LongHashSet retired = previous;
+            previous = current;
+            if (retired != null) {
+                log.info("Seen media index is full, forgetting the oldest {} ids", retired.size());
+                retired.clear();
+                current = retired;
+            } else {
+                current = new LongHashSet(maxEntries);
+            }
+            rewrite = true;
+        }
+        current.add(key);
+        if (record && !rewrite && !resync) {
+            recordAppended(key);
+        }
+    }
+
+    private void recordAppended(long key) {
+        if (appendedCount == appended.length) {
+            if (appended.length >= SeenMediaSnapshotChunk.CHUNK_SIZE) {
+                rewrite = true;
+                appendedCount = 0;
+                return;
+            }
+            appended = Arrays.copyOf(appended, appended.length * 2);
+        }
+        appended[appendedCount++] = key;
+    }
+
+    private synchronized PendingWrite takePendingWrite() {
+        PendingWrite pendingWrite;
+        if (rewrite || baseGeneration == null) {
+            pendingWrite = new PendingWrite(true, false, tables());
+        } else if (resync) {
+            pendingWrite = new PendingWrite(false, true, tables());
+        } else if (appendedCount > 0) {
+            pendingWrite = new PendingWrite(false, false, new long[][]{Arrays.copyOf(appended, appendedCount)});
+        } else {
+            return null;
+        }
+        rewrite = false;
+        resync = false;
+        appendedCount = 0;
+        return pendingWrite;
+    }
+
+    private long[][] tables() {
+        return new long[][]{previous != null ? previous.toArray() : new long[0], current.toArray()};
+    }
+
+    private synchronized void retryLater(PendingWrite pendingWrite) {
+        if (pendingWrite.replace) {
+            rewrite = true;
+        } else if (pendingWrite.resync) {
+            resync = true;
+        } else if (!rewrite && !resync) {
+            for (long key : pendingWrite.segments[0]) {
+                recordAppended(key);
+            }
+        }
+    }
+
+    private boolean restore(SeenMediaSnapshot snapshot) {
+        log.info("Start restoring {} seen media ids from snapshot {}", snapshot.getSize(), snapshot.getGeneration());
+        int restored = 0;
+        for (SeenMediaSnapshotChunk chunk : seenMediaSnapshotChunkRepository.findByGenerationOrderBySegmentAscVersionAscIndexAsc(snapshot.getGeneration())) {
+            ByteBuffer keys = ByteBuffer.wrap(chunk.getKeys());
+            synchronized (this) {
+                while (keys.hasRemaining()) {
+                    long key = keys.getLong();
+                    restored++;
+                    if (!contains(key)) {
+                        add(key, false);
+                    }
+                }
+            }
+        }
+        if (restored < snapshot.getSize()) {
+            log.warn("Seen media snapshot {} is missing chunks, only {} of {} ids were restored", snapshot.getGeneration(), restored, snapshot.getSize());
+            return false;
+        }
+        return true;
+    }
+
+    private void seedFromMedia() {
+        log.info("Start seeding the seen media index from stored media");
+        Query query = new Query();
+        query.fields().include("_id", "source");
+        int seeded = 0;
+        try (Stream<Media> media = mongoTemplate.stream(query, Media.class)) {
+            for (Media storedMedia : (Iterable<Media>) media::iterator) {
+                if (storedMedia.getSource() != null && markIfNew(storedMedia.getSource(), sourceIdOf(storedMedia))) {
+                    seeded++;
+                }
+            }
+        }
+        log.info("Seeded the seen media index with {} ids", seeded);
+    }
+
+    private String sourceIdOf(Media media) {
+        String prefix = media.getSource() == MediaSource.INSTAGRAM
+                ? metaProperties.getResourceIdPrefix()
+                : youtubeProperties.getResourceIdPrefix();
+        return prefix != null && media.getId().startsWith(prefix) ? media.getId().substring(prefix.length()) : media.getId();
+    }
+
+    private boolean replace(long[][] segments) {
+        long generation = Math.max(System.currentTimeMillis(), baseGeneration != null ? baseGeneration + 1 : 0);
+        List<SeenMediaSnapshotChunk> chunks = chunksOf(generation, 0, segments, true);
+        int size = sizeOf(segments);
+        Instant now = Instant.now();
+        // Chunks first, then the pointer: a crash in between leaves the previous generation readable
+        seenMediaSnapshotChunkRepository.saveAll(chunks);
+        boolean swapped;
+        if (baseGeneration == null) {
+            try {
+                mongoTemplate.insert(new SeenMediaSnapshot(SeenMediaSnapshot.CURRENT, generation, 0, size, now, now));
+                swapped = true;
+            } catch (DuplicateKeyException e) {
+                swapped = false;
+            }
+        } else {
+            swapped = mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(SeenMediaSnapshot.CURRENT).and("generation").is(baseGeneration)),
+                    new Update().set("generation", generation).set("version", 0L).set("size", size).set("createdAt", now).set("updatedAt", now),
+                    SeenMediaSnapshot.class
+            ).getModifiedCount() == 1;
+        }
+        if (!swapped) {
+            seenMediaSnapshotChunkRepository.deleteAll(chunks);
+            refreshBase();
+            log.info("Seen media snapshot was replaced by another node, rewriting it at the next snapshot");
+            return false;
+        }
+
+        if (baseGeneration != null) {
+            seenMediaSnapshotChunkRepository.deleteByGeneration(baseGeneration);
+        }
+        // Chunks of a node that died between writing them and moving the pointer
+        seenMediaSnapshotChunkRepository.deleteByGenerationLessThan(generation - ORPHANED_CHUNK_AGE.toMillis());
+        baseGeneration = generation;
+        baseVersion = 0;
+        log.info("Snapshotted {} seen media ids as generation {}", size, generation);
+        return true;
+    }
+
+    private boolean append(long[][] segments) {
+        long generation = baseGeneration;
+        long version = baseVersion + 1;
+        List<SeenMediaSnapshotChunk> chunks = chunksOf(generation, version, segments, false);
+        int size = sizeOf(segments);
+        seenMediaSnapshotChunkRepository.saveAll(chunks);
+        boolean appendedToPointer = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(SeenMediaSnapshot.CURRENT).and("generation").is(generation).and("version").is(baseVersion)),
+                new Update().set("version", version).inc("size", size).set("updatedAt", Instant.now()),
+                SeenMediaSnapshot.class
+        ).getModifiedCount() == 1;
+        if (!appendedToPointer) {
+            seenMediaSnapshotChunkRepository.deleteAll(chunks);
+            refreshBase();
+            if (baseGeneration != null && baseGeneration != generation) {
+                // The generation this node appended to was replaced, so its earlier appends are gone too
+                synchronized (this) {
+                    resync = true;
+                }
+            }
+            return false;
+        }
+        baseVersion = version;
+        log.debug("Appended {} seen media ids to snapshot {} at version {}", size, generation, version);
+        return true;
+    }
+
+    private void refreshBase() {
+        Optional<SeenMediaSnapshot> snapshot = seenMediaSnapshotRepository.findById(SeenMediaSnapshot.CURRENT);
+        baseGeneration = snapshot.map(SeenMediaSnapshot::getGeneration).orElse(null);
+        baseVersion = snapshot.map(SeenMediaSnapshot::getVersion).orElse(0L);
+    }
+
+    private static List<SeenMediaSnapshotChunk> chunksOf(long generation, long version, long[][] segments, boolean keepSegments) {
+        List<SeenMediaSnapshotChunk> chunks = new ArrayList<>();
+        int index = 0;
+        for (int segment = 0; segment < segments.length; segment++) {
+            long[] keys = segments[segment];
+            for (int from = 0; from < keys.length; from += SeenMediaSnapshotChunk.CHUNK_SIZE) {
+                int to = Math.min(keys.length, from + SeenMediaSnapshotChunk.CHUNK_SIZE);
+                ByteBuffer buffer = ByteBuffer.allocate((to - from) * Long.BYTES);
+                for (int i = from; i < to; i++) {
+                    buffer.putLong(keys[i]);
+                }
+                // Appended ids all belong to the current generation of the index
+                chunks.add(new SeenMediaSnapshotChunk(null, generation, keepSegments ? segment : 1, version, index++, buffer.array()));
+            }
+        }
+        return chunks;
+    }
+
+    private static int sizeOf(long[][] segments) {
+        int size = 0;
+        for (long[] keys : segments) {
+            size += keys.length;
+        }
+        return size;
+    }
+
+    @AllArgsConstructor
+    private static class PendingWrite {
+        private final boolean replace;
+        private final boolean resync;
+        private final long[][] segments;
+    }
+}
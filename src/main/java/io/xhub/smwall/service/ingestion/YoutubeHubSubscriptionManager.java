@@ -0,0 +1,80 @@
+package io.xhub.smwall.service.ingestion;
+
+import io.xhub.smwall.client.YoutubeHubClient;
+import io.xhub.smwall.config.YoutubeProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the PubSubHubbub subscription to the channel upload feed alive by renewing the lease
+ * before the hub lets it expire. Disabled while no public callback url is configured.
+ */
+@Component
+@Slf4j
+public class YoutubeHubSubscriptionManager {
+    private static final String TOPIC_URL = "https://www.youtube.com/xml/feeds/videos.xml?channel_id=";
+    private final YoutubeHubClient youtubeHubClient;
+    private final YoutubeProperties youtubeProperties;
+    private volatile Instant leaseExpiresAt;
+
+    public YoutubeHubSubscriptionManager(YoutubeHubClient youtubeHubClient, YoutubeProperties youtubeProperties) {
+        this.youtubeHubClient = youtubeHubClient;
+        this.youtubeProperties = youtubeProperties;
+    }
+
+    public boolean isEnabled() {
+        return StringUtils.isNotBlank(youtubeProperties.getHub().getCallbackUrl())
+                && StringUtils.isNotBlank(youtubeProperties.getChannelId());
+    }
+
+    public void confirmLease(Long leaseSeconds) {
+        long seconds = leaseSeconds != null ? leaseSeconds : youtubeProperties.getHub().getLeaseSeconds();
+        leaseExpiresAt = Instant.now().plusSeconds(seconds);
+        log.info("YouTube hub subscription confirmed until {}", leaseExpiresAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribeOnStartup() {
+        if (isEnabled()) {
+            subscribe();
+        }
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.HOURS, initialDelay = 1)
+    public void renewLease() {
+        Instant expiresAt = leaseExpiresAt;
+        if (isEnabled() && (expiresAt == null
+                || Instant.now().isAfter(expiresAt.minusSeconds(youtubeProperties.getHub().getRenewBeforeSeconds())))) {
+            subscribe();
+        }
+    }
+
+    private void subscribe() {
+        YoutubeProperties.Hub hub = youtubeProperties.getHub();
+        Map<String, Object> form = new LinkedHashMap<>();
+        form.put("hub.callback", hub.getCallbackUrl());
+        form.put("hub.topic", TOPIC_URL + youtubeProperties.getChannelId());
+        form.put("hub.mode", "subscribe");
+        form.put("hub.verify", "async");
+        form.put("hub.verify_token", youtubeProperties.getVerifyToken());
+        form.put("hub.lease_seconds", hub.getLeaseSeconds());
+        if (StringUtils.isNotBlank(hub.getSecret())) {
+            form.put("hub.secret", hub.getSecret());
+        }
+        try {
+            log.info("Start subscribing to YouTube hub for channel {}", youtubeProperties.getChannelId());
+            youtubeHubClient.subscribe(form);
+        } catch (Exception e) {
+            log.error("Error while subscribing to YouTube hub: {}", e.getMessage());
+        }
+    }
+}
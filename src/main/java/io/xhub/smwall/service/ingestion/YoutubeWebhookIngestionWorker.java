@@ -0,0 +1,87 @@
+package io.xhub.smwall.service.ingestion;
+
+import io.xhub.smwall.client.YoutubeClient;
+import io.xhub.smwall.config.YoutubeProperties;
+import io.xhub.smwall.dto.youtube.YoutubeMediaDTO;
+import io.xhub.smwall.dto.youtube.YoutubeVideoDTO;
+import io.xhub.smwall.dto.youtube.YoutubeVideoIdDTO;
+import io.xhub.smwall.enumeration.YoutubeParams;
+import io.xhub.smwall.enumeration.MediaSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Resolves the video ids pushed by the YouTube hub with one {@code videos.list} call per batch,
+ * which costs a single quota unit instead of the 100 of a {@code search} call.
+ */
+@Component
+@Slf4j
+public class YoutubeWebhookIngestionWorker {
+    private final YoutubeClient youtubeClient;
+    private final YoutubeProperties youtubeProperties;
+    private final MediaIngestionQueue mediaIngestionQueue;
+    private final SeenMediaIndex seenMediaIndex;
+    private final IdBatchQueue pendingVideoIds;
+
+    public YoutubeWebhookIngestionWorker(YoutubeClient youtubeClient,
+                                         YoutubeProperties youtubeProperties,
+                                         MediaIngestionQueue mediaIngestionQueue,
+                                         SeenMediaIndex seenMediaIndex) {
+        this.youtubeClient = youtubeClient;
+        this.youtubeProperties = youtubeProperties;
+        this.mediaIngestionQueue = mediaIngestionQueue;
+        this.seenMediaIndex = seenMediaIndex;
+        this.pendingVideoIds = new IdBatchQueue("youtube-webhook", youtubeProperties.getWebhook(), this::process);
+    }
+
+    public void enqueue(Collection<String> videoIds) {
+        pendingVideoIds.enqueue(videoIds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pendingVideoIds.shutdown();
+    }
+
+    void process(List<String> videoIds) {
+        List<String> newVideoIds = videoIds.stream()
+                .filter(this::markProcessed)
+                .toList();
+        if (newVideoIds.isEmpty()) {
+            return;
+        }
+
+        log.info("Start fetching {} YouTube videos pushed by the hub", newVideoIds.size());
+        try {
+            List<YoutubeMediaDTO> newMedia = youtubeClient.getVideosByIds(YoutubeParams.PART.getValue(),
+                            String.join(",", newVideoIds),
+                            youtubeProperties.getApiKey())
+                    .getItems()
+                    .stream()
+                    .filter(video -> video.getSnippet() != null)
+                    .map(this::toMediaDTO)
+                    .toList();
+            mediaIngestionQueue.enqueueYoutubeMedia("YouTube pushed videos", newMedia);
+        } catch (RuntimeException e) {
+            newVideoIds.forEach(id -> seenMediaIndex.forget(MediaSource.YOUTUBE, id));
+            throw e;
+        }
+    }
+
+    private YoutubeMediaDTO toMediaDTO(YoutubeVideoDTO video) {
+        YoutubeVideoIdDTO videoId = new YoutubeVideoIdDTO();
+        videoId.setVideoId(video.getId());
+        YoutubeMediaDTO youtubeMediaDTO = new YoutubeMediaDTO();
+        youtubeMediaDTO.setId(videoId);
+        youtubeMediaDTO.setSnippet(video.getSnippet());
+        return youtubeMediaDTO;
+    }
+
+    private boolean markProcessed(String videoId) {
+        return seenMediaIndex.markIfNew(MediaSource.YOUTUBE, videoId);
+    }
+}
@@ -11,8 +11,6 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springdoc.core.annotations.ParameterObject;
 
-import java.util.List;
-
 @Getter
 @Setter
 @ParameterObject
@@ -27,11 +25,6 @@ public class MediaQuery extends Query {
     public Predicate buildPredicate() {
         BooleanBuilder builder = new BooleanBuilder();
 
-        if (this.getQ() != null) {
-            QMedia qMedia = QMedia.media;
-            buildQueryExpressions(this.getQ(), List.of(qMedia.text, qMedia.owner.username)).forEach(builder::or);
-        }
-
         if (this.getText() != null) {
             buildStringPredicates(this.getText(), QMedia.media.text).forEach(builder::and);
         }
@@ -0,0 +1,41 @@
+package io.xhub.smwall.service.wall;
+
+import io.xhub.smwall.dto.WallBootstrapDTO;
+import io.xhub.smwall.mappers.AnnouncementMapper;
+import io.xhub.smwall.mappers.WallFooterMapper;
+import io.xhub.smwall.mappers.WallHeaderMapper;
+import io.xhub.smwall.mappers.WallSettingMapper;
+import io.xhub.smwall.service.AnnouncementService;
+import io.xhub.smwall.service.WallFooterService;
+import io.xhub.smwall.service.WallHeaderService;
+import io.xhub.smwall.service.WallService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WallBootstrapService {
+    private final WallHeaderService wallHeaderService;
+    private final WallFooterService wallFooterService;
+    private final WallService wallService;
+    private final AnnouncementService announcementService;
+    private final WallFeedService wallFeedService;
+    private final WallHeaderMapper wallHeaderMapper;
+    private final WallFooterMapper wallFooterMapper;
+    private final WallSettingMapper wallSettingMapper;
+    private final AnnouncementMapper announcementMapper;
+
+    public WallBootstrapDTO getWallBootstrap() {
+        log.info("Start getting wall bootstrap");
+
+        return new WallBootstrapDTO(
+                wallHeaderService.findWallHeader().map(wallHeaderMapper::toDTO).orElse(null),
+                wallFooterService.findWallFooter().map(wallFooterMapper::toDTO).orElse(null),
+                wallSettingMapper.toDTO(wallService.getLatestWallSetting()),
+                announcementMapper.toDTO(announcementService.getClosestAnnouncement()),
+                wallFeedService.getPinnedMedia()
+        );
+    }
+}
@@ -0,0 +1,120 @@
+package io.xhub.smwall.service.wall;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import io.xhub.smwall.constants.CacheNames;
+import io.xhub.smwall.domains.WallFooter;
+import io.xhub.smwall.domains.WallHeader;
+import io.xhub.smwall.domains.WallSetting;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Evicts the wall configuration caches when another node, or a direct database write, changes
+ * the header, footer or settings. Change streams need a replica set; on a standalone server the
+ * caches rely on local eviction and their time to live.
+ */
+@Component
+@Slf4j
+public class WallConfigurationChangeListener {
+    private static final long RETRY_DELAY_MILLIS = 5000;
+    private static final int CHANGE_STREAM_NOT_SUPPORTED = 40573;
+
+    private final MongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
+    private final Map<String, String> cacheNamesByCollection;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("smwall-config-watch-"));
+    private volatile boolean running = true;
+    private volatile MongoCursor<ChangeStreamDocument<Document>> cursor;
+
+    public WallConfigurationChangeListener(MongoTemplate mongoTemplate, CacheManager cacheManager) {
+        this.mongoTemplate = mongoTemplate;
+        this.cacheManager = cacheManager;
+        this.cacheNamesByCollection = Map.of(
+                mongoTemplate.getCollectionName(WallHeader.class), CacheNames.WALL_HEADER,
+                mongoTemplate.getCollectionName(WallFooter.class), CacheNames.WALL_FOOTER,
+                mongoTemplate.getCollectionName(WallSetting.class), CacheNames.WALL_SETTINGS
+        );
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.execute(this::watch);
+    }
+
+    private void watch() {
+        while (running) {
+            try (MongoCursor<ChangeStreamDocument<Document>> changes = mongoTemplate.getDb()
+                    .watch(List.of(Aggregates.match(Filters.in("ns.coll", cacheNamesByCollection.keySet()))))
+                    .iterator()) {
+                cursor = changes;
+                log.info("Watching wall configuration changes");
+                while (running && changes.hasNext()) {
+                    ChangeStreamDocument<Document> change = changes.next();
+                    if (change.getNamespace() != null) {
+                        evict(change.getNamespace().getCollectionName());
+                    }
+                }
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_NOT_SUPPORTED) {
+                    log.info("Change streams not supported by this deployment, wall configuration caches rely on local eviction");
+                    return;
+                }
+                retryAfter(e);
+            } catch (Exception e) {
+                retryAfter(e);
+            }
+        }
+    }
+
+    private void retryAfter(Exception e) {
+        if (!running) {
+            return;
+        }
+        log.warn("Wall configuration change stream interrupted: {}", e.getMessage());
+        cacheNamesByCollection.keySet().forEach(this::evict);
+        sleep();
+    }
+
+    private void evict(String collectionName) {
+        Cache cache = cacheManager.getCache(cacheNamesByCollection.get(collectionName));
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(RETRY_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        MongoCursor<ChangeStreamDocument<Document>> changes = cursor;
+        if (changes != null) {
+            changes.close();
+        }
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,157 @@
+package io.xhub.smwall.service.wall;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.xhub.smwall.config.WallFeedProperties;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.domains.QMedia;
+import io.xhub.smwall.dto.MediaDTO;
+import io.xhub.smwall.dto.WallFeedDTO;
+import io.xhub.smwall.mappers.MediaMapper;
+import io.xhub.smwall.repositories.MediaRepository;
+import io.xhub.smwall.utlis.HashUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Keeps the newest visible media serialized in memory for the public wall. Visibility is the {@code hidden} flag
+ * alone: moderation hides what it finds unclean, and a moderator approving a media only clears {@code hidden}, so
+ * filtering on {@code clean} as well would drop every media a moderator overrode.
+ */
+@Service
+@Slf4j
+public class WallFeedService {
+    private static final Comparator<Media> FEED_ORDER = Comparator
+            .comparing(Media::getTimestamp, Comparator.nullsLast(Comparator.<Instant>reverseOrder()))
+            .thenComparing(Media::getId, Comparator.reverseOrder());
+
+    private final MediaRepository mediaRepository;
+    private final MediaMapper mediaMapper;
+    private final ObjectMapper objectMapper;
+    private final WallFeedProperties wallFeedProperties;
+    private final NavigableMap<Media, Media> visibleMedia = new TreeMap<>(FEED_ORDER);
+    private final Map<String, Media> visibleMediaById = new HashMap<>();
+    private Media pinnedMedia;
+    private boolean exhausted;
+    private volatile WallFeedSnapshot snapshot;
+    private volatile MediaDTO pinnedMediaDTO;
+
+    public WallFeedService(MediaRepository mediaRepository, MediaMapper mediaMapper, ObjectMapper objectMapper, WallFeedProperties wallFeedProperties) {
+        this.mediaRepository = mediaRepository;
+        this.mediaMapper = mediaMapper;
+        this.objectMapper = objectMapper;
+        this.wallFeedProperties = wallFeedProperties;
+        this.snapshot = serialize(new WallFeedDTO(null, List.of()));
+    }
+
+    public WallFeedSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public MediaDTO getPinnedMedia() {
+        return pinnedMediaDTO;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        log.info("Start loading wall feed snapshot");
+        List<Media> latestMedia = mediaRepository.findAll(
+                QMedia.media.hidden.isFalse(),
+                PageRequest.of(0, wallFeedProperties.getSize(), Sort.by(Sort.Direction.DESC, "timestamp", "_id"))
+        ).getContent();
+
+        visibleMedia.clear();
+        visibleMediaById.clear();
+        latestMedia.forEach(this::add);
+        exhausted = latestMedia.size() < wallFeedProperties.getSize();
+        pinnedMedia = mediaRepository.findByPinned(true).orElse(null);
+        publish();
+    }
+
+    public synchronized void apply(Collection<Media> changedMedia) {
+        for (Media media : changedMedia) {
+            remove(media.getId());
+            if (!Boolean.TRUE.equals(media.getHidden()) && media.getTimestamp() != null && fitsWindow(media)) {
+                add(media);
+            }
+
+            if (Boolean.TRUE.equals(media.getPinned())) {
+                pinnedMedia = media;
+            } else if (pinnedMedia != null && pinnedMedia.getId().equals(media.getId())) {
+                pinnedMedia = null;
+            }
+        }
+        refresh();
+    }
+
+    public synchronized void removeAll(Collection<String> mediaIds) {
+        mediaIds.forEach(this::remove);
+        if (pinnedMedia != null && mediaIds.contains(pinnedMedia.getId())) {
+            pinnedMedia = null;
+        }
+        refresh();
+    }
+
+    private void refresh() {
+        while (visibleMedia.size() > wallFeedProperties.getSize()) {
+            visibleMediaById.remove(visibleMedia.pollLastEntry().getKey().getId());
+            exhausted = false;
+        }
+        if (visibleMedia.size() < wallFeedProperties.getSize() && !exhausted) {
+            reload();
+            return;
+        }
+        publish();
+    }
+
+    private boolean fitsWindow(Media media) {
+        return exhausted || visibleMedia.size() < wallFeedProperties.getSize() || FEED_ORDER.compare(media, visibleMedia.lastKey()) < 0;
+    }
+
+    private void add(Media media) {
+        visibleMedia.put(media, media);
+        visibleMediaById.put(media.getId(), media);
+    }
+
+    private void remove(String mediaId) {
+        Media previous = visibleMediaById.remove(mediaId);
+        if (previous != null) {
+            visibleMedia.remove(previous);
+        }
+    }
+
+    private void publish() {
+        WallFeedDTO wallFeed = new WallFeedDTO(
+                mediaMapper.toDTO(pinnedMedia),
+                visibleMedia.values().stream().map(mediaMapper::toDTO).toList()
+        );
+        pinnedMediaDTO = wallFeed.getPinned();
+        WallFeedSnapshot next = serialize(wallFeed);
+        if (!Objects.equals(next.getEtag(), snapshot.getEtag())) {
+            snapshot = next;
+        }
+    }
+
+    private WallFeedSnapshot serialize(WallFeedDTO wallFeed) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(wallFeed);
+            return new WallFeedSnapshot(json, "\"" + HashUtils.sha256(json).substring(0, 32) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize wall feed", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.xhub.smwall.service.wall;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class WallFeedSnapshot {
+    private final byte[] json;
+    private final String etag;
+}
@@ -0,0 +1,38 @@
+package io.xhub.smwall.service.wall;
+
+import io.xhub.smwall.config.WebSocketProperties;
+import io.xhub.smwall.enumeration.WebSocketBrokerMode;
+import io.xhub.smwall.service.broadcast.MediaDeltaLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Behind a broker relay, media events only reach the node that produced them. Every node watches the shared
+ * {@link MediaDeltaLog} instead, and reloads its wall feed snapshot once the log has moved, whichever node wrote it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WallFeedSync {
+    private final WallFeedService wallFeedService;
+    private final MediaDeltaLog mediaDeltaLog;
+    private final WebSocketProperties webSocketProperties;
+    private long lastSeq = -1;
+
+    @Scheduled(fixedDelayString = "${application.wall-feed.sync-interval}", initialDelayString = "${application.wall-feed.sync-interval}", timeUnit = TimeUnit.SECONDS)
+    public void sync() {
+        if (webSocketProperties.getBroker().getMode() != WebSocketBrokerMode.RELAY) {
+            return;
+        }
+
+        long latestSeq = mediaDeltaLog.getLatestSeq();
+        if (latestSeq != lastSeq) {
+            wallFeedService.reload();
+            lastSeq = latestSeq;
+        }
+    }
+}
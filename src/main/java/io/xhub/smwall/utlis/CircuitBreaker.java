@@ -0,0 +1,66 @@
+package io.xhub.smwall.utlis;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+public class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final LongSupplier nanoClock;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openDuration, TimeUnit unit) {
+        this(failureThreshold, openDuration, unit, System::nanoTime);
+    }
+
+    public CircuitBreaker(int failureThreshold, long openDuration, TimeUnit unit, LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = unit.toNanos(openDuration);
+        this.nanoClock = nanoClock;
+    }
+
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openDurationNanos) {
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void recordFailure() {
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = nanoClock.getAsLong();
+        }
+    }
+
+    public synchronized void recordIgnored() {
+        trialInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,146 @@
+package io.xhub.smwall.utlis;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-capacity open-addressing set of primitive longs with linear probing. The table is sized once for
+ * {@code maxEntries} at a load factor of at most 0.75, so adds, lookups and removals never allocate.
+ */
+public class LongHashSet {
+    private static final long EMPTY = 0L;
+    private final long[] table;
+    private final int mask;
+    private final int maxEntries;
+    private boolean containsEmptyKey;
+    private int size;
+
+    public LongHashSet(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        int capacity = Integer.highestOneBit((int) Math.min(1L << 30, (long) Math.ceil(maxEntries / 0.75d)) - 1) << 1;
+        this.table = new long[Math.max(2, capacity)];
+        this.mask = table.length - 1;
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean contains(long key) {
+        if (key == EMPTY) {
+            return containsEmptyKey;
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = table[slot];
+            if (current == key) {
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the key was not present yet
+     * @throws IllegalStateException if the set is full
+     */
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            if (containsEmptyKey) {
+                return false;
+            }
+            ensureNotFull();
+            containsEmptyKey = true;
+            size++;
+            return true;
+        }
+        int slot = slot(key);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        ensureNotFull();
+        table[slot] = key;
+        size++;
+        return true;
+    }
+
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            if (!containsEmptyKey) {
+                return false;
+            }
+            containsEmptyKey = false;
+            size--;
+            return true;
+        }
+        int slot = slot(key);
+        while (table[slot] != key) {
+            if (table[slot] == EMPTY) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        shiftBack(slot);
+        size--;
+        return true;
+    }
+
+    public boolean isFull() {
+        return size >= maxEntries;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        containsEmptyKey = false;
+        size = 0;
+    }
+
+    public long[] toArray() {
+        long[] keys = new long[size];
+        int index = 0;
+        if (containsEmptyKey) {
+            keys[index++] = EMPTY;
+        }
+        for (long key : table) {
+            if (key != EMPTY) {
+                keys[index++] = key;
+            }
+        }
+        return keys;
+    }
+
+    private void ensureNotFull() {
+        if (isFull()) {
+            throw new IllegalStateException("LongHashSet is full");
+        }
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void shiftBack(int freed) {
+        int slot = freed;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = table[slot];
+            if (key == EMPTY) {
+                table[freed] = EMPTY;
+                return;
+            }
+            int home = slot(key);
+            if (((slot - home) & mask) >= ((slot - freed) & mask)) {
+                table[freed] = key;
+                freed = slot;
+            }
+        }
+    }
+
+    private int slot(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+}
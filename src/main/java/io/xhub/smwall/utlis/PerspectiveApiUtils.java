@@ -1,48 +1,142 @@
 package io.xhub.smwall.utlis;
 
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.xhub.smwall.client.PerspectiveAPIClient;
 import io.xhub.smwall.client.request.CommentAnalyzerRequest;
 import io.xhub.smwall.config.PerspectiveAPIProperties;
 import io.xhub.smwall.filter.responses.TextFilteringResponse;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
-@AllArgsConstructor
 @Component
 @Slf4j
 public class PerspectiveApiUtils {
+    private static final String METRIC_PREFIX = "smwall.perspective";
+
     private final PerspectiveAPIProperties perspectiveAPIProperties;
     private final PerspectiveAPIClient perspectiveAPIClient;
+    private final MeterRegistry meterRegistry;
+    private final TokenBucket tokenBucket;
+    private final Semaphore inFlightRequests;
+    private final CircuitBreaker circuitBreaker;
+
+    public PerspectiveApiUtils(PerspectiveAPIProperties perspectiveAPIProperties, PerspectiveAPIClient perspectiveAPIClient, MeterRegistry meterRegistry) {
+        this.perspectiveAPIProperties = perspectiveAPIProperties;
+        this.perspectiveAPIClient = perspectiveAPIClient;
+        this.meterRegistry = meterRegistry;
+        this.tokenBucket = new TokenBucket(perspectiveAPIProperties.getBurst(), perspectiveAPIProperties.getRequestsPerSecond());
+        this.inFlightRequests = new Semaphore(perspectiveAPIProperties.getMaxConcurrentRequests());
+        this.circuitBreaker = new CircuitBreaker(
+                perspectiveAPIProperties.getFailureThreshold(),
+                perspectiveAPIProperties.getOpenDuration(),
+                TimeUnit.MILLISECONDS
+        );
+
+        Gauge.builder(METRIC_PREFIX + ".quota.available", tokenBucket, TokenBucket::availableTokens).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".in-flight", inFlightRequests,
+                semaphore -> perspectiveAPIProperties.getMaxConcurrentRequests() - semaphore.availablePermits()).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".circuit.open", circuitBreaker,
+                breaker -> breaker.getState() == CircuitBreaker.State.CLOSED ? 0 : 1).register(meterRegistry);
+    }
 
     public TextFilteringResponse analyzeComment(String text) {
-        try {
-            CommentAnalyzerRequest.Comment comment = new CommentAnalyzerRequest.Comment();
-            comment.setText(text);
+        CommentAnalyzerRequest commentAnalyzerRequest = buildRequest(text);
 
-            CommentAnalyzerRequest commentAnalyzerRequest = new CommentAnalyzerRequest();
-            commentAnalyzerRequest.setComment(comment);
-            commentAnalyzerRequest.setLanguages(List.of("en"));
+        try {
+            for (int attempt = 0; ; attempt++) {
+                if (!circuitBreaker.allowRequest()) {
+                    count("short-circuited");
+                    return null;
+                }
 
-            Map<String, Map<String, Object>> requestedAttributes = new HashMap<>();
-            requestedAttributes.put("TOXICITY", new HashMap<>());
-            commentAnalyzerRequest.setRequestedAttributes(requestedAttributes);
+                if (!tokenBucket.acquire(perspectiveAPIProperties.getAcquireTimeout(), TimeUnit.MILLISECONDS)) {
+                    circuitBreaker.recordIgnored();
+                    count("throttled");
+                    log.warn("Perspective API quota exhausted, text held for review");
+                    return null;
+                }
+                count("granted");
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+                if (!inFlightRequests.tryAcquire(perspectiveAPIProperties.getAcquireTimeout(), TimeUnit.MILLISECONDS)) {
+                    circuitBreaker.recordIgnored();
+                    count("saturated");
+                    return null;
+                }
 
-            TextFilteringResponse response = perspectiveAPIClient.analyzeText(perspectiveAPIProperties.getApiKey(), commentAnalyzerRequest);
+                Timer.Sample sample = Timer.start(meterRegistry);
+                String outcome = "success";
+                try {
+                    TextFilteringResponse response = perspectiveAPIClient.analyzeText(perspectiveAPIProperties.getApiKey(), commentAnalyzerRequest);
+                    circuitBreaker.recordSuccess();
+                    return response;
+                } catch (FeignException e) {
+                    if (!isRetryable(e.status())) {
+                        outcome = "rejected";
+                        circuitBreaker.recordSuccess();
+                        log.error("Perspective API rejected the request with status {}: {}", e.status(), e.getMessage());
+                        return null;
+                    }
+                    outcome = "failure";
+                    circuitBreaker.recordFailure();
+                    if (attempt >= perspectiveAPIProperties.getMaxRetries()) {
+                        log.error("Perspective API failed after {} attempts: {}", attempt + 1, e.getMessage());
+                        return null;
+                    }
+                    log.warn("Perspective API call failed with status {}, retrying", e.status());
+                } catch (RuntimeException e) {
+                    outcome = "error";
+                    circuitBreaker.recordFailure();
+                    log.error("Failed to analyze text with Perspective API: {}", e.getMessage());
+                    return null;
+                } finally {
+                    inFlightRequests.release();
+                    sample.stop(Timer.builder(METRIC_PREFIX + ".requests").tag("outcome", outcome).register(meterRegistry));
+                }
 
-            return response;
-        } catch (Exception e) {
-            e.printStackTrace();
+                TimeUnit.MILLISECONDS.sleep(backoff(attempt));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.recordIgnored();
             return null;
         }
     }
+
+    private CommentAnalyzerRequest buildRequest(String text) {
+        CommentAnalyzerRequest.Comment comment = new CommentAnalyzerRequest.Comment();
+        comment.setText(text);
+
+        CommentAnalyzerRequest commentAnalyzerRequest = new CommentAnalyzerRequest();
+        commentAnalyzerRequest.setComment(comment);
+        commentAnalyzerRequest.setLanguages(List.of("en"));
+
+        Map<String, Map<String, Object>> requestedAttributes = new HashMap<>();
+        requestedAttributes.put("TOXICITY", new HashMap<>());
+        commentAnalyzerRequest.setRequestedAttributes(requestedAttributes);
+        return commentAnalyzerRequest;
+    }
+
+    private boolean isRetryable(int status) {
+        return status == 429 || status >= 500 || status < 0;
+    }
+
+    private long backoff(int attempt) {
+        long ceiling = Math.min(perspectiveAPIProperties.getMaxBackoff(), perspectiveAPIProperties.getInitialBackoff() << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    private void count(String result) {
+        Counter.builder(METRIC_PREFIX + ".quota").tag("result", result).register(meterRegistry).increment();
+    }
 }
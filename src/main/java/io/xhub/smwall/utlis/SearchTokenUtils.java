@@ -0,0 +1,37 @@
+package io.xhub.smwall.utlis;
+
+import io.xhub.smwall.constants.RegexPatterns;
+import io.xhub.smwall.domains.Media;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class SearchTokenUtils {
+    private static final Pattern SEARCH_TOKEN = Pattern.compile(RegexPatterns.SEARCH_TOKEN);
+
+    public static List<String> tokensOf(Media media) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (media.getText() != null) {
+            Matcher matcher = SEARCH_TOKEN.matcher(media.getText());
+            while (matcher.find()) {
+                tokens.add(normalize(matcher.group()));
+            }
+        }
+        if (media.getOwner() != null && media.getOwner().getUsername() != null) {
+            tokens.add(normalize(StringUtils.prependAtSign(media.getOwner().getUsername())));
+        }
+        if (media.getSourceTypes() != null) {
+            media.getSourceTypes().forEach(sourceType -> tokens.add(normalize(sourceType)));
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    public static String normalize(String token) {
+        return token.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,10 +1,12 @@
 package io.xhub.smwall.utlis;
 
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Optional;
+import java.util.Set;
 
 public class SecurityUtils {
     public static Optional<String> getCurrentUserLogin() {
@@ -13,6 +15,19 @@ public class SecurityUtils {
         ));
     }
 
+    public static boolean hasAnyAuthority(String... authorities) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+
+        Set<String> expected = Set.of(authorities);
+        return authentication.getAuthorities()
+                .stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(expected::contains);
+    }
+
     private static String extractPrincipal(Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
             return null;
@@ -0,0 +1,66 @@
+package io.xhub.smwall.utlis;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+public class TokenBucket {
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(int capacity, double tokensPerSecond) {
+        this(capacity, tokensPerSecond, System::nanoTime);
+    }
+
+    public TokenBucket(int capacity, double tokensPerSecond, LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    public synchronized boolean tryAcquire() {
+        return nanosUntilAvailable() == 0 && consume();
+    }
+
+    public boolean acquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = nanoClock.getAsLong() + unit.toNanos(timeout);
+        while (true) {
+            long wait;
+            synchronized (this) {
+                wait = nanosUntilAvailable();
+                if (wait == 0) {
+                    return consume();
+                }
+            }
+            if (nanoClock.getAsLong() + wait > deadline) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    public synchronized double availableTokens() {
+        refill();
+        return tokens;
+    }
+
+    private long nanosUntilAvailable() {
+        refill();
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    private boolean consume() {
+        tokens -= 1;
+        return true;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
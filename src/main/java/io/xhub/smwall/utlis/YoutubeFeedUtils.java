@@ -0,0 +1,47 @@
+package io.xhub.smwall.utlis;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class YoutubeFeedUtils {
+    private static final String YOUTUBE_NAMESPACE = "http://www.youtube.com/xml/schemas/2015";
+    private static final String VIDEO_ID = "videoId";
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    /**
+     * Streams a PubSubHubbub Atom notification and returns the {@code yt:videoId} of each entry, in feed order.
+     */
+    public static List<String> extractVideoIds(byte[] feed) throws XMLStreamException {
+        Set<String> videoIds = new LinkedHashSet<>();
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(feed));
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT
+                        && VIDEO_ID.equals(reader.getLocalName())
+                        && YOUTUBE_NAMESPACE.equals(reader.getNamespaceURI())) {
+                    String videoId = reader.getElementText().trim();
+                    if (!videoId.isEmpty()) {
+                        videoIds.add(videoId);
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return List.copyOf(videoIds);
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        return factory;
+    }
+}
@@ -0,0 +1,19 @@
+package io.xhub.smwall.websocket;
+
+import io.xhub.smwall.dto.MediaDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaDelta {
+    private long seq;
+    private List<MediaDTO> upserted;
+    private List<String> removed;
+}
@@ -0,0 +1,93 @@
+package io.xhub.smwall.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.xhub.smwall.config.WebSocketProperties;
+import io.xhub.smwall.constants.WebSocketPaths;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the sender pool and meters shared by every {@link SlowConsumerSessionDecorator}, and a watchdog that closes
+ * the sessions whose current write has been blocked past the send time limit, so a stuck client gives its sender
+ * thread back even when nothing else is sent to it.
+ */
+@Component
+public class SessionSendQueues {
+    static final String MEDIA_DESTINATION = WebSocketPaths.TOPIC + WebSocketPaths.WS + WebSocketPaths.MEDIA;
+
+    private final WebSocketProperties.Transport transport;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("smwall-ws-watchdog-"));
+    private final Set<SlowConsumerSessionDecorator> sessions = ConcurrentHashMap.newKeySet();
+    private final Timer sendTimer;
+    private final Counter droppedFrames;
+
+    public SessionSendQueues(WebSocketProperties webSocketProperties, MeterRegistry meterRegistry) {
+        this.transport = webSocketProperties.getTransport();
+        this.meterRegistry = meterRegistry;
+        this.senders = Executors.newFixedThreadPool(transport.getSenderPoolSize(), new CustomizableThreadFactory("smwall-ws-send-"));
+        this.sendTimer = Timer.builder("smwall.websocket.send")
+                .description("Time spent writing one frame to a client session")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.droppedFrames = Counter.builder("smwall.websocket.frames.dropped")
+                .description("Media frames dropped for slow client sessions")
+                .register(meterRegistry);
+        long watchdogInterval = Math.max(1, transport.getSendTimeLimit() / 4);
+        watchdog.scheduleWithFixedDelay(this::closeStuckSessions, watchdogInterval, watchdogInterval, TimeUnit.MILLISECONDS);
+    }
+
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new SlowConsumerHandlerDecorator(handler, this);
+    }
+
+    WebSocketProperties.Transport getTransport() {
+        return transport;
+    }
+
+    MeterRegistry getMeterRegistry() {
+        return meterRegistry;
+    }
+
+    ExecutorService getSenders() {
+        return senders;
+    }
+
+    Timer getSendTimer() {
+        return sendTimer;
+    }
+
+    Counter getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    void register(SlowConsumerSessionDecorator session) {
+        sessions.add(session);
+    }
+
+    void unregister(SlowConsumerSessionDecorator session) {
+        sessions.remove(session);
+    }
+
+    private void closeStuckSessions() {
+        sessions.forEach(SlowConsumerSessionDecorator::closeIfSendTimeLimitExceeded);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        senders.shutdownNow();
+    }
+}
@@ -0,0 +1,57 @@
+package io.xhub.smwall.websocket;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands the STOMP handler a queued session wrapper, so a slow client never blocks the
+ * shared outbound channel threads.
+ */
+public class SlowConsumerHandlerDecorator extends WebSocketHandlerDecorator {
+    private final SessionSendQueues sessionSendQueues;
+    private final Map<String, SlowConsumerSessionDecorator> sessions = new ConcurrentHashMap<>();
+
+    public SlowConsumerHandlerDecorator(WebSocketHandler delegate, SessionSendQueues sessionSendQueues) {
+        super(delegate);
+        this.sessionSendQueues = sessionSendQueues;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        SlowConsumerSessionDecorator decorated = new SlowConsumerSessionDecorator(session, sessionSendQueues);
+        sessions.put(session.getId(), decorated);
+        super.afterConnectionEstablished(decorated);
+    }
+
+    @Override
+    public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+        super.handleMessage(decorated(session), message);
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+        super.handleTransportError(decorated(session), exception);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        SlowConsumerSessionDecorator decorated = sessions.remove(session.getId());
+        if (decorated == null) {
+            super.afterConnectionClosed(session, closeStatus);
+            return;
+        }
+        decorated.release();
+        super.afterConnectionClosed(decorated, closeStatus);
+    }
+
+    private WebSocketSession decorated(WebSocketSession session) {
+        WebSocketSession decorated = sessions.get(session.getId());
+        return decorated != null ? decorated : session;
+    }
+}
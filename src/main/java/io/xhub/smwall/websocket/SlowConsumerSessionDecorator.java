@@ -0,0 +1,188 @@
+package io.xhub.smwall.websocket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queues outgoing frames per session and writes them from the sender pool. When the queue grows
+ * past the buffer limit the oldest media frames are dropped, since a newer delta or a catch-up
+ * call supersedes them; other frames are kept, and the session is only closed when they alone
+ * exceed the limit or a single write blocks past the send time limit, which the
+ * {@link SessionSendQueues} watchdog checks even while no new frame arrives.
+ */
+@Slf4j
+public class SlowConsumerSessionDecorator extends WebSocketSessionDecorator {
+    private static final String MEDIA_DESTINATION_HEADER = "\ndestination:" + SessionSendQueues.MEDIA_DESTINATION + "\n";
+
+    private final SessionSendQueues sessionSendQueues;
+    private final Deque<WebSocketMessage<?>> queue = new ArrayDeque<>();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final List<Meter> meters;
+    private long bufferSize;
+    private boolean draining;
+    private volatile long sendStartedAt;
+    private volatile boolean closed;
+
+    public SlowConsumerSessionDecorator(WebSocketSession delegate, SessionSendQueues sessionSendQueues) {
+        super(delegate);
+        this.sessionSendQueues = sessionSendQueues;
+        this.meters = List.of(
+                Gauge.builder("smwall.websocket.session.queue.depth", queue, this::queueDepth)
+                        .tag("session", delegate.getId())
+                        .register(sessionSendQueues.getMeterRegistry()),
+                Gauge.builder("smwall.websocket.session.frames.dropped", droppedFrames, AtomicLong::get)
+                        .tag("session", delegate.getId())
+                        .register(sessionSendQueues.getMeterRegistry())
+        );
+        sessionSendQueues.register(this);
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (closed) {
+            return;
+        }
+        if (isSendTimeLimitExceeded()) {
+            closeAsSlow("send time limit exceeded");
+            return;
+        }
+
+        boolean overflow = false;
+        boolean startDraining = false;
+        synchronized (queue) {
+            queue.addLast(message);
+            bufferSize += message.getPayloadLength();
+            while (bufferSize > sessionSendQueues.getTransport().getSendBufferSizeLimit() && dropOldestMediaFrame()) {
+                droppedFrames.incrementAndGet();
+                sessionSendQueues.getDroppedFrames().increment();
+            }
+            if (bufferSize > sessionSendQueues.getTransport().getSendBufferSizeLimit()) {
+                queue.clear();
+                bufferSize = 0;
+                overflow = true;
+            } else if (!draining) {
+                draining = true;
+                startDraining = true;
+            }
+        }
+
+        if (overflow) {
+            closeAsSlow("send buffer size limit exceeded");
+        } else if (startDraining) {
+            try {
+                sessionSendQueues.getSenders().execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                synchronized (queue) {
+                    draining = false;
+                }
+                closeAsSlow("sender pool unavailable");
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            WebSocketMessage<?> message;
+            synchronized (queue) {
+                message = queue.pollFirst();
+                if (message == null || closed) {
+                    draining = false;
+                    return;
+                }
+                bufferSize -= message.getPayloadLength();
+            }
+
+            long start = System.nanoTime();
+            sendStartedAt = start;
+            try {
+                getDelegate().sendMessage(message);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Failed to send frame to WebSocket session {}: {}", getId(), e.getMessage());
+                synchronized (queue) {
+                    queue.clear();
+                    bufferSize = 0;
+                    draining = false;
+                }
+                return;
+            } finally {
+                sendStartedAt = 0;
+                sessionSendQueues.getSendTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private boolean dropOldestMediaFrame() {
+        Iterator<WebSocketMessage<?>> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            WebSocketMessage<?> queued = iterator.next();
+            if (isMediaFrame(queued)) {
+                iterator.remove();
+                bufferSize -= queued.getPayloadLength();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isMediaFrame(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage textMessage)) {
+            return false;
+        }
+        String payload = textMessage.getPayload();
+        int headersEnd = payload.indexOf("\n\n");
+        int destination = payload.indexOf(MEDIA_DESTINATION_HEADER);
+        return payload.startsWith("MESSAGE\n") && destination >= 0 && (headersEnd < 0 || destination < headersEnd);
+    }
+
+    private boolean isSendTimeLimitExceeded() {
+        long started = sendStartedAt;
+        return started != 0 && System.nanoTime() - started > TimeUnit.MILLISECONDS.toNanos(sessionSendQueues.getTransport().getSendTimeLimit());
+    }
+
+    void closeIfSendTimeLimitExceeded() {
+        if (!closed && isSendTimeLimitExceeded()) {
+            closeAsSlow("send time limit exceeded");
+        }
+    }
+
+    private void closeAsSlow(String reason) {
+        log.warn("Closing slow WebSocket session {}: {}", getId(), reason);
+        closed = true;
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("Failed to close WebSocket session {}: {}", getId(), e.getMessage());
+        }
+    }
+
+    private double queueDepth(Deque<WebSocketMessage<?>> frames) {
+        synchronized (frames) {
+            return frames.size();
+        }
+    }
+
+    void release() {
+        closed = true;
+        sessionSendQueues.unregister(this);
+        synchronized (queue) {
+            queue.clear();
+            bufferSize = 0;
+        }
+        meters.forEach(sessionSendQueues.getMeterRegistry()::remove);
+    }
+}
@@ -1,18 +1,23 @@
 import opennsfw2 as n2
+import os
 import sys
 import requests
 from io import BytesIO
 
 
-def calculate_nsfw_probability(imageUrl):
-    response = requests.get(imageUrl)
+def calculate_nsfw_probability(imageSource):
+    # A local path is scored as is, so the caller can hand over bytes it already downloaded
+    if os.path.isfile(imageSource):
+        return n2.predict_image(imageSource)
+
+    response = requests.get(imageSource)
     image = BytesIO(response.content)
     nsfw_probability = n2.predict_image(image)
 
     return nsfw_probability
 
 
-imageUrl = sys.argv[1]
+imageSource = sys.argv[1]
 
-probability = calculate_nsfw_probability(imageUrl)
+probability = calculate_nsfw_probability(imageSource)
 print(probability)
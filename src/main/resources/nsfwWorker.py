@@ -0,0 +1,83 @@
+import base64
+import json
+import sys
+from io import BytesIO
+
+import numpy as np
+import opennsfw2 as n2
+import requests
+from PIL import Image
+
+model = n2.make_open_nsfw_model()
+
+
+def preprocess(content):
+    pil_image = Image.open(BytesIO(content))
+
+    return n2.preprocess_image(pil_image, n2.Preprocessing.YAHOO)
+
+
+def score_image(image_url):
+    response = requests.get(image_url, timeout=30)
+    response.raise_for_status()
+    predictions = model.predict(np.expand_dims(preprocess(response.content), 0), verbose=0)
+
+    return float(predictions[0][1])
+
+
+def score_images(encoded_images):
+    scores = [None] * len(encoded_images)
+    batch = []
+    positions = []
+    for position, encoded_image in enumerate(encoded_images):
+        try:
+            batch.append(preprocess(base64.b64decode(encoded_image)))
+            positions.append(position)
+        except Exception as e:
+            print("Failed to decode image %d: %s" % (position, e), file=sys.stderr)
+
+    if batch:
+        predictions = model.predict(np.stack(batch), verbose=0)
+        for position, prediction in zip(positions, predictions):
+            scores[position] = float(prediction[1])
+
+    return scores
+
+
+def score_video(video_url):
+    elapsed_seconds, nsfw_probabilities = n2.predict_video_frames(video_url)
+
+    return float(max(nsfw_probabilities))
+
+
+def handle(request):
+    op = request.get("op")
+    if op == "ping":
+        return {"id": request.get("id"), "pong": True}
+    if op == "image":
+        return {"id": request.get("id"), "score": score_image(request["url"])}
+    if op == "images":
+        return {"id": request.get("id"), "scores": score_images(request["images"])}
+    if op == "video":
+        return {"id": request.get("id"), "score": score_video(request["url"])}
+    raise ValueError("Unknown op: %s" % op)
+
+
+def respond(message):
+    sys.stdout.write(json.dumps(message) + "\n")
+    sys.stdout.flush()
+
+
+respond({"ready": True})
+
+for line in sys.stdin:
+    line = line.strip()
+    if not line:
+        continue
+
+    request = {}
+    try:
+        request = json.loads(line)
+        respond(handle(request))
+    except Exception as e:
+        respond({"id": request.get("id"), "error": str(e)})
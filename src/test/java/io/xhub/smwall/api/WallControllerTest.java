@@ -2,27 +2,33 @@ package io.xhub.smwall.api;
 
 import io.xhub.smwall.domains.BinaryImage;
 import io.xhub.smwall.domains.WallSetting;
+import io.xhub.smwall.dto.WallBootstrapDTO;
+import io.xhub.smwall.dto.WallHeaderDTO;
 import io.xhub.smwall.dto.WallSettingDTO;
 import io.xhub.smwall.mappers.WallSettingMapper;
 import io.xhub.smwall.service.WallService;
+import io.xhub.smwall.service.blob.ImageContent;
+import io.xhub.smwall.service.wall.WallBootstrapService;
 import io.xhub.smwall.utlis.JsonUtils;
-import org.bson.BsonBinarySubType;
-import org.bson.types.Binary;
 import org.junit.jupiter.api.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.Map;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -40,11 +46,14 @@ class WallControllerTest {
     @MockBean
     private WallSettingMapper mockWallSettingMapper;
 
+    @MockBean
+    private WallBootstrapService mockWallBootstrapService;
+
     @Test
     void should_getLatestWallSetting() throws Exception {
 
         BinaryImage logo = new BinaryImage();
-        logo.setValue(new Binary(BsonBinarySubType.BINARY, "content".getBytes()));
+        logo.setBlobId("blobId");
         logo.setContentType("contentType");
 
         WallSetting wallSetting = new WallSetting(
@@ -59,7 +68,9 @@ class WallControllerTest {
                 "123",
                 "This is the title",
                 "This is the filename",
-                "This is the logoBase64"
+                "/api/v1/wall/settings/logo/hash",
+                "hash",
+                Map.of(64, "/api/v1/wall/settings/logo/hash?size=64")
         );
 
         when(mockWallSettingMapper.toDTO(any(WallSetting.class))).thenReturn(wallSettingDTO);
@@ -71,4 +82,49 @@ class WallControllerTest {
                 .andReturn().getResponse();
     }
 
+    @Test
+    void should_getWallSettingLogo_withImmutableCaching() throws Exception {
+        ImageContent logo = new ImageContent(new ByteArrayResource("content".getBytes()), "image/png");
+
+        when(mockWallService.getWallSettingLogo("hash", null)).thenReturn(logo);
+
+        mockMvc.perform(get("/api/v1/wall/settings/logo/hash"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"hash\""))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                .andExpect(content().bytes("content".getBytes()));
+
+        mockMvc.perform(get("/api/v1/wall/settings/logo/hash")
+                        .header("If-None-Match", "\"hash\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void should_getWallSettingLogoRange() throws Exception {
+        ImageContent logo = new ImageContent(new ByteArrayResource("content".getBytes()), "image/png");
+
+        when(mockWallService.getWallSettingLogo("hash", null)).thenReturn(logo);
+
+        mockMvc.perform(get("/api/v1/wall/settings/logo/hash")
+                        .header("Range", "bytes=0-2"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes("con".getBytes()));
+    }
+
+    @Test
+    void should_getWallBootstrap() throws Exception {
+        WallHeaderDTO wallHeaderDTO = new WallHeaderDTO();
+        wallHeaderDTO.setTitle("This is the title");
+        wallHeaderDTO.setLogoUrl("This is the logoUrl");
+
+        WallBootstrapDTO wallBootstrapDTO = new WallBootstrapDTO(wallHeaderDTO, null, null, null, null);
+
+        when(mockWallBootstrapService.getWallBootstrap()).thenReturn(wallBootstrapDTO);
+
+        mockMvc.perform(get("/api/v1/wall/bootstrap")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(JsonUtils.toJsonString(wallBootstrapDTO)));
+    }
+
 }
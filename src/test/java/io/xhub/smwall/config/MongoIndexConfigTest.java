@@ -0,0 +1,54 @@
+package io.xhub.smwall.config;
+
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.domains.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MongoIndexConfigTest {
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private IndexOperations mediaIndexOperations;
+    @Mock
+    private IndexOperations otherIndexOperations;
+
+    @Test
+    void should_ensureEveryDeclaredIndex_andKeepGoing_when_oneFails() {
+        when(mongoTemplate.indexOps(any(Class.class))).thenAnswer(invocation ->
+                invocation.getArgument(0) == Media.class ? mediaIndexOperations : otherIndexOperations);
+        when(mediaIndexOperations.ensureIndex(any(IndexDefinition.class)))
+                .thenThrow(new IllegalStateException("index conflict"))
+                .thenReturn("created");
+
+        new MongoIndexConfig(mongoTemplate).createIndexes();
+
+        List<IndexDefinition> mediaIndexes = MongoIndexConfig.declaredIndexes().get(Media.class);
+        int otherIndexes = MongoIndexConfig.declaredIndexes().entrySet().stream()
+                .filter(entry -> entry.getKey() != Media.class)
+                .map(Map.Entry::getValue)
+                .mapToInt(Collection::size)
+                .sum();
+        verify(mediaIndexOperations, times(mediaIndexes.size())).ensureIndex(any(IndexDefinition.class));
+        verify(otherIndexOperations, times(otherIndexes)).ensureIndex(any(IndexDefinition.class));
+        verify(mediaIndexOperations).ensureIndex(argThat(index -> "pinned_unique".equals(index.getIndexOptions().get("name"))
+                && Boolean.TRUE.equals(index.getIndexOptions().get("unique"))));
+        verify(otherIndexOperations).ensureIndex(argThat(index -> "email_ci".equals(index.getIndexOptions().get("name"))
+                && index.getIndexOptions().containsKey("collation")));
+        verify(mongoTemplate).indexOps(User.class);
+    }
+}
@@ -0,0 +1,73 @@
+package io.xhub.smwall.config;
+
+import com.mongodb.client.MongoDatabase;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.repositories.MediaRepository;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.util.Streamable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RepositoryIndexReportTest {
+    @Mock
+    private ApplicationContext applicationContext;
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private MongoDatabase mongoDatabase;
+    @Mock
+    private RepositoryInformation repositoryInformation;
+    private RepositoryIndexReport repositoryIndexReport;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        repositoryIndexReport = new RepositoryIndexReport(applicationContext, mongoTemplate, new MongoMappingContext());
+        when(repositoryInformation.getQueryMethods()).thenReturn(Streamable.of(MediaRepository.class.getMethod("findByPinned", boolean.class)));
+        when(mongoTemplate.getCollectionName(Media.class)).thenReturn("media");
+        when(mongoTemplate.getDb()).thenReturn(mongoDatabase);
+    }
+
+    @Test
+    void should_flagQuery_when_winningPlanIsCollectionScan() {
+        doReturn(MediaRepository.class).when(repositoryInformation).getRepositoryInterface();
+        when(mongoDatabase.runCommand(any(Bson.class))).thenReturn(plan(new Document("stage", "COLLSCAN")));
+
+        List<String> unsupported = repositoryIndexReport.unsupportedQueries(Media.class, repositoryInformation);
+
+        assertEquals(List.of("MediaRepository.findByPinned"), unsupported);
+        ArgumentCaptor<Bson> command = ArgumentCaptor.forClass(Bson.class);
+        verify(mongoDatabase).runCommand(command.capture());
+        Document find = ((Document) command.getValue()).get("explain", Document.class);
+        assertEquals("media", find.getString("find"));
+        assertEquals(new Document("pinned", true), find.get("filter", Document.class));
+    }
+
+    @Test
+    void should_notFlagQuery_when_planUsesIndex() {
+        doReturn(MediaRepository.class).when(repositoryInformation).getRepositoryInterface();
+        Document fetch = new Document("stage", "FETCH").append("inputStage", new Document("stage", "IXSCAN"));
+        when(mongoDatabase.runCommand(any(Bson.class))).thenReturn(plan(fetch));
+
+        assertEquals(List.of(), repositoryIndexReport.unsupportedQueries(Media.class, repositoryInformation));
+    }
+
+    private Document plan(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+}
@@ -0,0 +1,64 @@
+package io.xhub.smwall.filter;
+
+import io.xhub.smwall.config.LocalTextFilterProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalTextClassifierTest {
+    private LocalTextClassifier localTextClassifier;
+
+    @BeforeEach
+    void setUp() {
+        LocalTextFilterProperties properties = new LocalTextFilterProperties();
+        properties.setBlocklist(List.of("shit", "kys", "kill yourself"));
+        properties.setAllowlist(List.of("great", "day", "thank you"));
+        localTextClassifier = new LocalTextClassifier(properties, new DefaultResourceLoader());
+    }
+
+    @Test
+    void should_acceptLocally_when_textIsOnlyAllowedWords() {
+        assertTrue(localTextClassifier.classify("\uD83C\uDF89 #great #day"));
+        assertTrue(localTextClassifier.classify("Great day, thank you! \uD83C\uDF89"));
+    }
+
+    @Test
+    void should_deferToRemote_when_textIsOnlyTagsOrLinks() {
+        assertNull(localTextClassifier.classify("#XHub @smwall \uD83C\uDF89"));
+        assertNull(localTextClassifier.classify("#you_are_a_loser"));
+        assertNull(localTextClassifier.classify("https://xhub.io"));
+    }
+
+    @Test
+    void should_rejectLocally_when_blockedTermIsMatched() {
+        assertFalse(localTextClassifier.classify("What a SHIT day"));
+        assertFalse(localTextClassifier.classify("just kill yourself"));
+        assertFalse(localTextClassifier.classify("#shit"));
+    }
+
+    @Test
+    void should_deferToRemote_when_blockedTermIsPartOfTag() {
+        assertNull(localTextClassifier.classify("#holyshit"));
+        assertNull(localTextClassifier.classify("#shitake #great"));
+        assertNull(localTextClassifier.classify("#skyscraper"));
+    }
+
+    @Test
+    void should_notMatchBlockedTerm_when_itIsPartOfAnotherWord() {
+        assertNull(localTextClassifier.classify("shitake mushrooms"));
+    }
+
+    @Test
+    void should_rejectLocally_when_textUsesUnsupportedScript() {
+        assertFalse(localTextClassifier.classify("\u041F\u0440\u0438\u0432\u0435\u0442 \u0432\u0441\u0435\u043C"));
+    }
+
+    @Test
+    void should_deferToRemote_when_textIsAmbiguous() {
+        assertNull(localTextClassifier.classify("Meeting the new interns this afternoon"));
+    }
+}
@@ -0,0 +1,161 @@
+package io.xhub.smwall.filter;
+
+import io.xhub.smwall.config.ModerationProperties;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.enumeration.MediaType;
+import io.xhub.smwall.filter.filterMedia.FilterMedia;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ModerationPipelineTest {
+    @Mock
+    private ContentTextFiltering contentTextFiltering;
+    @Mock
+    private FilterMedia filterMedia;
+    private ModerationPipeline moderationPipeline;
+
+    @BeforeEach
+    void setUp() {
+        ModerationProperties moderationProperties = new ModerationProperties();
+        moderationProperties.setConcurrency(2);
+        moderationProperties.setBatchTimeout(1);
+        moderationPipeline = new ModerationPipeline(contentTextFiltering, filterMedia, moderationProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        moderationPipeline.shutdown();
+    }
+
+    @Test
+    void should_markMediaClean_when_textAndContentAreClean() {
+        Media media = new Media();
+        media.setId("id");
+        media.setText("text");
+
+        when(contentTextFiltering.isTextClean("text")).thenReturn(true);
+        when(filterMedia.isContentClean(media)).thenReturn(true);
+
+        moderationPipeline.moderate(List.of(media));
+
+        assertTrue(media.getClean());
+        assertFalse(media.getHidden());
+        assertTrue(media.getAnalyzed());
+    }
+
+    @Test
+    void should_hideMediaWithoutContentAnalysis_when_textIsNotClean() {
+        Media media = new Media();
+        media.setId("id");
+        media.setText("toxic");
+
+        when(contentTextFiltering.isTextClean("toxic")).thenReturn(false);
+
+        moderationPipeline.moderate(List.of(media));
+
+        assertFalse(media.getClean());
+        assertTrue(media.getHidden());
+        assertTrue(media.getAnalyzed());
+        verify(filterMedia, never()).isContentClean(any(Media.class));
+    }
+
+    @Test
+    void should_scoreImagesInOneBatch_when_textIsClean() {
+        Media cleanImage = new Media();
+        cleanImage.setId("clean");
+        cleanImage.setText("clean");
+        cleanImage.setType(MediaType.IMAGE);
+
+        Media nsfwImage = new Media();
+        nsfwImage.setId("nsfw");
+        nsfwImage.setText("nsfw");
+        nsfwImage.setType(MediaType.IMAGE);
+
+        when(contentTextFiltering.isTextClean(anyString())).thenReturn(true);
+        when(filterMedia.areImagesClean(List.of(cleanImage, nsfwImage))).thenReturn(List.of(true, false));
+
+        moderationPipeline.moderate(List.of(cleanImage, nsfwImage));
+
+        assertFalse(cleanImage.getHidden());
+        assertTrue(nsfwImage.getHidden());
+        assertTrue(nsfwImage.getAnalyzed());
+        verify(filterMedia, never()).isContentClean(any(Media.class));
+    }
+
+    @Test
+    void should_keepImagePending_when_itHasNoVerdict() {
+        Media scoredImage = new Media();
+        scoredImage.setId("scored");
+        scoredImage.setText("scored");
+        scoredImage.setType(MediaType.IMAGE);
+
+        Media oversizeImage = new Media();
+        oversizeImage.setId("oversize");
+        oversizeImage.setText("oversize");
+        oversizeImage.setType(MediaType.IMAGE);
+
+        when(contentTextFiltering.isTextClean(anyString())).thenReturn(true);
+        when(filterMedia.areImagesClean(List.of(scoredImage, oversizeImage))).thenReturn(Arrays.asList(true, null));
+
+        moderationPipeline.moderate(List.of(scoredImage, oversizeImage));
+
+        assertTrue(scoredImage.getAnalyzed());
+        assertFalse(scoredImage.getHidden());
+        assertFalse(oversizeImage.getAnalyzed());
+        assertTrue(oversizeImage.getHidden());
+        assertFalse(oversizeImage.getClean());
+    }
+
+    @Test
+    void should_keepMediaPending_when_contentCannotBeScored() {
+        Media media = new Media();
+        media.setId("id");
+        media.setText("text");
+
+        when(contentTextFiltering.isTextClean("text")).thenReturn(true);
+        when(filterMedia.isContentClean(media)).thenReturn(null);
+
+        moderationPipeline.moderate(List.of(media));
+
+        assertFalse(media.getAnalyzed());
+        assertTrue(media.getHidden());
+    }
+
+    @Test
+    void should_storeMediaAsUnanalyzedAndHidden_when_deadlineIsMissed() {
+        Media slowMedia = new Media();
+        slowMedia.setId("slow");
+        slowMedia.setText("slow");
+
+        Media fastMedia = new Media();
+        fastMedia.setId("fast");
+        fastMedia.setText("fast");
+
+        when(contentTextFiltering.isTextClean("slow")).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return true;
+        });
+        when(contentTextFiltering.isTextClean("fast")).thenReturn(true);
+        when(filterMedia.isContentClean(fastMedia)).thenReturn(true);
+
+        moderationPipeline.moderate(List.of(slowMedia, fastMedia));
+
+        assertFalse(slowMedia.getAnalyzed());
+        assertTrue(slowMedia.getHidden());
+        assertTrue(fastMedia.getAnalyzed());
+        assertFalse(fastMedia.getHidden());
+    }
+}
@@ -0,0 +1,70 @@
+package io.xhub.smwall.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.xhub.smwall.config.ModerationProperties;
+import io.xhub.smwall.constants.CacheNames;
+import io.xhub.smwall.repositories.ModerationVerdictRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class ModerationVerdictCacheTest {
+    @Mock
+    private ModerationVerdictRepository moderationVerdictRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private ModerationVerdictCache moderationVerdictCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        moderationVerdictCache = new ModerationVerdictCache(
+                new ConcurrentMapCacheManager(CacheNames.MODERATION_VERDICTS),
+                moderationVerdictRepository,
+                new ModerationProperties(),
+                meterRegistry
+        );
+    }
+
+    @Test
+    void should_produceSameTextKey_when_captionsDifferOnlyByCaseAndWhitespace() {
+        assertEquals(
+                ModerationVerdictCache.textKey("Hello   #XHub\n"),
+                ModerationVerdictCache.textKey("hello #xhub")
+        );
+        assertNotEquals(
+                ModerationVerdictCache.textKey("hello #xhub"),
+                ModerationVerdictCache.textKey("hello #wall")
+        );
+    }
+
+    @Test
+    void should_returnCachedVerdict_when_keyWasStored() {
+        String key = ModerationVerdictCache.mediaKey(new byte[]{1, 2, 3});
+
+        assertEquals(Optional.empty(), moderationVerdictCache.find(key));
+        moderationVerdictCache.put(key, Boolean.FALSE);
+
+        assertEquals(Optional.of(Boolean.FALSE), moderationVerdictCache.find(key));
+        assertEquals(1, meterRegistry.get("smwall.moderation.verdict.cache").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("smwall.moderation.verdict.cache").tag("result", "miss").counter().count());
+        verifyNoInteractions(moderationVerdictRepository);
+    }
+
+    @Test
+    void should_notCacheMissingVerdict() {
+        String key = ModerationVerdictCache.textKey("caption");
+
+        moderationVerdictCache.put(key, null);
+
+        assertTrue(moderationVerdictCache.find(key).isEmpty());
+    }
+}
@@ -1,11 +1,15 @@
 package io.xhub.smwall.service;
 
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
 import io.xhub.smwall.domains.Media;
 import io.xhub.smwall.events.media.MediaCreatedEvent;
+import io.xhub.smwall.events.media.MediaHiddenEvent;
+import io.xhub.smwall.events.media.MediaUpdatedEvent;
 import io.xhub.smwall.exceptions.BusinessException;
-import io.xhub.smwall.filter.ContentTextFiltering;
-import io.xhub.smwall.filter.filterMedia.FilterMedia;
+import io.xhub.smwall.filter.ModerationPipeline;
 import io.xhub.smwall.repositories.MediaRepository;
+import io.xhub.smwall.service.ingestion.MediaIngestionResult;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +28,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.powermock.api.mockito.PowerMockito.doReturn;
@@ -37,9 +43,7 @@ public class MediaServiceTest {
     @Mock
     private WebSocketService webSocketService;
     @Mock
-    private ContentTextFiltering contentTextFiltering;
-    @Mock
-    private FilterMedia filterMedia;
+    private ModerationPipeline moderationPipeline;
     @InjectMocks
     private MediaService mediaService;
 
@@ -50,8 +54,7 @@ public class MediaServiceTest {
                 applicationEventPublisher,
                 mediaRepository,
                 webSocketService,
-                contentTextFiltering,
-                filterMedia
+                moderationPipeline
         );
 
     }
@@ -100,6 +103,8 @@ public class MediaServiceTest {
         Assertions.assertEquals(true, media.getHidden());
 
         verify(mediaRepository).save(any(Media.class));
+        verify(applicationEventPublisher).publishEvent(any(MediaHiddenEvent.class));
+        verify(applicationEventPublisher, never()).publishEvent(any(MediaUpdatedEvent.class));
         verify(webSocketService).sendNewMediaVisibilityStatus(any(Media.class));
     }
 
@@ -159,19 +164,62 @@ public class MediaServiceTest {
 
         List<Media> mediaList = Arrays.asList(firstMedia, secondMedia);
 
-        doReturn(false).when(mediaRepository).findByIdAndAnalyzedTrue(anyString());
-        doReturn(true).when(contentTextFiltering).textFiltering(any(Media.class));
+        BulkWriteResult writeResult = mock(BulkWriteResult.class);
+        doReturn(List.of(mock(BulkWriteUpsert.class), mock(BulkWriteUpsert.class))).when(writeResult).getUpserts();
 
-        when(mediaRepository.saveAll(mediaList)).thenReturn(mediaList);
+        doReturn(Collections.emptyList()).when(mediaRepository).findAnalyzedIdsByIdIn(anyList());
+        when(mediaRepository.upsertAll(mediaList)).thenReturn(writeResult);
 
-        mediaService.addAllMedia(mediaList);
+        MediaIngestionResult result = mediaService.addAllMedia(mediaList);
 
-        verify(mediaRepository).saveAll(mediaList);
+        verify(moderationPipeline).moderate(mediaList);
+        verify(mediaRepository).upsertAll(mediaList);
         verify(applicationEventPublisher).publishEvent(any(MediaCreatedEvent.class));
+        Assertions.assertEquals(2, result.getInserted());
+        Assertions.assertEquals(0, result.getSkipped());
         Assertions.assertEquals(2, mediaList.size());
         Assertions.assertEquals("firstId", mediaList.get(0).getId());
         Assertions.assertEquals("secondId", mediaList.get(1).getId());
     }
 
+    @Test
+    void should_skipAnalyzedMedia_when_addingAllMedia() {
+
+        Media analyzedMedia = new Media();
+        analyzedMedia.setId("analyzedId");
+
+        Media newMedia = new Media();
+        newMedia.setId("newId");
+        newMedia.setText("someText");
+
+        BulkWriteResult writeResult = mock(BulkWriteResult.class);
+        doReturn(List.of(mock(BulkWriteUpsert.class))).when(writeResult).getUpserts();
+
+        doReturn(List.of(analyzedMedia)).when(mediaRepository).findAnalyzedIdsByIdIn(anyList());
+        when(mediaRepository.upsertAll(List.of(newMedia))).thenReturn(writeResult);
+
+        MediaIngestionResult result = mediaService.addAllMedia(List.of(analyzedMedia, newMedia));
+
+        verify(moderationPipeline).moderate(List.of(newMedia));
+        Assertions.assertEquals(1, result.getInserted());
+        Assertions.assertEquals(1, result.getSkipped());
+    }
+
+    @Test
+    void should_notWriteAnything_when_allMediaAlreadyAnalyzed() {
+
+        Media analyzedMedia = new Media();
+        analyzedMedia.setId("analyzedId");
+
+        doReturn(List.of(analyzedMedia)).when(mediaRepository).findAnalyzedIdsByIdIn(anyList());
+
+        MediaIngestionResult result = mediaService.addAllMedia(List.of(analyzedMedia));
+
+        verify(moderationPipeline, never()).moderate(anyList());
+        verify(mediaRepository, never()).upsertAll(anyList());
+        verify(applicationEventPublisher, never()).publishEvent(any(MediaCreatedEvent.class));
+        Assertions.assertEquals(1, result.getSkipped());
+    }
+
 
 }
@@ -6,6 +6,8 @@ import io.xhub.smwall.domains.BinaryImage;
 import io.xhub.smwall.domains.WallSetting;
 import io.xhub.smwall.exceptions.BusinessException;
 import io.xhub.smwall.repositories.WallSettingRepository;
+import io.xhub.smwall.service.blob.ImageContent;
+import io.xhub.smwall.service.blob.ImageStore;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
@@ -17,9 +19,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Optional;
 import java.util.Set;
 
@@ -33,6 +38,8 @@ import static org.mockito.Mockito.*;
 public class WallSettingServiceTest {
     @Mock
     private WallSettingRepository wallSettingRepository;
+    @Mock
+    private ImageStore imageStore;
     @InjectMocks
     private WallService wallService;
     private WallSettingAddCommand addCommand;
@@ -41,7 +48,7 @@ public class WallSettingServiceTest {
 
     @BeforeEach
     void setUp() {
-        wallService = new WallService(wallSettingRepository);
+        wallService = new WallService(wallSettingRepository, imageStore);
         addCommand = new WallSettingAddCommand(
                 "Title 1",
                 new MockMultipartFile(
@@ -70,7 +77,7 @@ public class WallSettingServiceTest {
         WallSetting wallSetting = new WallSetting();
         wallSetting.setId("wallSettingId");
         wallSetting.setTitle(addCommand.getTitle());
-        wallSetting.initLogo(addCommand.getLogo());
+        wallSetting.setLogo(logo());
 
         when(wallSettingRepository.findFirstByOrderByCreatedAtDesc())
                 .thenReturn(Optional.of(wallSetting));
@@ -81,13 +88,38 @@ public class WallSettingServiceTest {
     }
 
     @Test
-    void should_updateWallSetting_and_perform_Validation_when_WallSettingIsValid() {
+    void should_getWallSettingLogo_when_HashIsKnown() {
+        WallSetting wallSetting = new WallSetting();
+        wallSetting.setId("wallSettingId");
+        wallSetting.setLogo(logo());
+
+        when(wallSettingRepository.findFirstByLogoHash(wallSetting.getLogo().getHash()))
+                .thenReturn(Optional.of(wallSetting));
+
+        ImageContent content = new ImageContent(new ByteArrayResource(new byte[]{1, 2, 3, 4}), "image/png");
+        when(imageStore.open(wallSetting.getLogo(), null)).thenReturn(content);
+
+        ImageContent logo = wallService.getWallSettingLogo(wallSetting.getLogo().getHash(), null);
+
+        assertEquals(content, logo);
+    }
+
+    @Test
+    void should_throwBusinessException_when_LogoHashIsUnknown() {
+        when(wallSettingRepository.findFirstByLogoHash("unknown")).thenReturn(Optional.empty());
+
+        assertThrows(BusinessException.class, () -> wallService.getWallSettingLogo("unknown", null));
+    }
+
+    @Test
+    void should_updateWallSetting_and_perform_Validation_when_WallSettingIsValid() throws IOException {
         WallSetting wallSetting = new WallSetting();
         wallSetting.setId("wallSettingId");
         wallSetting.setTitle("Old Title");
 
         Mockito.when(wallSettingRepository.findById(wallSetting.getId())).thenReturn(Optional.of(wallSetting));
         Mockito.when(wallSettingRepository.save(any(WallSetting.class))).thenReturn(wallSetting);
+        Mockito.when(imageStore.store(any(MultipartFile.class))).thenReturn(logo());
 
         WallSetting updateWallSetting = wallService.updateWallSetting(wallSetting.getId(), updateCommand);
         Set<ConstraintViolation<WallSettingUpdateCommand>> violations = validator.validate(updateCommand);
@@ -108,7 +140,8 @@ public class WallSettingServiceTest {
 
     @Test
     void should_addWallSetting_when_WallSettingIsValid() throws IOException {
-        WallSetting expectedWallSetting = WallSetting.create(addCommand);
+        WallSetting expectedWallSetting = WallSetting.create(addCommand, logo());
+        when(imageStore.store(any(MultipartFile.class))).thenReturn(expectedWallSetting.getLogo());
         when(wallSettingRepository.save(any())).thenReturn(expectedWallSetting);
 
         WallSetting result = wallService.addWallSetting(addCommand);
@@ -118,4 +151,8 @@ public class WallSettingServiceTest {
         verify(wallSettingRepository, times(1)).save(any());
     }
 
+    private BinaryImage logo() {
+        return new BinaryImage("blobId", "image/png", "logo1.png", "hash", 4, new ArrayList<>());
+    }
+
 }
@@ -0,0 +1,96 @@
+package io.xhub.smwall.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.xhub.smwall.config.MetaProperties;
+import io.xhub.smwall.config.YoutubeProperties;
+import io.xhub.smwall.exceptions.BusinessException;
+import io.xhub.smwall.service.ingestion.MetaWebhookIngestionWorker;
+import io.xhub.smwall.service.ingestion.YoutubeHubSubscriptionManager;
+import io.xhub.smwall.service.ingestion.YoutubeWebhookIngestionWorker;
+import io.xhub.smwall.utlis.HashUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class WebhooksServiceTest {
+    private static final String APP_SECRET = "app-secret";
+    private static final byte[] PAYLOAD = ("{\"object\":\"instagram\",\"entry\":[{\"id\":\"17841400000000000\",\"time\":1700000000,"
+            + "\"changes\":[{\"field\":\"mentions\",\"value\":{\"media_id\":\"111\"}},"
+            + "{\"field\":\"mentions\",\"value\":{\"media_id\":\"333\",\"comment_id\":\"999\"}},"
+            + "{\"field\":\"comments\",\"value\":{\"id\":\"888\",\"text\":\"hello\",\"media\":{\"id\":\"222\",\"media_product_type\":\"FEED\"}}},"
+            + "{\"field\":\"mentions\",\"value\":{\"media_id\":\"111\"}}]}]}").getBytes(StandardCharsets.UTF_8);
+
+    private static final String HUB_SECRET = "hub-secret";
+    private static final byte[] YOUTUBE_PAYLOAD = ("<?xml version='1.0' encoding='UTF-8'?>"
+            + "<feed xmlns:yt=\"http://www.youtube.com/xml/schemas/2015\" xmlns=\"http://www.w3.org/2005/Atom\">"
+            + "<entry><id>yt:video:VIDEO_ID_1</id><yt:videoId>VIDEO_ID_1</yt:videoId><yt:channelId>CHANNEL</yt:channelId></entry>"
+            + "</feed>").getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private MetaWebhookIngestionWorker metaWebhookIngestionWorker;
+
+    @Mock
+    private YoutubeWebhookIngestionWorker youtubeWebhookIngestionWorker;
+
+    @Mock
+    private YoutubeHubSubscriptionManager youtubeHubSubscriptionManager;
+
+    private WebhooksService webhooksService;
+
+    @BeforeEach
+    void setup() {
+        MetaProperties metaProperties = new MetaProperties();
+        metaProperties.setAppSecret(APP_SECRET);
+        YoutubeProperties youtubeProperties = new YoutubeProperties();
+        youtubeProperties.getHub().setSecret(HUB_SECRET);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        webhooksService = new WebhooksService(metaProperties, youtubeProperties, metaWebhookIngestionWorker,
+                youtubeWebhookIngestionWorker, youtubeHubSubscriptionManager, objectMapper);
+    }
+
+    @Test
+    void should_enqueueOnlyCaptionMentions_when_SignatureIsValid() {
+        webhooksService.handleMetaNotification(PAYLOAD, "sha256=" + HashUtils.hmacSha256(APP_SECRET, PAYLOAD));
+
+        verify(metaWebhookIngestionWorker).enqueue(List.of("111"));
+    }
+
+    @Test
+    void should_throwBusinessException_when_SignatureDoesNotMatch() {
+        String signature = "sha256=" + HashUtils.hmacSha256("other-secret", PAYLOAD);
+
+        assertThrows(BusinessException.class, () -> webhooksService.handleMetaNotification(PAYLOAD, signature));
+        verifyNoInteractions(metaWebhookIngestionWorker);
+    }
+
+    @Test
+    void should_throwBusinessException_when_SignatureIsMissing() {
+        assertThrows(BusinessException.class, () -> webhooksService.handleMetaNotification(PAYLOAD, null));
+        verifyNoInteractions(metaWebhookIngestionWorker);
+    }
+
+    @Test
+    void should_enqueueVideoIds_when_YouTubeSignatureIsValid() {
+        webhooksService.handleYouTubeNotification(YOUTUBE_PAYLOAD, "sha1=" + HashUtils.hmacSha1(HUB_SECRET, YOUTUBE_PAYLOAD));
+
+        verify(youtubeWebhookIngestionWorker).enqueue(List.of("VIDEO_ID_1"));
+    }
+
+    @Test
+    void should_ignoreYouTubeNotification_when_SignatureDoesNotMatch() {
+        webhooksService.handleYouTubeNotification(YOUTUBE_PAYLOAD, "sha1=" + HashUtils.hmacSha1("other-secret", YOUTUBE_PAYLOAD));
+
+        verifyNoInteractions(youtubeWebhookIngestionWorker);
+    }
+}
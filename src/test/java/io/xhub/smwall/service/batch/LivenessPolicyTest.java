@@ -0,0 +1,49 @@
+package io.xhub.smwall.service.batch;
+
+import io.xhub.smwall.config.MediaCleanupProperties;
+import io.xhub.smwall.domains.MediaLiveness;
+import io.xhub.smwall.enumeration.UrlStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LivenessPolicyTest {
+    private final LivenessPolicy livenessPolicy = new LivenessPolicy(new MediaCleanupProperties());
+    private final Instant now = Instant.parse("2024-01-10T00:00:00Z");
+
+    @Test
+    void should_recheckNewMediaOften_and_oldMediaRarely() {
+        MediaLiveness fresh = livenessPolicy.next(null, UrlStatus.ALIVE, now.minus(Duration.ofHours(2)), now);
+        MediaLiveness old = livenessPolicy.next(null, UrlStatus.ALIVE, now.minus(Duration.ofDays(60)), now);
+
+        assertEquals(now.plus(Duration.ofHours(1)), fresh.getNextCheckAt());
+        assertEquals(now.plus(Duration.ofDays(7)), old.getNextCheckAt());
+        assertEquals(0, old.getConsecutiveFailures());
+    }
+
+    @Test
+    void should_backOffAndDelete_when_urlKeepsFailing() {
+        MediaLiveness first = livenessPolicy.next(null, UrlStatus.DEAD, now, now);
+        MediaLiveness second = livenessPolicy.next(first, UrlStatus.DEAD, now, now);
+        MediaLiveness third = livenessPolicy.next(second, UrlStatus.DEAD, now, now);
+
+        assertEquals(now.plus(Duration.ofHours(1)), first.getNextCheckAt());
+        assertEquals(now.plus(Duration.ofHours(2)), second.getNextCheckAt());
+        assertFalse(livenessPolicy.shouldDelete(second));
+        assertTrue(livenessPolicy.shouldDelete(third));
+    }
+
+    @Test
+    void should_keepFailureCount_when_statusIsUnknown() {
+        MediaLiveness dead = livenessPolicy.next(null, UrlStatus.DEAD, now, now);
+        MediaLiveness unknown = livenessPolicy.next(dead, UrlStatus.UNKNOWN, now, now);
+        MediaLiveness alive = livenessPolicy.next(unknown, UrlStatus.ALIVE, now, now);
+
+        assertEquals(1, unknown.getConsecutiveFailures());
+        assertFalse(livenessPolicy.shouldDelete(unknown));
+        assertEquals(0, alive.getConsecutiveFailures());
+    }
+}
@@ -0,0 +1,112 @@
+package io.xhub.smwall.service.batch;
+
+import io.xhub.smwall.config.MediaCleanupProperties;
+import io.xhub.smwall.domains.JobCheckpoint;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.enumeration.UrlStatus;
+import io.xhub.smwall.events.media.MediaDeletedEvent;
+import io.xhub.smwall.repositories.JobCheckpointRepository;
+import io.xhub.smwall.repositories.MediaRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MediaCleanupServiceTest {
+    private static final String CHECKPOINT_ID = "mediaCleanup";
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private MediaRepository mediaRepository;
+    @Mock
+    private JobCheckpointRepository jobCheckpointRepository;
+    @Mock
+    private UrlLivenessChecker urlLivenessChecker;
+    private MediaCleanupService mediaCleanupService;
+
+    @BeforeEach
+    void setUp() {
+        MediaCleanupProperties properties = new MediaCleanupProperties();
+        properties.setPageSize(2);
+        properties.setDeleteAfterFailures(1);
+        mediaCleanupService = new MediaCleanupService(eventPublisher, mongoTemplate, mediaRepository, jobCheckpointRepository,
+                urlLivenessChecker, new LivenessPolicy(properties), properties);
+    }
+
+    @Test
+    void should_resumeAfterCheckpoint() {
+        when(jobCheckpointRepository.findById(CHECKPOINT_ID)).thenReturn(Optional.of(new JobCheckpoint(CHECKPOINT_ID, "m5", Instant.now())));
+        when(mongoTemplate.find(any(Query.class), eq(Media.class))).thenReturn(List.of());
+
+        mediaCleanupService.deleteInvalidMedia();
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Media.class));
+        assertEquals("m5", query.getValue().getQueryObject().get("_id", Document.class).get("$gt"));
+        verifyNoInteractions(urlLivenessChecker);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_deleteDeadMedia_and_publishDeletion() {
+        when(jobCheckpointRepository.findById(CHECKPOINT_ID)).thenReturn(Optional.empty());
+        when(mongoTemplate.find(any(Query.class), eq(Media.class))).thenReturn(List.of(media("m1"), media("m2")), List.of());
+        when(urlLivenessChecker.checkAll(List.of("https://cdn/m1", "https://cdn/m2"))).thenReturn(List.of(UrlStatus.DEAD, UrlStatus.ALIVE));
+
+        mediaCleanupService.deleteInvalidMedia();
+
+        verify(mediaRepository).deleteAllById(List.of("m1"));
+        ArgumentCaptor<MediaDeletedEvent> event = ArgumentCaptor.forClass(MediaDeletedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of("m1"), event.getValue().getMediaIds());
+        ArgumentCaptor<List<Media>> checkedMedia = ArgumentCaptor.forClass(List.class);
+        verify(mediaRepository).updateLiveness(checkedMedia.capture());
+        assertEquals(List.of("m2"), checkedMedia.getValue().stream().map(Media::getId).toList());
+    }
+
+    @Test
+    void should_saveCheckpointPerPage_and_deleteIt_when_runCompletes() {
+        when(jobCheckpointRepository.findById(CHECKPOINT_ID)).thenReturn(Optional.empty());
+        when(mongoTemplate.find(any(Query.class), eq(Media.class))).thenReturn(List.of(media("m1"), media("m2")), List.of(media("m3")));
+        when(urlLivenessChecker.checkAll(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).stream()
+                .map(url -> UrlStatus.ALIVE)
+                .toList());
+
+        mediaCleanupService.deleteInvalidMedia();
+
+        ArgumentCaptor<JobCheckpoint> checkpoint = ArgumentCaptor.forClass(JobCheckpoint.class);
+        verify(jobCheckpointRepository, times(2)).save(checkpoint.capture());
+        assertEquals("m3", checkpoint.getValue().getLastId());
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(Media.class));
+        verify(jobCheckpointRepository).deleteById(CHECKPOINT_ID);
+        verify(mediaRepository, never()).deleteAllById(anyList());
+    }
+
+    private Media media(String id) {
+        Media media = new Media();
+        media.setId(id);
+        media.setUrl("https://cdn/" + id);
+        media.setTimestamp(Instant.now());
+        return media;
+    }
+}
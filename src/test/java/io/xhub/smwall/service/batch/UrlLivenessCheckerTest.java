@@ -0,0 +1,75 @@
+package io.xhub.smwall.service.batch;
+
+import com.sun.net.httpserver.HttpServer;
+import io.xhub.smwall.config.MediaCleanupProperties;
+import io.xhub.smwall.enumeration.UrlStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlLivenessCheckerTest {
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private HttpServer server;
+    private UrlLivenessChecker urlLivenessChecker;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            exchange.sendResponseHeaders(exchange.getRequestURI().getPath().startsWith("/gone") ? 404 : 200, -1);
+            exchange.close();
+        });
+        server.start();
+
+        MediaCleanupProperties properties = new MediaCleanupProperties();
+        properties.setConcurrency(8);
+        properties.setPerHostConcurrency(2);
+        urlLivenessChecker = new UrlLivenessChecker(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        urlLivenessChecker.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void should_limitConcurrentChecks_perHost() {
+        List<String> urls = IntStream.range(0, 8).mapToObj(i -> url("/media/" + i)).toList();
+
+        List<UrlStatus> statuses = urlLivenessChecker.checkAll(urls);
+
+        assertEquals(Collections.nCopies(8, UrlStatus.ALIVE), statuses);
+        assertTrue(maxInFlight.get() <= 2, "at most 2 requests in flight, saw " + maxInFlight.get());
+    }
+
+    @Test
+    void should_reportDeadAndMalformedUrls() {
+        List<UrlStatus> statuses = urlLivenessChecker.checkAll(List.of(url("/gone"), "not a url", url("/media")));
+
+        assertEquals(List.of(UrlStatus.DEAD, UrlStatus.DEAD, UrlStatus.ALIVE), statuses);
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+}
@@ -0,0 +1,95 @@
+package io.xhub.smwall.service.blob;
+
+import io.xhub.smwall.config.BlobStoreProperties;
+import io.xhub.smwall.domains.BinaryImage;
+import io.xhub.smwall.domains.ImageThumbnail;
+import io.xhub.smwall.utlis.HashUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.StreamUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageStoreTest {
+    @TempDir
+    Path directory;
+    private BlobStoreProperties blobStoreProperties;
+    private FileSystemBlobStore blobStore;
+    private ImageStore imageStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blobStoreProperties = new BlobStoreProperties();
+        blobStoreProperties.setThumbnailSizes(List.of(64, 256, 512));
+        blobStore = new FileSystemBlobStore(directory);
+        imageStore = new ImageStore(blobStore, blobStoreProperties);
+    }
+
+    @Test
+    void should_storeImageWithHashAndThumbnails_when_imageIsRasterizable() throws IOException {
+        byte[] content = png(300, 150);
+
+        BinaryImage image = imageStore.store(new ByteArrayInputStream(content), "logo.png", "image/png");
+
+        assertEquals(HashUtils.sha256(content), image.getHash());
+        assertEquals(content.length, image.getLength());
+        assertEquals(List.of(64, 256), image.getThumbnails().stream().map(ImageThumbnail::getSize).toList());
+
+        ImageThumbnail thumbnail = image.findThumbnail(64).orElseThrow();
+        try (InputStream thumbnailContent = blobStore.open(thumbnail.getBlobId())) {
+            BufferedImage resized = ImageIO.read(thumbnailContent);
+            assertEquals(64, resized.getWidth());
+            assertEquals(32, resized.getHeight());
+        }
+    }
+
+    @Test
+    void should_storeWithoutThumbnails_when_imageIsNotRasterizable() throws IOException {
+        byte[] content = "<svg xmlns=\"http://www.w3.org/2000/svg\"/>".getBytes();
+
+        BinaryImage image = imageStore.store(new ByteArrayInputStream(content), "logo.svg", "image/svg+xml");
+
+        assertTrue(image.getThumbnails().isEmpty());
+        assertArrayEquals(content, StreamUtils.copyToByteArray(imageStore.open(image, 64).getResource().getInputStream()));
+    }
+
+    @Test
+    void should_deleteOriginalAndThumbnails() throws IOException {
+        BinaryImage image = imageStore.store(new ByteArrayInputStream(png(300, 150)), "logo.png", "image/png");
+
+        imageStore.delete(image);
+
+        assertThrows(FileNotFoundException.class, () -> blobStore.open(image.getBlobId()));
+        assertThrows(FileNotFoundException.class, () -> blobStore.open(image.getThumbnails().get(0).getBlobId()));
+    }
+
+    @Test
+    void should_rejectImageAndDeleteItsBlob_when_pixelsExceedLimit() throws IOException {
+        blobStoreProperties.setMaxImagePixels(300 * 149);
+
+        assertThrows(IOException.class, () -> imageStore.store(new ByteArrayInputStream(png(300, 150)), "logo.png", "image/png"));
+
+        try (Stream<Path> blobs = Files.walk(directory)) {
+            assertTrue(blobs.noneMatch(Files::isRegularFile));
+        }
+    }
+
+    private byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", output);
+        return output.toByteArray();
+    }
+}
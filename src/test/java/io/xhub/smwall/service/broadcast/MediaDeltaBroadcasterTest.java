@@ -0,0 +1,107 @@
+package io.xhub.smwall.service.broadcast;
+
+import io.xhub.smwall.config.WebSocketProperties;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.dto.MediaDTO;
+import io.xhub.smwall.mappers.MediaChildMapper;
+import io.xhub.smwall.mappers.MediaMapper;
+import io.xhub.smwall.mappers.OwnerMapper;
+import io.xhub.smwall.service.WebSocketService;
+import io.xhub.smwall.websocket.MediaDelta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MediaDeltaBroadcasterTest {
+    @Mock
+    private WebSocketService webSocketService;
+    @Mock
+    private OwnerMapper ownerMapper;
+    @Mock
+    private MediaChildMapper mediaChildMapper;
+    @Mock
+    private MediaDeltaLog mediaDeltaLog;
+    private MediaDeltaBroadcaster mediaDeltaBroadcaster;
+
+    @BeforeEach
+    void setUp() {
+        WebSocketProperties webSocketProperties = new WebSocketProperties();
+        webSocketProperties.setCoalesceWindow(60_000);
+        mediaDeltaBroadcaster = new MediaDeltaBroadcaster(webSocketService, new MediaMapper(ownerMapper, mediaChildMapper), webSocketProperties,
+                new MediaDeltaRingBuffer(webSocketProperties.getReplayBufferSize()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mediaDeltaBroadcaster.shutdown();
+    }
+
+    @Test
+    void should_coalesceBurstIntoOneDelta_and_skipNeverShownHiddenMedia() {
+        Media hiddenMedia = media("m3");
+        hiddenMedia.setHidden(true);
+
+        mediaDeltaBroadcaster.publish(List.of(media("m1"), media("m2")));
+        mediaDeltaBroadcaster.publish(List.of(hiddenMedia));
+        mediaDeltaBroadcaster.publishRemovals(List.of("m2"));
+        mediaDeltaBroadcaster.flush();
+
+        ArgumentCaptor<MediaDelta> delta = ArgumentCaptor.forClass(MediaDelta.class);
+        verify(webSocketService, times(1)).broadcastMediaDelta(delta.capture());
+        assertEquals(1, delta.getValue().getSeq());
+        assertEquals(List.of("m1"), delta.getValue().getUpserted().stream().map(MediaDTO::getId).toList());
+        assertEquals(List.of("m2"), delta.getValue().getRemoved());
+    }
+
+    @Test
+    void should_increaseSequence_and_skipEmptyWindows() {
+        mediaDeltaBroadcaster.publish(List.of(media("m1")));
+        mediaDeltaBroadcaster.flush();
+        mediaDeltaBroadcaster.flush();
+        mediaDeltaBroadcaster.publish(List.of(media("m2")));
+        mediaDeltaBroadcaster.flush();
+
+        ArgumentCaptor<MediaDelta> delta = ArgumentCaptor.forClass(MediaDelta.class);
+        verify(webSocketService, times(2)).broadcastMediaDelta(delta.capture());
+        assertEquals(List.of(1L, 2L), delta.getAllValues().stream().map(MediaDelta::getSeq).toList());
+    }
+
+    @Test
+    void should_keepChanges_when_deltaCannotBeRecorded() {
+        WebSocketProperties webSocketProperties = new WebSocketProperties();
+        webSocketProperties.setCoalesceWindow(60_000);
+        MediaDeltaBroadcaster broadcaster = new MediaDeltaBroadcaster(webSocketService, new MediaMapper(ownerMapper, mediaChildMapper),
+                webSocketProperties, mediaDeltaLog);
+        when(mediaDeltaLog.append(anyList(), anyList()))
+                .thenThrow(new IllegalStateException("mongo down"))
+                .thenAnswer(invocation -> new MediaDelta(7, invocation.getArgument(0), invocation.getArgument(1)));
+
+        broadcaster.publish(List.of(media("m1"), media("m2")));
+        broadcaster.flush();
+        broadcaster.publishRemovals(List.of("m2"));
+        broadcaster.flush();
+        broadcaster.shutdown();
+
+        ArgumentCaptor<MediaDelta> delta = ArgumentCaptor.forClass(MediaDelta.class);
+        verify(webSocketService, times(1)).broadcastMediaDelta(delta.capture());
+        assertEquals(List.of("m1"), delta.getValue().getUpserted().stream().map(MediaDTO::getId).toList());
+        assertEquals(List.of("m2"), delta.getValue().getRemoved());
+    }
+
+    private Media media(String id) {
+        Media media = new Media();
+        media.setId(id);
+        return media;
+    }
+}
@@ -0,0 +1,48 @@
+package io.xhub.smwall.service.broadcast;
+
+import io.xhub.smwall.websocket.MediaDelta;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MediaDeltaRingBufferTest {
+
+    @Test
+    void should_returnMissingDeltas_when_gapIsRetained() {
+        MediaDeltaRingBuffer buffer = bufferWith(3, 5);
+
+        assertEquals(List.of(4L, 5L), seqs(buffer.since(3)));
+        assertEquals(List.of(3L, 4L, 5L), seqs(buffer.since(2)));
+        assertEquals(List.of(), seqs(buffer.since(5)));
+    }
+
+    @Test
+    void should_requireResync_when_gapExceedsBuffer() {
+        MediaDeltaRingBuffer buffer = bufferWith(3, 5);
+
+        assertTrue(buffer.since(1).isEmpty());
+    }
+
+    @Test
+    void should_requireResync_when_clientIsAheadOfServer() {
+        MediaDeltaRingBuffer buffer = bufferWith(3, 2);
+
+        assertTrue(buffer.since(7).isEmpty());
+        assertEquals(List.of(1L, 2L), seqs(buffer.since(0)));
+    }
+
+    private MediaDeltaRingBuffer bufferWith(int capacity, long deltas) {
+        MediaDeltaRingBuffer buffer = new MediaDeltaRingBuffer(capacity);
+        for (long seq = 1; seq <= deltas; seq++) {
+            buffer.append(new MediaDelta(seq, List.of(), List.of()));
+        }
+        return buffer;
+    }
+
+    private List<Long> seqs(Optional<List<MediaDelta>> deltas) {
+        return deltas.orElseThrow().stream().map(MediaDelta::getSeq).toList();
+    }
+}
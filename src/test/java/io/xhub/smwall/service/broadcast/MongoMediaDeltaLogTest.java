@@ -0,0 +1,77 @@
+package io.xhub.smwall.service.broadcast;
+
+import io.xhub.smwall.domains.MediaDeltaEntry;
+import io.xhub.smwall.websocket.MediaDelta;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MongoMediaDeltaLogTest {
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void should_takeNextSequence_when_anotherNodeInsertedFirst() {
+        MongoMediaDeltaLog deltaLog = new MongoMediaDeltaLog(mongoTemplate, 10);
+        when(mongoTemplate.findOne(any(Query.class), eq(MediaDeltaEntry.class)))
+                .thenReturn(entry(4))
+                .thenReturn(entry(5));
+        when(mongoTemplate.insert(any(MediaDeltaEntry.class)))
+                .thenThrow(new DuplicateKeyException("seq 5 taken"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        MediaDelta delta = deltaLog.append(List.of(), List.of("m1"));
+
+        assertEquals(6, delta.getSeq());
+        verify(mongoTemplate).insert(argThat((MediaDeltaEntry entry) -> entry != null && entry.getSeq() == 6));
+    }
+
+    @Test
+    void should_returnMissingDeltas_whicheverNodeProducedThem() {
+        MongoMediaDeltaLog deltaLog = new MongoMediaDeltaLog(mongoTemplate, 10);
+        when(mongoTemplate.find(any(Query.class), eq(MediaDeltaEntry.class))).thenReturn(List.of(entry(4), entry(5)));
+
+        assertEquals(List.of(4L, 5L), seqs(deltaLog.since(3)));
+    }
+
+    @Test
+    void should_requireResync_when_gapIsNoLongerRetained() {
+        MongoMediaDeltaLog deltaLog = new MongoMediaDeltaLog(mongoTemplate, 10);
+        when(mongoTemplate.find(any(Query.class), eq(MediaDeltaEntry.class))).thenReturn(List.of(entry(4), entry(5)));
+
+        assertTrue(deltaLog.since(1).isEmpty());
+    }
+
+    @Test
+    void should_requireResync_when_clientIsAheadOfLog() {
+        MongoMediaDeltaLog deltaLog = new MongoMediaDeltaLog(mongoTemplate, 10);
+        when(mongoTemplate.find(any(Query.class), eq(MediaDeltaEntry.class))).thenReturn(List.of());
+        when(mongoTemplate.findOne(any(Query.class), eq(MediaDeltaEntry.class))).thenReturn(entry(5));
+
+        assertTrue(deltaLog.since(7).isEmpty());
+        assertEquals(List.of(), seqs(deltaLog.since(5)));
+    }
+
+    private MediaDeltaEntry entry(long seq) {
+        return new MediaDeltaEntry(seq, List.of(), List.of(), Instant.now());
+    }
+
+    private List<Long> seqs(Optional<List<MediaDelta>> deltas) {
+        return deltas.orElseThrow().stream().map(MediaDelta::getSeq).toList();
+    }
+}
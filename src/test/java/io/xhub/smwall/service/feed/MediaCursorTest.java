@@ -0,0 +1,35 @@
+package io.xhub.smwall.service.feed;
+
+import io.xhub.smwall.exceptions.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MediaCursorTest {
+    @Test
+    void should_decodeEncodedCursor() {
+        MediaCursor cursor = new MediaCursor(Instant.parse("2024-03-01T10:15:30.123Z"), "17895695668004550");
+
+        MediaCursor decoded = MediaCursor.decode(cursor.encode());
+
+        assertEquals(cursor.getTimestamp(), decoded.getTimestamp());
+        assertEquals(cursor.getId(), decoded.getId());
+    }
+
+    @Test
+    void should_decodeCursor_when_mediaHasNoTimestamp() {
+        MediaCursor cursor = new MediaCursor(null, "17895695668004550");
+
+        MediaCursor decoded = MediaCursor.decode(cursor.encode());
+
+        assertNull(decoded.getTimestamp());
+        assertEquals(cursor.getId(), decoded.getId());
+    }
+
+    @Test
+    void should_throwBusinessException_when_cursorIsMalformed() {
+        assertThrows(BusinessException.class, () -> MediaCursor.decode("not-a-cursor"));
+    }
+}
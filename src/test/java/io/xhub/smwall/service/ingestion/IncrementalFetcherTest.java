@@ -0,0 +1,149 @@
+package io.xhub.smwall.service.ingestion;
+
+import io.xhub.smwall.config.FetchCursorProperties;
+import io.xhub.smwall.domains.FetchCursor;
+import io.xhub.smwall.repositories.FetchCursorRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IncrementalFetcherTest {
+    private static final String CURSOR_ID = "ig:user-tags";
+    private static final Instant T0 = Instant.parse("2023-11-01T10:00:00Z");
+
+    @Mock
+    private FetchCursorRepository fetchCursorRepository;
+    private IncrementalFetcher incrementalFetcher;
+
+    @BeforeEach
+    void setUp() {
+        FetchCursorProperties properties = new FetchCursorProperties();
+        properties.setMaxPages(2);
+        incrementalFetcher = new IncrementalFetcher(fetchCursorRepository, properties);
+    }
+
+    @Test
+    void should_readOnlyFirstPage_when_SourceWasNeverPolled() {
+        when(fetchCursorRepository.findById(CURSOR_ID)).thenReturn(Optional.empty());
+        List<Item> sunk = new ArrayList<>();
+
+        int fetched = incrementalFetcher.fetch(CURSOR_ID, pages(Map.of(
+                "", page("p2", item("5", 5), item("4", 4)),
+                "p2", page(null, item("3", 3)))), Item::getId, Item::getTimestamp, sunk::addAll);
+
+        assertEquals(2, fetched);
+        assertEquals(List.of("5", "4"), ids(sunk));
+        FetchCursor saved = savedCursor();
+        assertEquals("5", saved.getLatestId());
+        assertEquals(T0.plusSeconds(5), saved.getLatestTimestamp());
+        assertNull(saved.getBacklogPageCursor());
+    }
+
+    @Test
+    void should_followPagesUntilKnownContent() {
+        when(fetchCursorRepository.findById(CURSOR_ID)).thenReturn(Optional.of(cursor("3", 3)));
+        List<Item> sunk = new ArrayList<>();
+
+        incrementalFetcher.fetch(CURSOR_ID, pages(Map.of(
+                "", page("p2", item("6", 6), item("5", 5)),
+                "p2", page("p3", item("4", 4), item("3", 3), item("2", 2)))), Item::getId, Item::getTimestamp, sunk::addAll);
+
+        assertEquals(List.of("6", "5", "4"), ids(sunk));
+        assertEquals("6", savedCursor().getLatestId());
+    }
+
+    @Test
+    void should_resumeBacklog_when_BurstExceedsMaxPages() {
+        when(fetchCursorRepository.findById(CURSOR_ID)).thenReturn(Optional.of(cursor("1", 1)));
+        Map<String, FetchedPage<Item>> pages = Map.of(
+                "", page("p2", item("6", 6)),
+                "p2", page("p3", item("5", 5), item("4", 4)),
+                "p3", page(null, item("3", 3), item("2", 2), item("1", 1)));
+        List<Item> firstPoll = new ArrayList<>();
+
+        incrementalFetcher.fetch(CURSOR_ID, pages(pages), Item::getId, Item::getTimestamp, firstPoll::addAll);
+
+        FetchCursor afterBurst = savedCursor();
+        assertEquals(List.of("6", "5", "4"), ids(firstPoll));
+        assertEquals("6", afterBurst.getLatestId());
+        assertEquals("p3", afterBurst.getBacklogPageCursor());
+        assertEquals("1", afterBurst.getBacklogUntilId());
+
+        reset(fetchCursorRepository);
+        when(fetchCursorRepository.findById(CURSOR_ID)).thenReturn(Optional.of(afterBurst));
+        List<Item> secondPoll = new ArrayList<>();
+
+        incrementalFetcher.fetch(CURSOR_ID, pages(pages), Item::getId, Item::getTimestamp, secondPoll::addAll);
+
+        FetchCursor drained = savedCursor();
+        assertEquals(List.of("3", "2"), ids(secondPoll));
+        assertEquals("6", drained.getLatestId());
+        assertNull(drained.getBacklogPageCursor());
+    }
+
+    @Test
+    void should_notAdvanceCursor_when_SinkFails() {
+        when(fetchCursorRepository.findById(CURSOR_ID)).thenReturn(Optional.of(cursor("3", 3)));
+
+        assertThrows(IllegalStateException.class, () -> incrementalFetcher.fetch(CURSOR_ID,
+                pages(Map.of("", page(null, item("4", 4), item("3", 3)))), Item::getId, Item::getTimestamp,
+                items -> {
+                    throw new IllegalStateException("queue unavailable");
+                }));
+
+        verify(fetchCursorRepository, never()).save(any());
+    }
+
+    private FetchCursor savedCursor() {
+        ArgumentCaptor<FetchCursor> captor = ArgumentCaptor.forClass(FetchCursor.class);
+        verify(fetchCursorRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private static Function<String, FetchedPage<Item>> pages(Map<String, FetchedPage<Item>> pages) {
+        return pageCursor -> pages.get(pageCursor == null ? "" : pageCursor);
+    }
+
+    private static FetchedPage<Item> page(String next, Item... items) {
+        return new FetchedPage<>(List.of(items), next);
+    }
+
+    private static Item item(String id, long second) {
+        return new Item(id, T0.plusSeconds(second));
+    }
+
+    private static FetchCursor cursor(String latestId, long second) {
+        FetchCursor cursor = new FetchCursor(CURSOR_ID);
+        cursor.setLatestId(latestId);
+        cursor.setLatestTimestamp(T0.plusSeconds(second));
+        return cursor;
+    }
+
+    private static List<String> ids(List<Item> items) {
+        return items.stream().map(Item::getId).toList();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Item {
+        private final String id;
+        private final Instant timestamp;
+    }
+}
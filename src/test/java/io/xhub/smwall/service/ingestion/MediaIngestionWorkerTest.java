@@ -0,0 +1,106 @@
+package io.xhub.smwall.service.ingestion;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.xhub.smwall.config.IngestionQueueProperties;
+import io.xhub.smwall.domains.IngestionTask;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.enumeration.MediaSource;
+import io.xhub.smwall.mappers.meta.InstagramMediaMapper;
+import io.xhub.smwall.mappers.youtube.YoutubeMediaMapper;
+import io.xhub.smwall.repositories.IngestionTaskRepository;
+import io.xhub.smwall.service.MediaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MediaIngestionWorkerTest {
+    private static final String PAYLOAD = "[{\"id\":\"17900000000000001\",\"caption\":\"#devoxxma\",\"sourceTypes\":[\"#devoxxma\"]}]";
+
+    @Mock
+    private IngestionTaskRepository ingestionTaskRepository;
+    @Mock
+    private MediaIngestionQueue mediaIngestionQueue;
+    @Mock
+    private MediaService mediaService;
+    @Mock
+    private InstagramMediaMapper instagramMediaMapper;
+    @Mock
+    private YoutubeMediaMapper youtubeMediaMapper;
+    private MediaIngestionWorker mediaIngestionWorker;
+
+    @BeforeEach
+    void setUp() {
+        IngestionQueueProperties properties = new IngestionQueueProperties();
+        properties.setMaxAttempts(3);
+        mediaIngestionWorker = new MediaIngestionWorker(ingestionTaskRepository, mediaIngestionQueue, mediaService,
+                instagramMediaMapper, youtubeMediaMapper, Jackson2ObjectMapperBuilder.json().build(), properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void should_deleteTask_when_MediaIsIngested() {
+        when(instagramMediaMapper.toEntity(anyList())).thenReturn(List.of(new Media()));
+        when(mediaService.addAllMedia(anyList())).thenReturn(new MediaIngestionResult(1, 0, 0));
+
+        mediaIngestionWorker.process(task(PAYLOAD, 1));
+
+        verify(ingestionTaskRepository).deleteById("task-1");
+        verify(ingestionTaskRepository, never()).reschedule(anyString(), any(), anyString());
+    }
+
+    @Test
+    void should_rescheduleTask_when_IngestionFails() {
+        when(instagramMediaMapper.toEntity(anyList())).thenReturn(List.of(new Media()));
+        when(mediaService.addAllMedia(anyList())).thenThrow(new IllegalStateException("moderation unavailable"));
+
+        mediaIngestionWorker.process(task(PAYLOAD, 1));
+
+        verify(ingestionTaskRepository).reschedule(eq("task-1"), any(), eq("moderation unavailable"));
+        verify(ingestionTaskRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    void should_deadLetterTask_when_LastAttemptFails() {
+        when(instagramMediaMapper.toEntity(anyList())).thenReturn(List.of(new Media()));
+        when(mediaService.addAllMedia(anyList())).thenThrow(new IllegalStateException("moderation unavailable"));
+
+        mediaIngestionWorker.process(task(PAYLOAD, 3));
+
+        verify(ingestionTaskRepository).deadLetter("task-1", "moderation unavailable");
+        verify(ingestionTaskRepository, never()).reschedule(anyString(), any(), anyString());
+    }
+
+    @Test
+    void should_deadLetterTask_when_VisibilityTimeoutExpiredTooOften() {
+        mediaIngestionWorker.process(task(PAYLOAD, 4));
+
+        verify(ingestionTaskRepository).deadLetter("task-1", "Visibility timeout exceeded");
+        verifyNoInteractions(mediaService);
+    }
+
+    @Test
+    void should_deadLetterTask_when_PayloadIsMalformed() {
+        mediaIngestionWorker.process(task("{not json", 1));
+
+        verify(ingestionTaskRepository).deadLetter(eq("task-1"), anyString());
+        verifyNoInteractions(mediaService);
+    }
+
+    private IngestionTask task(String payload, int attempts) {
+        IngestionTask task = IngestionTask.create(MediaSource.INSTAGRAM, "IG user tags", payload);
+        task.setId("task-1");
+        task.setAttempts(attempts);
+        return task;
+    }
+}
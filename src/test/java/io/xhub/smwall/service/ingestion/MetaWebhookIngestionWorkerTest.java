@@ -0,0 +1,85 @@
+package io.xhub.smwall.service.ingestion;
+
+import feign.FeignException;
+import io.xhub.smwall.client.MetaClient;
+import io.xhub.smwall.client.response.InstagramMentionedMediaResponse;
+import io.xhub.smwall.config.MetaProperties;
+import io.xhub.smwall.dto.meta.InstagramMediaDTO;
+import io.xhub.smwall.enumeration.MediaSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetaWebhookIngestionWorkerTest {
+    private static final String USER_ID = "17841400000000000";
+
+    @Mock
+    private MetaClient metaClient;
+    @Mock
+    private MediaIngestionQueue mediaIngestionQueue;
+    @Mock
+    private InstagramSourceTypeTagger instagramSourceTypeTagger;
+    @Mock
+    private SeenMediaIndex seenMediaIndex;
+    private MetaWebhookIngestionWorker metaWebhookIngestionWorker;
+
+    @BeforeEach
+    void setUp() {
+        MetaProperties metaProperties = new MetaProperties();
+        metaProperties.setUserId(USER_ID);
+        // Keeps retried ids waiting in the queue instead of being processed again during the test
+        metaProperties.getWebhook().setBatchWindow(60_000);
+        metaWebhookIngestionWorker = new MetaWebhookIngestionWorker(metaClient, mediaIngestionQueue, instagramSourceTypeTagger,
+                seenMediaIndex, metaProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        metaWebhookIngestionWorker.shutdown();
+    }
+
+    @Test
+    void should_fetchMentionedMediaOneByOne_andKeepTheBatch_when_OneFetchFails() {
+        InstagramMediaDTO media = new InstagramMediaDTO();
+        media.setId("111");
+        InstagramMentionedMediaResponse response = mock(InstagramMentionedMediaResponse.class);
+        when(response.getMentionedMedia()).thenReturn(media);
+        when(seenMediaIndex.markIfNew(eq(MediaSource.INSTAGRAM), anyString())).thenReturn(true);
+        when(metaClient.getIGMentionedMedia(eq(USER_ID), contains("media_id(111)"))).thenReturn(response);
+        when(metaClient.getIGMentionedMedia(eq(USER_ID), contains("media_id(222)"))).thenThrow(FeignException.BadRequest.class);
+
+        metaWebhookIngestionWorker.process(List.of("111", "222"));
+
+        verify(mediaIngestionQueue).enqueueInstagramMedia("IG webhook media", List.of(media));
+        verify(seenMediaIndex).forget(MediaSource.INSTAGRAM, "222");
+        verify(seenMediaIndex, never()).forget(MediaSource.INSTAGRAM, "111");
+    }
+
+    @Test
+    void should_forgetFetchedMedia_when_EnqueueFails() {
+        InstagramMediaDTO media = new InstagramMediaDTO();
+        media.setId("111");
+        InstagramMentionedMediaResponse response = mock(InstagramMentionedMediaResponse.class);
+        when(response.getMentionedMedia()).thenReturn(media);
+        when(seenMediaIndex.markIfNew(MediaSource.INSTAGRAM, "111")).thenReturn(true);
+        when(metaClient.getIGMentionedMedia(eq(USER_ID), anyString())).thenReturn(response);
+        doThrow(new IllegalStateException("mongo down")).when(mediaIngestionQueue).enqueueInstagramMedia(anyString(), anyList());
+
+        assertThrows(IllegalStateException.class, () -> metaWebhookIngestionWorker.process(List.of("111")));
+
+        verify(seenMediaIndex).forget(MediaSource.INSTAGRAM, "111");
+    }
+}
@@ -0,0 +1,199 @@
+package io.xhub.smwall.service.ingestion;
+
+import com.mongodb.client.result.UpdateResult;
+import io.xhub.smwall.config.MetaProperties;
+import io.xhub.smwall.config.SeenMediaIndexProperties;
+import io.xhub.smwall.config.YoutubeProperties;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.domains.SeenMediaSnapshot;
+import io.xhub.smwall.domains.SeenMediaSnapshotChunk;
+import io.xhub.smwall.enumeration.MediaSource;
+import io.xhub.smwall.repositories.SeenMediaSnapshotChunkRepository;
+import io.xhub.smwall.repositories.SeenMediaSnapshotRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeenMediaIndexTest {
+    private static final long GENERATION = 1_700_000_000_000L;
+
+    @Mock
+    private SeenMediaSnapshotRepository seenMediaSnapshotRepository;
+
+    @Mock
+    private SeenMediaSnapshotChunkRepository seenMediaSnapshotChunkRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void should_reportIdOnlyOnce_perSource() {
+        SeenMediaIndex index = index(10);
+
+        assertTrue(index.markIfNew(MediaSource.INSTAGRAM, "123"));
+        assertFalse(index.markIfNew(MediaSource.INSTAGRAM, "123"));
+        assertTrue(index.markIfNew(MediaSource.YOUTUBE, "123"));
+    }
+
+    @Test
+    void should_reportIdAgain_when_Forgotten() {
+        SeenMediaIndex index = index(10);
+        index.markIfNew(MediaSource.YOUTUBE, "video");
+
+        index.forget(MediaSource.YOUTUBE, "video");
+
+        assertTrue(index.markIfNew(MediaSource.YOUTUBE, "video"));
+    }
+
+    @Test
+    void should_forgetOldestGeneration_when_BothGenerationsAreFull() {
+        SeenMediaIndex index = index(2);
+        index.markIfNew(MediaSource.INSTAGRAM, "1");
+        index.markIfNew(MediaSource.INSTAGRAM, "2");
+        index.markIfNew(MediaSource.INSTAGRAM, "3");
+        index.markIfNew(MediaSource.INSTAGRAM, "4");
+
+        assertFalse(index.markIfNew(MediaSource.INSTAGRAM, "1"), "previous generation is still remembered");
+
+        index.markIfNew(MediaSource.INSTAGRAM, "5");
+
+        assertTrue(index.markIfNew(MediaSource.INSTAGRAM, "2"), "oldest generation was dropped");
+        assertFalse(index.markIfNew(MediaSource.INSTAGRAM, "4"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_restoreSeenIds_fromSnapshot() {
+        SeenMediaIndex index = loadedWithoutSnapshot(2);
+        index.markIfNew(MediaSource.INSTAGRAM, "1");
+        index.markIfNew(MediaSource.INSTAGRAM, "2");
+        index.markIfNew(MediaSource.YOUTUBE, "3");
+
+        index.snapshot();
+
+        ArgumentCaptor<List<SeenMediaSnapshotChunk>> chunks = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<SeenMediaSnapshot> snapshot = ArgumentCaptor.forClass(SeenMediaSnapshot.class);
+        verify(seenMediaSnapshotChunkRepository).saveAll(chunks.capture());
+        verify(mongoTemplate).insert(snapshot.capture());
+        assertEquals(3, snapshot.getValue().getSize());
+
+        when(seenMediaSnapshotRepository.findById(SeenMediaSnapshot.CURRENT)).thenReturn(Optional.of(snapshot.getValue()));
+        when(seenMediaSnapshotChunkRepository.findByGenerationOrderBySegmentAscVersionAscIndexAsc(snapshot.getValue().getGeneration()))
+                .thenReturn(new ArrayList<>(chunks.getValue()));
+        SeenMediaIndex restored = index(2);
+        restored.load();
+
+        assertFalse(restored.markIfNew(MediaSource.INSTAGRAM, "1"));
+        assertFalse(restored.markIfNew(MediaSource.INSTAGRAM, "2"));
+        assertFalse(restored.markIfNew(MediaSource.YOUTUBE, "3"));
+        assertTrue(restored.markIfNew(MediaSource.YOUTUBE, "1"));
+        verify(mongoTemplate, times(1)).stream(any(Query.class), eq(Media.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_appendOnlyNewIds_when_SnapshotExists() {
+        SeenMediaIndex index = loadedFromSnapshot(new SeenMediaSnapshot(SeenMediaSnapshot.CURRENT, GENERATION, 4, 0, Instant.now(), Instant.now()));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(SeenMediaSnapshot.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        index.markIfNew(MediaSource.INSTAGRAM, "1");
+
+        index.snapshot();
+        index.snapshot();
+
+        ArgumentCaptor<List<SeenMediaSnapshotChunk>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(seenMediaSnapshotChunkRepository).saveAll(chunks.capture());
+        SeenMediaSnapshotChunk chunk = chunks.getValue().get(0);
+        assertEquals(GENERATION, chunk.getGeneration());
+        assertEquals(5, chunk.getVersion());
+        assertEquals(Long.BYTES, chunk.getKeys().length);
+        verify(seenMediaSnapshotChunkRepository, never()).deleteByGeneration(anyLong());
+    }
+
+    @Test
+    void should_seedFromMedia_when_SnapshotChunksAreMissing() {
+        Media media = new Media();
+        media.setId("MT-123");
+        media.setSource(MediaSource.INSTAGRAM);
+        when(mongoTemplate.stream(any(Query.class), eq(Media.class))).thenReturn(Stream.of(media));
+        SeenMediaIndex index = loadedFromSnapshot(new SeenMediaSnapshot(SeenMediaSnapshot.CURRENT, GENERATION, 0, 5, Instant.now(), Instant.now()));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(SeenMediaSnapshot.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertFalse(index.markIfNew(MediaSource.INSTAGRAM, "123"));
+
+        index.snapshot();
+
+        verify(seenMediaSnapshotChunkRepository).deleteByGeneration(GENERATION);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_dropOwnChunks_when_AnotherNodeMovedThePointer() {
+        SeenMediaIndex index = loadedFromSnapshot(new SeenMediaSnapshot(SeenMediaSnapshot.CURRENT, GENERATION, 0, 0, Instant.now(), Instant.now()));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(SeenMediaSnapshot.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        index.markIfNew(MediaSource.INSTAGRAM, "1");
+
+        index.snapshot();
+
+        ArgumentCaptor<List<SeenMediaSnapshotChunk>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(seenMediaSnapshotChunkRepository).saveAll(chunks.capture());
+        verify(seenMediaSnapshotChunkRepository).deleteAll(chunks.getValue());
+        verify(seenMediaSnapshotChunkRepository, never()).deleteByGeneration(anyLong());
+        verify(seenMediaSnapshotChunkRepository, never()).deleteByGenerationLessThan(anyLong());
+    }
+
+    @Test
+    void should_skipSnapshot_until_Loaded() {
+        SeenMediaIndex index = index(10);
+        index.markIfNew(MediaSource.INSTAGRAM, "1");
+
+        index.flush();
+
+        verifyNoInteractions(seenMediaSnapshotRepository, seenMediaSnapshotChunkRepository, mongoTemplate);
+    }
+
+    private SeenMediaIndex loadedWithoutSnapshot(int maxEntries) {
+        when(seenMediaSnapshotRepository.findById(SeenMediaSnapshot.CURRENT)).thenReturn(Optional.empty());
+        when(mongoTemplate.stream(any(Query.class), eq(Media.class))).thenReturn(Stream.empty());
+        SeenMediaIndex index = index(maxEntries);
+        index.load();
+        return index;
+    }
+
+    private SeenMediaIndex loadedFromSnapshot(SeenMediaSnapshot snapshot) {
+        when(seenMediaSnapshotRepository.findById(SeenMediaSnapshot.CURRENT)).thenReturn(Optional.of(snapshot));
+        when(seenMediaSnapshotChunkRepository.findByGenerationOrderBySegmentAscVersionAscIndexAsc(snapshot.getGeneration())).thenReturn(List.of());
+        SeenMediaIndex index = index(10);
+        index.load();
+        return index;
+    }
+
+    private SeenMediaIndex index(int maxEntries) {
+        SeenMediaIndexProperties properties = new SeenMediaIndexProperties();
+        properties.setMaxEntries(maxEntries);
+        MetaProperties metaProperties = new MetaProperties();
+        metaProperties.setResourceIdPrefix("MT-");
+        return new SeenMediaIndex(seenMediaSnapshotRepository, seenMediaSnapshotChunkRepository, mongoTemplate,
+                metaProperties, new YoutubeProperties(), properties);
+    }
+}
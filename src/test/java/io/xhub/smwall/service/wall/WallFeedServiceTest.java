@@ -0,0 +1,106 @@
+package io.xhub.smwall.service.wall;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.querydsl.core.types.Predicate;
+import io.xhub.smwall.config.WallFeedProperties;
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.mappers.MediaChildMapper;
+import io.xhub.smwall.mappers.MediaMapper;
+import io.xhub.smwall.mappers.OwnerMapper;
+import io.xhub.smwall.repositories.MediaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WallFeedServiceTest {
+    @Mock
+    private MediaRepository mediaRepository;
+    @Mock
+    private OwnerMapper ownerMapper;
+    @Mock
+    private MediaChildMapper mediaChildMapper;
+    private WallFeedService wallFeedService;
+
+    @BeforeEach
+    void setUp() {
+        WallFeedProperties wallFeedProperties = new WallFeedProperties();
+        wallFeedProperties.setSize(2);
+        wallFeedService = new WallFeedService(
+                mediaRepository,
+                new MediaMapper(ownerMapper, mediaChildMapper),
+                new ObjectMapper().findAndRegisterModules(),
+                wallFeedProperties
+        );
+        when(mediaRepository.findByPinned(true)).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void should_keepNewestMediaInWindow_when_mediaIsCreated() {
+        when(mediaRepository.findAll(any(Predicate.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(media("m3", 3), media("m2", 2))));
+        wallFeedService.reload();
+        String previousEtag = wallFeedService.getSnapshot().getEtag();
+
+        wallFeedService.apply(List.of(media("m4", 4)));
+
+        String json = json();
+        assertTrue(json.indexOf("\"id\":\"m4\"") < json.indexOf("\"id\":\"m3\""));
+        assertFalse(json.contains("\"id\":\"m2\""));
+        assertNotEquals(previousEtag, wallFeedService.getSnapshot().getEtag());
+        verify(mediaRepository, times(1)).findAll(any(Predicate.class), any(Pageable.class));
+    }
+
+    @Test
+    void should_keepEtag_when_changeFallsOutsideWindow() {
+        when(mediaRepository.findAll(any(Predicate.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(media("m3", 3), media("m2", 2))));
+        wallFeedService.reload();
+        String previousEtag = wallFeedService.getSnapshot().getEtag();
+
+        wallFeedService.apply(List.of(media("m1", 1)));
+
+        assertEquals(previousEtag, wallFeedService.getSnapshot().getEtag());
+    }
+
+    @Test
+    void should_reloadFromRepository_when_hiddenMediaLeavesWindowShort() {
+        when(mediaRepository.findAll(any(Predicate.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(media("m3", 3), media("m2", 2))))
+                .thenReturn(new PageImpl<>(List.of(media("m2", 2), media("m1", 1))));
+        wallFeedService.reload();
+        Media hiddenMedia = media("m3", 3);
+        hiddenMedia.setHidden(true);
+
+        wallFeedService.apply(List.of(hiddenMedia));
+
+        String json = json();
+        assertFalse(json.contains("\"id\":\"m3\""));
+        assertTrue(json.contains("\"id\":\"m1\""));
+        verify(mediaRepository, times(2)).findAll(any(Predicate.class), any(Pageable.class));
+    }
+
+    private String json() {
+        return new String(wallFeedService.getSnapshot().getJson(), StandardCharsets.UTF_8);
+    }
+
+    private Media media(String id, long epochSecond) {
+        Media media = new Media();
+        media.setId(id);
+        media.setTimestamp(Instant.ofEpochSecond(epochSecond));
+        return media;
+    }
+}
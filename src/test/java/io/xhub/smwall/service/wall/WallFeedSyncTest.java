@@ -0,0 +1,46 @@
+package io.xhub.smwall.service.wall;
+
+import io.xhub.smwall.config.WebSocketProperties;
+import io.xhub.smwall.enumeration.WebSocketBrokerMode;
+import io.xhub.smwall.service.broadcast.MediaDeltaLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WallFeedSyncTest {
+    @Mock
+    private WallFeedService wallFeedService;
+    @Mock
+    private MediaDeltaLog mediaDeltaLog;
+
+    @Test
+    void should_reloadFeed_only_when_sharedLogMoved() {
+        WallFeedSync wallFeedSync = new WallFeedSync(wallFeedService, mediaDeltaLog, properties(WebSocketBrokerMode.RELAY));
+        when(mediaDeltaLog.getLatestSeq()).thenReturn(4L, 4L, 6L);
+
+        wallFeedSync.sync();
+        wallFeedSync.sync();
+        wallFeedSync.sync();
+
+        verify(wallFeedService, times(2)).reload();
+    }
+
+    @Test
+    void should_skipSync_when_brokerIsLocal() {
+        WallFeedSync wallFeedSync = new WallFeedSync(wallFeedService, mediaDeltaLog, properties(WebSocketBrokerMode.SIMPLE));
+
+        wallFeedSync.sync();
+
+        verifyNoInteractions(wallFeedService, mediaDeltaLog);
+    }
+
+    private WebSocketProperties properties(WebSocketBrokerMode mode) {
+        WebSocketProperties webSocketProperties = new WebSocketProperties();
+        webSocketProperties.getBroker().setMode(mode);
+        return webSocketProperties;
+    }
+}
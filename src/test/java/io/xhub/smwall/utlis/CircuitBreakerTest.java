@@ -0,0 +1,50 @@
+package io.xhub.smwall.utlis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(2, 1, TimeUnit.SECONDS, clock::get);
+
+    @Test
+    void should_open_when_failureThresholdIsReached() {
+        circuitBreaker.recordFailure();
+        assertTrue(circuitBreaker.allowRequest());
+
+        circuitBreaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    void should_allowSingleTrial_when_openDurationElapsed() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertTrue(circuitBreaker.allowRequest());
+        assertFalse(circuitBreaker.allowRequest());
+
+        circuitBreaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    void should_reopen_when_trialFails() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(circuitBreaker.allowRequest());
+
+        circuitBreaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+    }
+}
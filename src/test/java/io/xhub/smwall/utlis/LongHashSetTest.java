@@ -0,0 +1,70 @@
+package io.xhub.smwall.utlis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongHashSetTest {
+
+    @Test
+    void should_containAddedKeys_includingZero() {
+        LongHashSet set = new LongHashSet(4);
+
+        assertTrue(set.add(0L));
+        assertTrue(set.add(42L));
+        assertFalse(set.add(42L));
+
+        assertTrue(set.contains(0L));
+        assertTrue(set.contains(42L));
+        assertFalse(set.contains(7L));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    void should_keepProbeChainsIntact_when_keysAreRemoved() {
+        LongHashSet set = new LongHashSet(1000);
+        for (long key = 1; key <= 1000; key++) {
+            set.add(key);
+        }
+
+        for (long key = 1; key <= 1000; key += 2) {
+            assertTrue(set.remove(key));
+        }
+
+        for (long key = 1; key <= 1000; key++) {
+            assertEquals(key % 2 == 0, set.contains(key));
+        }
+        assertEquals(500, set.size());
+        assertFalse(set.remove(1L));
+    }
+
+    @Test
+    void should_throwIllegalStateException_when_full() {
+        LongHashSet set = new LongHashSet(2);
+        set.add(1L);
+        set.add(2L);
+
+        assertTrue(set.isFull());
+        assertFalse(set.add(2L));
+        assertThrows(IllegalStateException.class, () -> set.add(3L));
+    }
+
+    @Test
+    void should_exportAndClearAllKeys() {
+        LongHashSet set = new LongHashSet(3);
+        set.add(0L);
+        set.add(-5L);
+        set.add(9L);
+
+        long[] keys = set.toArray();
+        Arrays.sort(keys);
+        assertArrayEquals(new long[]{-5L, 0L, 9L}, keys);
+
+        set.clear();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(9L));
+        assertFalse(set.contains(0L));
+    }
+}
@@ -0,0 +1,21 @@
+package io.xhub.smwall.utlis;
+
+import io.xhub.smwall.domains.Media;
+import io.xhub.smwall.domains.Owner;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SearchTokenUtilsTest {
+    @Test
+    void should_extractLowercasedTagsMentionsOwnerAndSourceTypes() {
+        Media media = new Media();
+        media.setText("Day one at #XHub with @Team_Wall, #xhub again!");
+        media.setOwner(new Owner("1", "SmWall", null));
+        media.setSourceTypes(List.of("#XHub", "@smwall"));
+
+        assertEquals(List.of("#xhub", "@team_wall", "@smwall"), SearchTokenUtils.tokensOf(media));
+    }
+}
@@ -0,0 +1,41 @@
+package io.xhub.smwall.utlis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void should_allowBurstThenThrottle_when_bucketIsDrained() {
+        TokenBucket tokenBucket = new TokenBucket(2, 1, clock::get);
+
+        assertTrue(tokenBucket.tryAcquire());
+        assertTrue(tokenBucket.tryAcquire());
+        assertFalse(tokenBucket.tryAcquire());
+    }
+
+    @Test
+    void should_refillAtConfiguredRate() {
+        TokenBucket tokenBucket = new TokenBucket(1, 2, clock::get);
+        assertTrue(tokenBucket.tryAcquire());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+        assertFalse(tokenBucket.tryAcquire());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        assertTrue(tokenBucket.tryAcquire());
+    }
+
+    @Test
+    void should_giveUp_when_tokenCannotBeAvailableBeforeTimeout() throws InterruptedException {
+        TokenBucket tokenBucket = new TokenBucket(1, 1, clock::get);
+        assertTrue(tokenBucket.tryAcquire());
+
+        assertFalse(tokenBucket.acquire(500, TimeUnit.MILLISECONDS));
+    }
+}
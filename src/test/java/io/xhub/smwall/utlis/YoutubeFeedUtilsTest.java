@@ -0,0 +1,46 @@
+package io.xhub.smwall.utlis;
+
+import org.junit.jupiter.api.Test;
+
+import javax.xml.stream.XMLStreamException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class YoutubeFeedUtilsTest {
+
+    @Test
+    void should_extractVideoIdsInFeedOrder() throws XMLStreamException {
+        String feed = "<?xml version='1.0' encoding='UTF-8'?>"
+                + "<feed xmlns:yt=\"http://www.youtube.com/xml/schemas/2015\" xmlns=\"http://www.w3.org/2005/Atom\">"
+                + "<link rel=\"hub\" href=\"https://pubsubhubbub.appspot.com\"/>"
+                + "<title>YouTube video feed</title>"
+                + "<entry><id>yt:video:VIDEO_ID_2</id><yt:videoId>VIDEO_ID_2</yt:videoId><yt:channelId>CHANNEL</yt:channelId></entry>"
+                + "<entry><id>yt:video:VIDEO_ID_1</id><yt:videoId> VIDEO_ID_1 </yt:videoId><yt:channelId>CHANNEL</yt:channelId></entry>"
+                + "<entry><id>yt:video:VIDEO_ID_2</id><yt:videoId>VIDEO_ID_2</yt:videoId><yt:channelId>CHANNEL</yt:channelId></entry>"
+                + "</feed>";
+
+        assertEquals(List.of("VIDEO_ID_2", "VIDEO_ID_1"), YoutubeFeedUtils.extractVideoIds(feed.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void should_returnNoVideoIds_when_EntryIsDeleted() throws XMLStreamException {
+        String feed = "<?xml version='1.0' encoding='UTF-8'?>"
+                + "<feed xmlns:at=\"http://purl.org/atompub/tombstones/1.0\" xmlns=\"http://www.w3.org/2005/Atom\">"
+                + "<at:deleted-entry ref=\"yt:video:VIDEO_ID_1\" when=\"2023-01-01T00:00:00+00:00\"/>"
+                + "</feed>";
+
+        assertTrue(YoutubeFeedUtils.extractVideoIds(feed.getBytes(StandardCharsets.UTF_8)).isEmpty());
+    }
+
+    @Test
+    void should_rejectDocumentTypeDeclarations() {
+        String feed = "<?xml version='1.0'?><!DOCTYPE feed [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]>"
+                + "<feed xmlns:yt=\"http://www.youtube.com/xml/schemas/2015\"><yt:videoId>&xxe;</yt:videoId></feed>";
+
+        assertThrows(XMLStreamException.class, () -> YoutubeFeedUtils.extractVideoIds(feed.getBytes(StandardCharsets.UTF_8)));
+    }
+}
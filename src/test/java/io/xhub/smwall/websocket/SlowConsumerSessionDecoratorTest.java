@@ -0,0 +1,118 @@
+package io.xhub.smwall.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.xhub.smwall.config.WebSocketProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SlowConsumerSessionDecoratorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> sentFrames = new CopyOnWriteArrayList<>();
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SessionSendQueues sessionSendQueues;
+    private WebSocketSession delegate;
+    private SlowConsumerSessionDecorator session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        WebSocketProperties webSocketProperties = new WebSocketProperties();
+        webSocketProperties.getTransport().setSendBufferSizeLimit(100);
+        webSocketProperties.getTransport().setSenderPoolSize(1);
+        sessionSendQueues = new SessionSendQueues(webSocketProperties, meterRegistry);
+
+        delegate = mock(WebSocketSession.class);
+        when(delegate.getId()).thenReturn("s1");
+        doAnswer(invocation -> {
+            sending.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            sentFrames.add(((TextMessage) invocation.getArgument(0)).getPayload());
+            return null;
+        }).when(delegate).sendMessage(any(WebSocketMessage.class));
+        session = new SlowConsumerSessionDecorator(delegate, sessionSendQueues);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionSendQueues.shutdown();
+    }
+
+    @Test
+    void should_dropOldestMediaFrame_when_bufferIsFull() throws Exception {
+        session.sendMessage(frame("/topic/closest-announcement", "a0"));
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        session.sendMessage(frame("/topic/ws/media", "m1"));
+        session.sendMessage(frame("/topic/ws/media", "m2"));
+        session.sendMessage(frame("/topic/ws/media", "m3"));
+        release.countDown();
+
+        awaitSent(3);
+        assertEquals(List.of("a0", "m2", "m3"), sentFrames.stream().map(frame -> frame.substring(frame.indexOf("\n\n") + 2)).toList());
+        assertEquals(1.0, meterRegistry.get("smwall.websocket.frames.dropped").counter().count());
+        assertEquals(1.0, meterRegistry.get("smwall.websocket.session.frames.dropped").tag("session", "s1").gauge().value());
+        verify(delegate, never()).close(any(CloseStatus.class));
+    }
+
+    @Test
+    void should_closeSession_when_onlyNonMediaFramesOverflow() throws Exception {
+        session.sendMessage(frame("/topic/closest-announcement", "a0"));
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        session.sendMessage(frame("/topic/closest-announcement", "a1-" + "x".repeat(40)));
+        session.sendMessage(frame("/topic/closest-announcement", "a2-" + "x".repeat(40)));
+        release.countDown();
+
+        verify(delegate, timeout(5000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    void should_closeSession_when_writeStaysBlockedWithoutNewFrames() throws Exception {
+        WebSocketProperties webSocketProperties = new WebSocketProperties();
+        webSocketProperties.getTransport().setSendTimeLimit(100);
+        SessionSendQueues watchedQueues = new SessionSendQueues(webSocketProperties, meterRegistry);
+        try {
+            SlowConsumerSessionDecorator watchedSession = new SlowConsumerSessionDecorator(delegate, watchedQueues);
+
+            watchedSession.sendMessage(frame("/topic/ws/media", "m1"));
+
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+            verify(delegate, timeout(5000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        } finally {
+            release.countDown();
+            watchedQueues.shutdown();
+        }
+    }
+
+    @Test
+    void should_removeSessionMeters_when_released() {
+        session.release();
+
+        assertNull(meterRegistry.find("smwall.websocket.session.queue.depth").tag("session", "s1").gauge());
+    }
+
+    private TextMessage frame(String destination, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\n\n" + body);
+    }
+
+    private void awaitSent(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sentFrames.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}